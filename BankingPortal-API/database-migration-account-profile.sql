@@ -0,0 +1,11 @@
+-- Migration script for the cached account profile
+-- Database: banking_portal
+
+-- Accounts whose user or account details changed. Every pod polls rows written
+-- recently and drops its cached profile; rows older than an hour are purged.
+CREATE TABLE IF NOT EXISTS account_profile_invalidation (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_number VARCHAR(255) NOT NULL,
+    invalidated_at DATETIME(6) NOT NULL,
+    INDEX idx_account_profile_invalidation_at (invalidated_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,23 @@
+-- Migration script for the transactional email outbox
+-- Database: banking_portal
+
+-- Emails written with the business change that caused them and delivered in
+-- batches by one replica. Sent rows are purged after
+-- email.outbox.retention-hours; FAILED rows stay until handled manually.
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    message_key VARCHAR(255) NOT NULL,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(255) NOT NULL,
+    body LONGTEXT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    claimed_by VARCHAR(36),
+    created_at DATETIME(6) NOT NULL,
+    sent_at DATETIME(6),
+    last_error VARCHAR(1000),
+    CONSTRAINT uk_email_outbox_message_key UNIQUE (message_key),
+    INDEX idx_email_outbox_due (status, next_attempt_at),
+    INDEX idx_email_outbox_sent (sent_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
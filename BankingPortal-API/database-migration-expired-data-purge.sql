@@ -0,0 +1,14 @@
+-- Migration script for the expired token / OTP purge job
+-- Database: banking_portal
+
+-- Range scans for the purge job's "expired before now" selects.
+CREATE INDEX idx_token_expiry ON token(expiry_at);
+CREATE INDEX idx_otp_info_generated ON otp_info(generated_at);
+CREATE INDEX idx_passwordresettoken_expiry ON passwordresettoken(expiry_date_time);
+
+-- Lease table that elects one replica to run cluster-wide scheduled jobs.
+CREATE TABLE IF NOT EXISTS scheduler_lock (
+    name VARCHAR(255) PRIMARY KEY,
+    locked_until DATETIME(6) NOT NULL,
+    locked_by VARCHAR(255) NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,26 @@
+-- Migration script for notification retention
+-- Database: banking_portal
+
+-- Count and total amount of archived notifications per account, month (UTC)
+-- and type.
+CREATE TABLE IF NOT EXISTS notification_digest (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    notification_count BIGINT NOT NULL,
+    total_amount DOUBLE NOT NULL,
+    CONSTRAINT uk_notification_digest_account_month_type UNIQUE (account_id, month_start, type)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Archived notifications per account, month (UTC) and retention batch as
+-- gzip-compressed NDJSON; a month's history is the concatenation of its rows.
+CREATE TABLE IF NOT EXISTS notification_archive (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    archived_at DATETIME(6) NOT NULL,
+    notification_count BIGINT NOT NULL,
+    payload LONGBLOB NOT NULL,
+    INDEX idx_notification_archive_account_month (account_id, month_start)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
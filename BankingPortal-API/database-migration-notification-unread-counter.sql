@@ -0,0 +1,15 @@
+-- Migration script for the unread notification counter
+-- Database: banking_portal
+
+-- Unread notifications per account, changed in the same transaction as the
+-- notifications themselves. A scheduled repair recomputes drifted counters.
+CREATE TABLE IF NOT EXISTS notification_unread_counter (
+    account_id BIGINT NOT NULL PRIMARY KEY,
+    unread_count BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill existing accounts; the repair job also creates any that are missing.
+INSERT INTO notification_unread_counter (account_id, unread_count)
+SELECT a.id, (SELECT COUNT(*) FROM notification n WHERE n.account_id = a.id AND n.is_read = FALSE)
+FROM account a
+WHERE NOT EXISTS (SELECT 1 FROM notification_unread_counter c WHERE c.account_id = a.id);
@@ -0,0 +1,11 @@
+-- Migration script for cluster-wide OTP rate limiting
+-- Database: banking_portal
+
+-- One token bucket per account. updated_at is epoch milliseconds; a bucket
+-- idle for the full refill window is equivalent to no row, so stale rows may
+-- be deleted at any time.
+CREATE TABLE IF NOT EXISTS otp_rate_limit (
+    account_number VARCHAR(255) NOT NULL PRIMARY KEY,
+    tokens DOUBLE NOT NULL,
+    updated_at BIGINT NOT NULL
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
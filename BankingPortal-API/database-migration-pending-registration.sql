@@ -0,0 +1,14 @@
+-- Migration script for the shared pending-registration store
+-- Database: banking_portal
+
+-- Sign-ups waiting for their registration OTP. payload holds the submitted
+-- user details, AES-GCM encrypted; rows past expires_at are purged.
+CREATE TABLE IF NOT EXISTS pending_registration (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email VARCHAR(255) NOT NULL,
+    otp VARCHAR(255) NOT NULL,
+    payload VARBINARY(4096) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    CONSTRAINT uk_pending_registration_email UNIQUE (email),
+    INDEX idx_pending_registration_expiry (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
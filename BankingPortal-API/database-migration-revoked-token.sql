@@ -0,0 +1,14 @@
+-- Migration script for JWT revocation sync
+-- Database: banking_portal
+
+-- Logged-out token ids. Every pod polls rows revoked recently and keeps them
+-- in memory until the token's own expiry; rows past expiry_at can be deleted.
+CREATE TABLE IF NOT EXISTS revoked_token (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    token_id VARCHAR(255) NOT NULL,
+    expiry_at DATETIME(6) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    CONSTRAINT uk_revoked_token_token_id UNIQUE (token_id),
+    INDEX idx_revoked_token_revoked (revoked_at),
+    INDEX idx_revoked_token_expiry (expiry_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
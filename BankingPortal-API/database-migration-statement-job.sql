@@ -0,0 +1,18 @@
+-- Migration script for asynchronous bank statement jobs
+-- Database: banking_portal
+
+-- Progress of statement requests, shared by all replicas so that a status
+-- poll can land on any of them. Rows are purged one hour after creation.
+CREATE TABLE IF NOT EXISTS statement_job (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id VARCHAR(255) NOT NULL,
+    account_number VARCHAR(255) NOT NULL,
+    format VARCHAR(16) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    completed_at DATETIME(6),
+    error VARCHAR(1000),
+    CONSTRAINT uk_statement_job_job_id UNIQUE (job_id),
+    INDEX idx_statement_job_created (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,8 @@
+-- Migration script for transaction history keyset pagination
+-- Database: banking_portal
+
+-- Each side of an account's history is paged by (account, transaction_date, id).
+-- InnoDB appends the primary key to secondary indexes, so these cover the
+-- "transaction_date DESC, id DESC" ordering used by /api/account/transactions/page.
+CREATE INDEX idx_transaction_source_date ON transaction(source_account_id, transaction_date);
+CREATE INDEX idx_transaction_target_date ON transaction(target_account_id, transaction_date);
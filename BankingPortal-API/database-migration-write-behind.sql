@@ -0,0 +1,17 @@
+-- Migration script for batched notification / recent transfer writes
+-- Database: banking_portal
+
+-- notification and recent_transfers now take ids from pooled sequences so that
+-- Hibernate can batch their inserts. MySQL has no sequences; Hibernate emulates
+-- them with single-row tables. Seed them past the existing AUTO_INCREMENT ids.
+CREATE TABLE IF NOT EXISTS notification_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO notification_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 100 FROM notification;
+
+CREATE TABLE IF NOT EXISTS recent_transfers_seq (next_val BIGINT) ENGINE=InnoDB;
+INSERT INTO recent_transfers_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 100 FROM recent_transfers;
+
+-- Batched inserts only become multi-row statements on the wire with
+-- rewriteBatchedStatements=true on the JDBC URL, e.g.
+-- spring.datasource.url=jdbc:mysql://localhost:3306/banking_portal?rewriteBatchedStatements=true
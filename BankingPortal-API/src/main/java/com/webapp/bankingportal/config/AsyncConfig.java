@@ -0,0 +1,137 @@
+package com.webapp.bankingportal.config;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * One bounded executor per kind of {@code @Async} work, so that a slow
+ * geolocation API can only exhaust its own threads and never delays email.
+ *
+ * Each pool is sized by {@code async.<name>.threads} and
+ * {@code async.<name>.queue-capacity}. With {@code async.virtual-threads=true}
+ * (Java 21+) every task gets a virtual thread instead, and
+ * {@code async.<name>.threads} caps how many run at once; further submitters
+ * wait rather than queue.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String DEFAULT_EXECUTOR = "taskExecutor";
+    public static final String EMAIL_EXECUTOR = "emailExecutor";
+    public static final String STATEMENT_EXECUTOR = "statementExecutor";
+    public static final String GEOLOCATION_EXECUTOR = "geolocationExecutor";
+    public static final String NOTIFICATION_STREAM_EXECUTOR = "notificationStreamExecutor";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    // Anything without a named executor. Overflow runs on the caller: slower,
+    // but nothing is dropped.
+    @Bean(name = DEFAULT_EXECUTOR)
+    public AsyncTaskExecutor taskExecutor() {
+        return executor("async", 4, 100, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    // A statement can take minutes, so it must never fall back to the request
+    // thread: when the pool is full the request is rejected with 503.
+    @Bean(name = STATEMENT_EXECUTOR)
+    public AsyncTaskExecutor statementExecutor() {
+        return executor("statement", 2, 50, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Composes the login alert once the geolocation lookup finishes and queues
+    // it in the email outbox, which does the delivery. When the pool is full
+    // the alert is skipped and counted rather than run on the geolocation or
+    // request thread.
+    @Bean(name = EMAIL_EXECUTOR)
+    public AsyncTaskExecutor emailExecutor() {
+        return executor("email", 4, 500, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // A location is optional: when the pool is full the lookup fails at once
+    // and the login alert says "Unknown".
+    @Bean(name = GEOLOCATION_EXECUTOR)
+    public AsyncTaskExecutor geolocationExecutor() {
+        return executor("geolocation", 4, 100, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Writes to notification streams. A rejected write is retried with the
+    // connection's next event; it must never block the publishing thread.
+    @Bean(name = NOTIFICATION_STREAM_EXECUTOR)
+    public AsyncTaskExecutor notificationStreamExecutor() {
+        return executor("notification-stream", 4, 1000, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return taskExecutor();
+    }
+
+    private AsyncTaskExecutor executor(String name, int defaultThreads, int defaultQueueCapacity,
+            RejectedExecutionHandler rejectionPolicy) {
+        val prefix = "async." + name + ".";
+        val threads = environment.getProperty(prefix + "threads", Integer.class, defaultThreads);
+        val queueCapacity = environment.getProperty(prefix + "queue-capacity", Integer.class,
+                defaultQueueCapacity);
+        val decorator = new InstrumentedTaskDecorator(name, meterRegistry);
+
+        if (environment.getProperty("async.virtual-threads", Boolean.class, false)) {
+            val executor = new SimpleAsyncTaskExecutor(name + "-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(threads);
+            executor.setTaskDecorator(decorator);
+            return executor;
+        }
+
+        val rejectedCounter = Counter.builder("async.executor.rejected")
+                .description("Tasks the executor had no thread or queue slot for")
+                .tag("executor", name)
+                .register(meterRegistry);
+
+        val executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setTaskDecorator(decorator);
+        executor.setRejectedExecutionHandler((task, pool) -> {
+            rejectedCounter.increment();
+            rejectionPolicy.rejectedExecution(task, pool);
+        });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+
+        Gauge.builder("async.executor.queue.depth", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Tasks waiting for a thread")
+                .tag("executor", name)
+                .register(meterRegistry);
+        Gauge.builder("async.executor.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Threads currently running a task")
+                .tag("executor", name)
+                .register(meterRegistry);
+        Gauge.builder("async.executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+                .description("Threads currently in the pool")
+                .tag("executor", name)
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+}
@@ -1,6 +1,5 @@
 package com.webapp.bankingportal.config;
 
-import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.cache.CacheManager;
@@ -18,7 +17,6 @@ public class CacheConfig {
     @Bean
     public CacheManager cacheManager() {
         CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
-        caffeineCacheManager.setCacheNames(List.of("otpAttempts")); // Define the cache name
         caffeineCacheManager.setCaffeine(caffeineConfig());
         return caffeineCacheManager;
     }
@@ -0,0 +1,66 @@
+package com.webapp.bankingportal.config;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import lombok.val;
+
+/**
+ * Carries the submitter's MDC into the task and records how long the task
+ * waited for a thread and how long it ran.
+ */
+public class InstrumentedTaskDecorator implements TaskDecorator {
+
+    private final Timer waitTimer;
+    private final Timer latencyTimer;
+
+    public InstrumentedTaskDecorator(String executor, MeterRegistry meterRegistry) {
+        this.waitTimer = Timer.builder("async.task.wait")
+                .description("Time an async task spent queued before it started")
+                .tag("executor", executor)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.latencyTimer = Timer.builder("async.task.latency")
+                .description("Time an async task spent running")
+                .tag("executor", executor)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        val context = MDC.getCopyOfContextMap();
+        val submittedAt = System.nanoTime();
+
+        return () -> {
+            val startedAt = System.nanoTime();
+            waitTimer.record(startedAt - submittedAt, TimeUnit.NANOSECONDS);
+
+            // Tasks may run on the caller (CallerRunsPolicy), so put its
+            // context back afterwards rather than clearing it.
+            val previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                runnable.run();
+            } finally {
+                latencyTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                setContext(previous);
+            }
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.webapp.bankingportal.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -16,13 +17,17 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.webapp.bankingportal.security.BoundedPasswordEncoder;
 import com.webapp.bankingportal.security.JwtAuthenticationEntryPoint;
 import com.webapp.bankingportal.security.JwtAuthenticationFilter;
 import com.webapp.bankingportal.service.TokenService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 
 import lombok.RequiredArgsConstructor;
+import lombok.val;
 
 @Configuration
 @EnableWebSecurity
@@ -55,9 +60,18 @@ public class WebSecurityConfig {
 //        auth.userDetailsService(tokenService).passwordEncoder(passwordEncoder());
 //    }
 
+    // Existing hashes keep the cost they were created with; only new hashes
+    // use the configured cost.
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt-cost:10}") int bcryptCost,
+            @Value("${security.password.hashing-threads:0}") int hashingThreads,
+            @Value("${security.password.queue-capacity:32}") int queueCapacity,
+            @Value("${security.password.retry-after-seconds:2}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        val threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptCost), threads, queueCapacity,
+                retryAfterSeconds, meterRegistry);
     }
 
     @Bean
@@ -73,6 +87,9 @@ public class WebSecurityConfig {
                 .authorizeHttpRequests(requests -> requests
                         .requestMatchers(PUBLIC_URLS).permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Streams were authenticated when they opened; the JWT
+                        // filter does not run again when they complete.
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated())
                 .exceptionHandling(handling -> {
                     handling.authenticationEntryPoint(jwtAuthenticationEntryPoint);
@@ -11,6 +11,8 @@ import com.webapp.bankingportal.dto.FundTransferRequest;
 import com.webapp.bankingportal.dto.PinRequest;
 import com.webapp.bankingportal.dto.PinUpdateRequest;
 import com.webapp.bankingportal.dto.SavedBeneficiaryDTO;
+import com.webapp.bankingportal.dto.StatementFormat;
+import com.webapp.bankingportal.entity.StatementJob;
 import com.webapp.bankingportal.dto.RecentTransferDTO;
 import com.webapp.bankingportal.service.AccountService;
 import com.webapp.bankingportal.service.TransactionService;
@@ -21,6 +23,7 @@ import com.webapp.bankingportal.dto.SaveBeneficiaryRequest;
 import com.webapp.bankingportal.entity.RecentTransfer;
 import com.webapp.bankingportal.entity.SavedBeneficiary;
 import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionPageResponse;
 
 import lombok.RequiredArgsConstructor;
 // abcdhdsfdsfhfhjdkf
@@ -95,11 +98,27 @@ public class AccountController {
                 .getAllTransactionsByAccountNumber(LoggedinUser.getAccountNumber());
         return ResponseEntity.ok(JsonUtil.toJson(transactions));
     }
+
+    @GetMapping("/transactions/page")
+    public ResponseEntity<String> getTransactionPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        TransactionPageResponse page = transactionService
+                .getTransactionPage(LoggedinUser.getAccountNumber(), cursor, size);
+        return ResponseEntity.ok(JsonUtil.toJson(page));
+    }
     @GetMapping("/send-statement")
-    public ResponseEntity<String> sendBankStatement() {
+    public ResponseEntity<String> sendBankStatement(@RequestParam(defaultValue = "csv") String format) {
         String accountNumber = LoggedinUser.getAccountNumber(); // Get logged-in user account
-        transactionService.sendBankStatementByEmail(accountNumber);
-        return ResponseEntity.ok("{\"message\": \"Bank statement sent to your email.\"}");
+        StatementJob job = transactionService.sendBankStatementByEmail(accountNumber, StatementFormat.from(format));
+        return ResponseEntity.accepted()
+                .body(String.format(ApiMessages.STATEMENT_JOB_ACCEPTED.getMessage(), job.getJobId()));
+    }
+
+    @GetMapping("/statements/{jobId}")
+    public ResponseEntity<String> getStatementJob(@PathVariable String jobId) {
+        StatementJob job = transactionService.getStatementJob(LoggedinUser.getAccountNumber(), jobId);
+        return ResponseEntity.ok(JsonUtil.toJson(job));
     }
 
     @PostMapping("/beneficiaries/save")
@@ -1,18 +1,32 @@
 package com.webapp.bankingportal.controller;
 
 import java.util.List;
+import java.util.Set;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.webapp.bankingportal.dto.NotificationBulkRequest;
+import com.webapp.bankingportal.dto.NotificationBulkResponse;
 import com.webapp.bankingportal.dto.NotificationDTO;
+import com.webapp.bankingportal.dto.NotificationDigestDTO;
+import com.webapp.bankingportal.dto.NotificationPageResponse;
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.service.NotificationRetentionService;
 import com.webapp.bankingportal.service.NotificationService;
+import com.webapp.bankingportal.service.NotificationStreamService;
+import com.webapp.bankingportal.util.LoggedinUser;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,40 +36,84 @@ import lombok.RequiredArgsConstructor;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamService notificationStreamService;
+    private final NotificationRetentionService notificationRetentionService;
 
     @GetMapping
-    public ResponseEntity<List<NotificationDTO>> getNotifications(@AuthenticationPrincipal String accountNumber) {
-        List<NotificationDTO> notifications = notificationService.getNotificationsByAccount(accountNumber);
+    public ResponseEntity<List<NotificationDTO>> getNotifications() {
+        List<NotificationDTO> notifications = notificationService.getNotificationsByAccount(LoggedinUser.getAccountNumber());
         return ResponseEntity.ok(notifications);
     }
 
+    // Bounded alternative to the full list above; compact pages omit the
+    // message bodies.
+    @GetMapping("/page")
+    public ResponseEntity<NotificationPageResponse> getNotificationPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean compact,
+            @RequestParam(required = false) Set<NotificationType> type,
+            @RequestParam(required = false) Double minAmount,
+            @RequestParam(required = false) Double maxAmount) {
+        NotificationPageResponse page = notificationService.getNotificationPage(LoggedinUser.getAccountNumber(),
+                cursor, size, compact, type, minAmount, maxAmount);
+        return ResponseEntity.ok(page);
+    }
+
+    // Notifications past the retention period, read from the archive.
+    @GetMapping("/history")
+    public ResponseEntity<NotificationPageResponse> getHistory(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        NotificationPageResponse page = notificationRetentionService.getHistory(LoggedinUser.getAccountNumber(),
+                cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/history/digests")
+    public ResponseEntity<List<NotificationDigestDTO>> getDigests() {
+        return ResponseEntity.ok(notificationRetentionService.getDigests(LoggedinUser.getAccountNumber()));
+    }
+
     @GetMapping("/unread")
-    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications(@AuthenticationPrincipal String accountNumber) {
-        List<NotificationDTO> notifications = notificationService.getUnreadNotifications(accountNumber);
+    public ResponseEntity<List<NotificationDTO>> getUnreadNotifications() {
+        List<NotificationDTO> notifications = notificationService.getUnreadNotifications(LoggedinUser.getAccountNumber());
         return ResponseEntity.ok(notifications);
     }
 
     @GetMapping("/unread/count")
-    public ResponseEntity<Long> getUnreadCount(@AuthenticationPrincipal String accountNumber) {
-        long count = notificationService.getUnreadCount(accountNumber);
+    public ResponseEntity<Long> getUnreadCount() {
+        long count = notificationService.getUnreadCount(LoggedinUser.getAccountNumber());
         return ResponseEntity.ok(count);
     }
 
+    // Pushes new notifications instead of having the client poll /unread/count.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        return notificationStreamService.subscribe(LoggedinUser.getAccountNumber(), lastEventId);
+    }
+
     @PutMapping("/{id}/read")
     public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
-        notificationService.markAsRead(id);
+        notificationService.markAsRead(LoggedinUser.getAccountNumber(), id);
         return ResponseEntity.ok().build();
     }
 
     @PutMapping("/read-all")
-    public ResponseEntity<Void> markAllAsRead(@AuthenticationPrincipal String accountNumber) {
-        notificationService.markAllAsRead(accountNumber);
+    public ResponseEntity<Void> markAllAsRead() {
+        notificationService.markAllAsRead(LoggedinUser.getAccountNumber());
         return ResponseEntity.ok().build();
     }
 
+    // Marks as read or deletes many notifications in one statement.
+    @PostMapping("/bulk")
+    public ResponseEntity<NotificationBulkResponse> bulkUpdate(@RequestBody NotificationBulkRequest request) {
+        return ResponseEntity.ok(notificationService.bulkUpdate(LoggedinUser.getAccountNumber(), request));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteNotification(@PathVariable Long id) {
-        notificationService.deleteNotification(id);
+        notificationService.deleteNotification(LoggedinUser.getAccountNumber(), id);
         return ResponseEntity.ok().build();
     }
 }
@@ -1,5 +1,6 @@
 package com.webapp.bankingportal.controller;
 
+import com.webapp.bankingportal.service.EmailOutboxService;
 import com.webapp.bankingportal.service.EmailService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.util.Map;
+import java.util.UUID;
 
 import com.webapp.bankingportal.dto.LoginRequest;
 import com.webapp.bankingportal.dto.OtpRequest;
@@ -37,18 +39,13 @@ public class UserController {
     private EmailService emailService;
 @Autowired
     private OtpService otpService;
+@Autowired
+    private EmailOutboxService emailOutboxService;
 
     @PostMapping("/register")
     public ResponseEntity<String> registerUser(@Valid @RequestBody User user) {
-        ResponseEntity<String> response = userService.registerUser(user);
-
-        // Only send email if registration succeeded
-        if (response.getStatusCode().is2xxSuccessful()) {
-            String emailBody = emailService.getBankStatementEmailTemplate(user.getName(), "Welcome! Your account is created.");
-            emailService.sendEmail(user.getEmail(), "Welcome to OneStopBank", emailBody);
-        }
-
-        return response;
+        // The welcome email is queued by registerUser.
+        return userService.registerUser(user);
     }
 
     @PostMapping("/login")
@@ -82,20 +79,23 @@ public class UserController {
     }
 
     @PostMapping("/register/send-otp")
-    public ResponseEntity<Map<String, String>> sendRegisterOtp(@Valid @RequestBody User user) {
+    public ResponseEntity<Map<String, String>> sendRegisterOtp(@Valid @RequestBody User user,
+            HttpServletRequest request) {
 
         // sinh OTP (có thể dùng OtpService hiện tại, lưu theo email)
-        String otp = otpService.generateOtpForRegistration(user.getEmail(), user);
+        String otp = otpService.generateOtpForRegistration(user.getEmail(), user, request.getRemoteAddr());
 
         // tạo template email OTP đăng ký (dùng getOtpLoginEmailTemplate hoặc viết hàm mới)
         String emailBody = emailService.getOtpLoginEmailTemplate(
                 user.getName(),
                 user.getEmail(), // Use email instead of accountNumber since account is not created yet
-                otp
+                otp,
+                request.getLocale()
         );
 
-        emailService.sendEmail(user.getEmail(), "OTP xác nhận đăng ký", emailBody);
-        return ResponseEntity.ok(Map.of("message", "OTP đã được gửi tới email của bạn"));
+        emailOutboxService.enqueue("registration-otp:" + UUID.randomUUID(), user.getEmail(), "OTP xác nhận đăng ký",
+                emailBody);
+        return ResponseEntity.accepted().body(Map.of("message", "OTP đã được gửi tới email của bạn"));
     }
 
     // java
@@ -119,18 +119,8 @@ public class UserController {
             return ResponseEntity.badRequest().body("Dữ liệu đăng ký không tồn tại hoặc đã hết hạn");
         }
 
-        // Register the user with original data from cache
-        ResponseEntity<String> response = userService.registerUser(pendingUser);
-
-        if (response.getStatusCode().is2xxSuccessful()) {
-            String emailBody = emailService.getBankStatementEmailTemplate(
-                    pendingUser.getName(),
-                    "Welcome! Your account is created."
-            );
-            emailService.sendEmail(pendingUser.getEmail(), "Welcome to OneStopBank", emailBody);
-        }
-
-        return response;
+        // Register the user with original data from cache; this also queues the welcome email
+        return userService.registerUser(pendingUser);
     }
 
 
@@ -0,0 +1,20 @@
+package com.webapp.bankingportal.dto;
+
+/**
+ * The user and account fields that rarely change, read without loading either
+ * entity. Balance is deliberately absent: it changes on every transaction and
+ * is always read from the database.
+ */
+public record AccountProfile(
+        String accountNumber,
+        String passwordHash,
+        String name,
+        String email,
+        String countryCode,
+        String phoneNumber,
+        String address,
+        String accountType,
+        String accountStatus,
+        String branch,
+        String ifscCode) {
+}
@@ -25,4 +25,12 @@ public class AccountResponse {
         this.ifscCode = account.getIfscCode();
     }
 
+    public AccountResponse(AccountProfile profile, double balance) {
+        this.accountNumber = profile.accountNumber();
+        this.balance = balance;
+        this.accountType = profile.accountType();
+        this.branch = profile.branch();
+        this.ifscCode = profile.ifscCode();
+    }
+
 }
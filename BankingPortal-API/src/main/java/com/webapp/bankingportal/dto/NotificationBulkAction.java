@@ -0,0 +1,6 @@
+package com.webapp.bankingportal.dto;
+
+public enum NotificationBulkAction {
+    MARK_READ,
+    DELETE
+}
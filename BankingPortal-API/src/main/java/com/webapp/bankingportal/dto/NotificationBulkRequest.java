@@ -0,0 +1,11 @@
+package com.webapp.bankingportal.dto;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Selects notifications either by {@code ids} or by creation time in
+ * {@code [from, to)}; a missing {@code to} means now.
+ */
+public record NotificationBulkRequest(NotificationBulkAction action, List<Long> ids, Date from, Date to) {
+}
@@ -0,0 +1,8 @@
+package com.webapp.bankingportal.dto;
+
+/**
+ * @param affected       notifications marked as read or deleted
+ * @param unreadAffected how many of those were unread
+ */
+public record NotificationBulkResponse(int affected, int unreadAffected) {
+}
@@ -2,6 +2,7 @@ package com.webapp.bankingportal.dto;
 
 import java.util.Date;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.webapp.bankingportal.entity.NotificationType;
 
 import lombok.AllArgsConstructor;
@@ -16,11 +17,21 @@ import lombok.NoArgsConstructor;
 public class NotificationDTO {
     private Long id;
     private String title;
+
+    // Left out of compact feed pages.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String message;
+
     private NotificationType type;
     private boolean isRead;
     private Date createdAt;
     private double amount;
     private String relatedAccountNumber;
+
+    // Compact projection, without the message body.
+    public NotificationDTO(Long id, String title, NotificationType type, boolean isRead, Date createdAt,
+            double amount, String relatedAccountNumber) {
+        this(id, title, null, type, isRead, createdAt, amount, relatedAccountNumber);
+    }
 }
 
@@ -0,0 +1,8 @@
+package com.webapp.bankingportal.dto;
+
+import java.time.YearMonth;
+
+import com.webapp.bankingportal.entity.NotificationType;
+
+public record NotificationDigestDTO(YearMonth month, NotificationType type, long count, double totalAmount) {
+}
@@ -0,0 +1,29 @@
+package com.webapp.bankingportal.dto;
+
+import com.webapp.bankingportal.util.ApiMessages;
+
+public enum StatementFormat {
+    CSV("csv"),
+    HTML("html");
+
+    private final String extension;
+
+    StatementFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static StatementFormat from(String value) {
+        for (StatementFormat format : values()) {
+            if (format.name().equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+
+        throw new IllegalArgumentException(
+                String.format(ApiMessages.STATEMENT_FORMAT_INVALID_ERROR.getMessage(), value));
+    }
+}
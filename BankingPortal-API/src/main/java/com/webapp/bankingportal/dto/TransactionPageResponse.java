@@ -0,0 +1,18 @@
+package com.webapp.bankingportal.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageResponse {
+
+    private List<TransactionDTO> transactions;
+    private String nextCursor;
+    private boolean hasMore;
+
+}
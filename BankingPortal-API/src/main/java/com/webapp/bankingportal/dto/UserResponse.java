@@ -31,4 +31,16 @@ public class UserResponse {
         this.accountType = user.getAccount().getAccountType();
     }
 
+    public UserResponse(AccountProfile profile) {
+        this.name = profile.name();
+        this.email = profile.email();
+        this.countryCode = profile.countryCode();
+        this.phoneNumber = profile.phoneNumber();
+        this.address = profile.address();
+        this.accountNumber = profile.accountNumber();
+        this.ifscCode = profile.ifscCode();
+        this.branch = profile.branch();
+        this.accountType = profile.accountType();
+    }
+
 }
@@ -0,0 +1,42 @@
+package com.webapp.bankingportal.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only log of changed account profiles. Each pod periodically replays
+ * recent rows to drop its own cached copies.
+ */
+@Entity
+@Table(name = "account_profile_invalidation", indexes = {
+        @Index(name = "idx_account_profile_invalidation_at", columnList = "invalidated_at")
+})
+@Data
+@NoArgsConstructor
+public class AccountProfileInvalidation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String accountNumber;
+
+    @Column(nullable = false)
+    private Date invalidatedAt = new Date();
+
+    public AccountProfileInvalidation(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+}
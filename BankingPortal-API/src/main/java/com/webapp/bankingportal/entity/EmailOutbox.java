@@ -0,0 +1,83 @@
+package com.webapp.bankingportal.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An email written in the same transaction as the event that caused it and
+ * delivered later by the outbox dispatcher.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_email_outbox_sent", columnList = "sent_at")
+})
+@Data
+@NoArgsConstructor
+public class EmailOutbox {
+
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Enqueueing the same key twice sends one email.
+    @Column(nullable = false, unique = true)
+    private String messageKey;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Lob
+    @Column(nullable = false)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    private int attempts;
+
+    // While a dispatcher holds a claim, this is when the claim runs out.
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // Token of the dispatcher run that last claimed the row.
+    @Column(length = 36)
+    private String claimedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    public EmailOutbox(String messageKey, String recipient, String subject, String body) {
+        this.messageKey = messageKey;
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.createdAt = LocalDateTime.now();
+        this.nextAttemptAt = createdAt;
+    }
+
+}
@@ -0,0 +1,5 @@
+package com.webapp.bankingportal.entity;
+
+public enum EmailOutboxStatus {
+    PENDING, SENT, FAILED
+}
@@ -0,0 +1,61 @@
+package com.webapp.bankingportal.entity;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Notifications of one account and calendar month (UTC) archived by one
+ * retention batch, as gzip-compressed NDJSON. Each batch inserts its own row,
+ * so archiving never rewrites an existing payload; history reads concatenate
+ * the rows of a month.
+ */
+@Entity
+@Table(name = "notification_archive", indexes = {
+        @Index(name = "idx_notification_archive_account_month", columnList = "account_id, month_start")
+})
+@Data
+@NoArgsConstructor
+public class NotificationArchive {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private LocalDate monthStart;
+
+    @Column(nullable = false)
+    private Date archivedAt;
+
+    @Column(nullable = false)
+    private long notificationCount;
+
+    @Lob
+    @Column(nullable = false, length = Integer.MAX_VALUE)
+    private byte[] payload;
+
+    public NotificationArchive(Long accountId, LocalDate monthStart, Date archivedAt, long notificationCount,
+            byte[] payload) {
+        this.accountId = accountId;
+        this.monthStart = monthStart;
+        this.archivedAt = archivedAt;
+        this.notificationCount = notificationCount;
+        this.payload = payload;
+    }
+
+}
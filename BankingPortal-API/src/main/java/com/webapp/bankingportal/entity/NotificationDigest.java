@@ -0,0 +1,60 @@
+package com.webapp.bankingportal.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Count and total amount of an account's archived notifications of one type
+ * in one calendar month (UTC).
+ */
+@Entity
+@Table(name = "notification_digest", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_notification_digest_account_month_type",
+                columnNames = { "account_id", "month_start", "type" })
+})
+@Data
+@NoArgsConstructor
+public class NotificationDigest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private LocalDate monthStart;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationType type;
+
+    @Column(nullable = false)
+    private long notificationCount;
+
+    @Column(nullable = false)
+    private double totalAmount;
+
+    public NotificationDigest(Long accountId, LocalDate monthStart, NotificationType type, long notificationCount,
+            double totalAmount) {
+        this.accountId = accountId;
+        this.monthStart = monthStart;
+        this.type = type;
+        this.notificationCount = notificationCount;
+        this.totalAmount = totalAmount;
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.webapp.bankingportal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of unread notifications per account, kept in step with the
+ * {@code notification} table in the same transactions that change it.
+ */
+@Entity
+@Table(name = "notification_unread_counter")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationUnreadCounter {
+
+    @Id
+    private Long accountId;
+
+    @Column(nullable = false)
+    private long unreadCount;
+
+}
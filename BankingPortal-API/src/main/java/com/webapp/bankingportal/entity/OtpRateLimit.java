@@ -0,0 +1,33 @@
+package com.webapp.bankingportal.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Token bucket for OTP generation, one row per account.
+ */
+@Entity
+@Table(name = "otp_rate_limit")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpRateLimit {
+
+    @Id
+    private String accountNumber;
+
+    @Column(nullable = false)
+    private double tokens;
+
+    // Epoch millis of the last refill, kept numeric so the refill can be
+    // computed inside a single portable UPDATE.
+    @Column(nullable = false)
+    private long updatedAt;
+
+}
@@ -6,6 +6,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.SequenceGenerator;
@@ -18,7 +19,8 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "passwordresettoken")
+@Table(name = "passwordresettoken", indexes = {
+        @Index(name = "idx_passwordresettoken_expiry", columnList = "expiry_date_time") })
 @Data
 @NoArgsConstructor
 public class PasswordResetToken implements Serializable {
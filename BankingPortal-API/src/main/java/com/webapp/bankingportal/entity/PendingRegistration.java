@@ -0,0 +1,44 @@
+package com.webapp.bankingportal.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A sign-up waiting for its registration OTP. The submitted user details,
+ * including the password, are stored encrypted in {@code payload}.
+ */
+@Entity
+@Table(name = "pending_registration", indexes = {
+        @Index(name = "idx_pending_registration_expiry", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+public class PendingRegistration {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String email;
+
+    @Column(nullable = false)
+    private String otp;
+
+    @Column(nullable = false, length = 4096)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+}
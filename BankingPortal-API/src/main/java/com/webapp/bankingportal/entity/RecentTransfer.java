@@ -13,7 +13,8 @@ import java.util.Date;
 )
 public class RecentTransfer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recent_transfers_seq")
+    @SequenceGenerator(name = "recent_transfers_seq", sequenceName = "recent_transfers_seq", allocationSize = 50)
     private Long id;
 
     @JsonIgnore
@@ -0,0 +1,47 @@
+package com.webapp.bankingportal.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Append-only log of revoked JWT ids. Each pod periodically replays recently
+ * revoked rows into its in-memory denylist.
+ */
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_revoked", columnList = "revoked_at"),
+        @Index(name = "idx_revoked_token_expiry", columnList = "expiry_at")
+})
+@Data
+@NoArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String tokenId;
+
+    @Column(nullable = false)
+    private Date expiryAt;
+
+    @Column(nullable = false)
+    private Date revokedAt = new Date();
+
+    public RevokedToken(String tokenId, Date expiryAt) {
+        this.tokenId = tokenId;
+        this.expiryAt = expiryAt;
+    }
+
+}
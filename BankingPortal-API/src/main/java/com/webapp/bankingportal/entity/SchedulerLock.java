@@ -0,0 +1,34 @@
+package com.webapp.bankingportal.entity;
+
+import java.util.Date;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per cluster-wide scheduled job. Whoever holds an unexpired lease is
+ * the only replica allowed to run that job.
+ */
+@Entity
+@Table(name = "scheduler_lock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerLock {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private Date lockedUntil;
+
+    @Column(nullable = false)
+    private String lockedBy;
+
+}
@@ -0,0 +1,78 @@
+package com.webapp.bankingportal.entity;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.webapp.bankingportal.dto.StatementFormat;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of an asynchronous bank statement request. The row is written by
+ * the replica that runs the job and read by whichever replica serves the
+ * status endpoint.
+ */
+@Entity
+@Table(name = "statement_job", indexes = {
+        @Index(name = "idx_statement_job_created", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+public class StatementJob {
+
+    public static final int MAX_ERROR_LENGTH = 1000;
+
+    public enum Status {
+        QUEUED, RUNNING, SENT, FAILED, REJECTED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @JsonIgnore
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String jobId;
+
+    @JsonIgnore
+    @Column(nullable = false)
+    private String accountNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private StatementFormat format;
+
+    @Column(nullable = false)
+    private Date createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    private long transactionCount;
+
+    private Date completedAt;
+
+    @Column(length = MAX_ERROR_LENGTH)
+    private String error;
+
+    public StatementJob(String jobId, String accountNumber, StatementFormat format) {
+        this.jobId = jobId;
+        this.accountNumber = accountNumber;
+        this.format = format;
+        this.createdAt = new Date();
+        this.status = Status.QUEUED;
+    }
+
+}
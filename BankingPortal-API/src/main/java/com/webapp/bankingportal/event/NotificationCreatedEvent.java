@@ -0,0 +1,29 @@
+package com.webapp.bankingportal.event;
+
+import java.util.Date;
+
+import com.webapp.bankingportal.dto.NotificationDTO;
+import com.webapp.bankingportal.entity.Notification;
+import com.webapp.bankingportal.entity.NotificationType;
+
+/**
+ * A notification that has been committed, published to push it to the
+ * account's open notification streams.
+ */
+public record NotificationCreatedEvent(
+        Long accountId,
+        NotificationDTO notification) {
+
+    // Used by JPQL constructor expressions, which cannot build the DTO.
+    public NotificationCreatedEvent(Long accountId, Long id, String title, String message, NotificationType type,
+            boolean isRead, Date createdAt, double amount, String relatedAccountNumber) {
+        this(accountId, new NotificationDTO(id, title, message, type, isRead, createdAt, amount,
+                relatedAccountNumber));
+    }
+
+    public static NotificationCreatedEvent of(Long accountId, Notification notification) {
+        return new NotificationCreatedEvent(accountId, notification.getId(), notification.getTitle(),
+                notification.getMessage(), notification.getType(), notification.isRead(),
+                notification.getCreatedAt(), notification.getAmount(), notification.getRelatedAccountNumber());
+    }
+}
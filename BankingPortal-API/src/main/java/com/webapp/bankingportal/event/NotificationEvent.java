@@ -0,0 +1,15 @@
+package com.webapp.bankingportal.event;
+
+import java.util.Date;
+
+import com.webapp.bankingportal.entity.NotificationType;
+
+public record NotificationEvent(
+        Long accountId,
+        String title,
+        String message,
+        NotificationType type,
+        double amount,
+        String relatedAccountNumber,
+        Date createdAt) implements WriteBehindEvent {
+}
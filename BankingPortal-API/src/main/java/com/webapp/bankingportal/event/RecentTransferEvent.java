@@ -0,0 +1,9 @@
+package com.webapp.bankingportal.event;
+
+import java.util.Date;
+
+public record RecentTransferEvent(
+        Long accountId,
+        Long recipientAccountId,
+        Date transferDate) implements WriteBehindEvent {
+}
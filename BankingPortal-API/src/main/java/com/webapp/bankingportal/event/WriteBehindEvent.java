@@ -0,0 +1,11 @@
+package com.webapp.bankingportal.event;
+
+/**
+ * A side effect of a committed balance change that can be persisted later, in
+ * batches, without holding the account row locks.
+ *
+ * Events carry ids rather than entities because they outlive the persistence
+ * context that produced them.
+ */
+public sealed interface WriteBehindEvent permits NotificationEvent, RecentTransferEvent {
+}
@@ -0,0 +1,25 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.AccountProfileInvalidation;
+
+@Repository
+public interface AccountProfileInvalidationRepository extends JpaRepository<AccountProfileInvalidation, Long> {
+
+    @Query("select distinct i.accountNumber from AccountProfileInvalidation i where i.invalidatedAt > :since")
+    List<String> findAccountNumbersInvalidatedAfter(@Param("since") Date since);
+
+    @Query("select i.id from AccountProfileInvalidation i where i.invalidatedAt < :cutoff")
+    List<Long> findInvalidatedBeforeIds(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    @Query("select min(i.invalidatedAt) from AccountProfileInvalidation i where i.invalidatedAt < :cutoff")
+    Date findOldestInvalidatedBefore(@Param("cutoff") Date cutoff);
+}
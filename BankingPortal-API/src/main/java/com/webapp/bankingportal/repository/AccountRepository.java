@@ -1,12 +1,49 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.Optional;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webapp.bankingportal.dto.AccountProfile;
 import com.webapp.bankingportal.entity.Account;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
 
     Account findByAccountNumber(String accountNumber);
+
+    boolean existsByAccountNumber(String accountNumber);
+
+    @Query("select a.id from Account a where a.accountNumber = :accountNumber")
+    Optional<Long> findIdByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select max(a.id) from Account a")
+    Long findMaxId();
+
+    // Fetch the owning user in the same statement; otherwise Hibernate issues a
+    // second select per locked account to initialize the eager association.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a join fetch a.user where a.accountNumber = :accountNumber")
+    Account findByAccountNumberForUpdate(@Param("accountNumber") String accountNumber);
+
+    // Scalar columns only, so neither entity is hydrated or put in the
+    // persistence context.
+    @Query("select new com.webapp.bankingportal.dto.AccountProfile(a.accountNumber, u.password, u.name, u.email, "
+            + "u.countryCode, u.phoneNumber, u.address, a.accountType, a.accountStatus, a.branch, a.ifscCode) "
+            + "from Account a join a.user u where a.accountNumber = :accountNumber")
+    Optional<AccountProfile> findProfileByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    // Scalar read for PIN checks done before the balance engine locks the
+    // account; an account without a PIN yields an empty string.
+    @Query("select coalesce(a.Pin, '') from Account a where a.accountNumber = :accountNumber")
+    Optional<String> findPinByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    @Query("select a.balance from Account a where a.accountNumber = :accountNumber")
+    Optional<Double> findBalanceByAccountNumber(@Param("accountNumber") String accountNumber);
 }
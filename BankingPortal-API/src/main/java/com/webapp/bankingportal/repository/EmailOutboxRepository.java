@@ -0,0 +1,43 @@
+package com.webapp.bankingportal.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.EmailOutbox;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    boolean existsByMessageKey(String messageKey);
+
+    EmailOutbox findByMessageKey(String messageKey);
+
+    @Query("select e from EmailOutbox e where e.status = com.webapp.bankingportal.entity.EmailOutboxStatus.PENDING "
+            + "and e.nextAttemptAt <= :now order by e.nextAttemptAt, e.id")
+    List<EmailOutbox> findDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Only rows that are still due are claimed, so of two dispatchers that
+    // read the same rows, each row goes to exactly one of them.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update EmailOutbox e set e.claimedBy = :claimedBy, e.nextAttemptAt = :claimedUntil "
+            + "where e.id in :ids and e.status = com.webapp.bankingportal.entity.EmailOutboxStatus.PENDING "
+            + "and e.nextAttemptAt <= :now")
+    int claim(@Param("ids") List<Long> ids, @Param("claimedBy") String claimedBy, @Param("now") LocalDateTime now,
+            @Param("claimedUntil") LocalDateTime claimedUntil);
+
+    @Query("select e.status, count(e) from EmailOutbox e group by e.status")
+    List<Object[]> countByStatus();
+
+    @Query("select e.id from EmailOutbox e where e.sentAt < :cutoff")
+    List<Long> findSentBeforeIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("select min(e.sentAt) from EmailOutbox e where e.sentAt < :cutoff")
+    LocalDateTime findOldestSentBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,29 @@
+package com.webapp.bankingportal.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.NotificationArchive;
+
+@Repository
+public interface NotificationArchiveRepository extends JpaRepository<NotificationArchive, Long> {
+
+    // Both read idx_notification_archive_account_month only.
+    @Query("select distinct a.monthStart from NotificationArchive a where a.accountId = :accountId "
+            + "order by a.monthStart desc")
+    List<LocalDate> findMonths(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Query("select distinct a.monthStart from NotificationArchive a where a.accountId = :accountId "
+            + "and a.monthStart <= :monthStart order by a.monthStart desc")
+    List<LocalDate> findMonthsUpTo(@Param("accountId") Long accountId, @Param("monthStart") LocalDate monthStart,
+            Pageable pageable);
+
+    List<NotificationArchive> findByAccountIdAndMonthStartIn(Long accountId, Collection<LocalDate> monthStarts);
+}
@@ -0,0 +1,26 @@
+package com.webapp.bankingportal.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.NotificationDigest;
+import com.webapp.bankingportal.entity.NotificationType;
+
+@Repository
+public interface NotificationDigestRepository extends JpaRepository<NotificationDigest, Long> {
+
+    @Modifying
+    @Query("update NotificationDigest d set d.notificationCount = d.notificationCount + :count, "
+            + "d.totalAmount = d.totalAmount + cast(:amount as Double) "
+            + "where d.accountId = :accountId and d.monthStart = :monthStart and d.type = :type")
+    int add(@Param("accountId") Long accountId, @Param("monthStart") LocalDate monthStart,
+            @Param("type") NotificationType type, @Param("count") long count, @Param("amount") double amount);
+
+    List<NotificationDigest> findByAccountIdOrderByMonthStartDescTypeAsc(Long accountId);
+}
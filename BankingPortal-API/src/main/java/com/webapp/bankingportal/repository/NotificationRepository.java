@@ -1,17 +1,149 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webapp.bankingportal.dto.NotificationDTO;
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.Notification;
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.event.NotificationCreatedEvent;
+
+import jakarta.persistence.LockModeType;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
+
+    String FULL_PROJECTION = "select new com.webapp.bankingportal.dto.NotificationDTO(n.id, n.title, n.message, "
+            + "n.type, n.isRead, n.createdAt, n.amount, n.relatedAccountNumber) ";
+
+    String COMPACT_PROJECTION = "select new com.webapp.bankingportal.dto.NotificationDTO(n.id, n.title, "
+            + "n.type, n.isRead, n.createdAt, n.amount, n.relatedAccountNumber) ";
+
+    // Walks idx_notification_account_created for the account; the type and
+    // amount filters are checked on the rows it visits.
+    String FEED_FILTER = "from Notification n where n.account.accountNumber = :accountNumber "
+            + "and n.type in :types and n.amount between :minAmount and :maxAmount";
+
+    String FEED_BEFORE_CURSOR = " and (n.createdAt < :beforeDate"
+            + " or (n.createdAt = :beforeDate and n.id < :beforeId))";
+
+    String FEED_ORDER = " order by n.createdAt desc, n.id desc";
     List<Notification> findByAccountOrderByCreatedAtDesc(Account account);
     List<Notification> findByAccountAndIsReadFalseOrderByCreatedAtDesc(Account account);
     long countByAccountAndIsReadFalse(Account account);
-}
 
+    long countByAccountIdAndIsReadFalse(Long accountId);
+
+    // Both read scalar columns only; n.account.id is the foreign key, so no
+    // account or user is loaded.
+    @Query("select new com.webapp.bankingportal.event.NotificationCreatedEvent(n.account.id, n.id, n.title, "
+            + "n.message, n.type, n.isRead, n.createdAt, n.amount, n.relatedAccountNumber) "
+            + "from Notification n where n.account.id in :accountIds and n.createdAt > :since "
+            + "order by n.createdAt asc")
+    List<NotificationCreatedEvent> findCreatedAfter(@Param("accountIds") Collection<Long> accountIds,
+            @Param("since") Date since);
+
+    @Query("select new com.webapp.bankingportal.event.NotificationCreatedEvent(n.account.id, n.id, n.title, "
+            + "n.message, n.type, n.isRead, n.createdAt, n.amount, n.relatedAccountNumber) "
+            + "from Notification n where n.account.id = :accountId and n.createdAt > :since "
+            + "order by n.createdAt desc")
+    List<NotificationCreatedEvent> findByAccountCreatedAfterNewestFirst(@Param("accountId") Long accountId,
+            @Param("since") Date since, Pageable pageable);
+
+    // Locks the rows in id order, so a concurrent mark-read or delete waits
+    // until the retention batch has archived them.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new com.webapp.bankingportal.event.NotificationCreatedEvent(n.account.id, n.id, n.title, "
+            + "n.message, n.type, n.isRead, n.createdAt, n.amount, n.relatedAccountNumber) "
+            + "from Notification n where n.id in :ids order by n.id")
+    List<NotificationCreatedEvent> findAllWithAccountIdByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Oldest first through idx_created_at, for the retention job.
+    @Query("select n.id from Notification n where n.createdAt < :cutoff order by n.createdAt asc, n.id asc")
+    List<Long> findCreatedBeforeIds(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    @Query("select min(n.createdAt) from Notification n where n.createdAt < :cutoff")
+    Date findOldestCreatedBefore(@Param("cutoff") Date cutoff);
+
+    boolean existsByIdAndAccountId(Long id, Long accountId);
+
+    // The conditional updates and deletes below return how many unread
+    // notifications they changed, which is exactly the change to the
+    // account's unread counter even when two requests race. The single-id
+    // ones also match the account, so nobody can touch another account's
+    // notification by guessing its id.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true "
+            + "where n.id = :id and n.account.id = :accountId and n.isRead = false")
+    int markReadById(@Param("accountId") Long accountId, @Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true where n.account.id = :accountId and n.isRead = false")
+    int markAllReadByAccountId(@Param("accountId") Long accountId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n where n.id = :id and n.account.id = :accountId and n.isRead = false")
+    int deleteUnreadById(@Param("accountId") Long accountId, @Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n where n.id = :id and n.account.id = :accountId")
+    int removeById(@Param("accountId") Long accountId, @Param("id") Long id);
+
+    // Bulk operations for one account. Each is a single statement however
+    // many notifications it matches. Deletes run twice, unread then read,
+    // so the unread counter changes by exactly the first count.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true "
+            + "where n.account.id = :accountId and n.id in :ids and n.isRead = false")
+    int markReadByIds(@Param("accountId") Long accountId, @Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Notification n set n.isRead = true where n.account.id = :accountId "
+            + "and n.createdAt >= :from and n.createdAt < :to and n.isRead = false")
+    int markReadByCreatedAtBetween(@Param("accountId") Long accountId, @Param("from") Date from,
+            @Param("to") Date to);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n "
+            + "where n.account.id = :accountId and n.id in :ids and n.isRead = :isRead")
+    int deleteByIds(@Param("accountId") Long accountId, @Param("ids") Collection<Long> ids,
+            @Param("isRead") boolean isRead);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Notification n where n.account.id = :accountId "
+            + "and n.createdAt >= :from and n.createdAt < :to and n.isRead = :isRead")
+    int deleteByCreatedAtBetween(@Param("accountId") Long accountId, @Param("from") Date from,
+            @Param("to") Date to, @Param("isRead") boolean isRead);
+
+    @Query(FULL_PROJECTION + FEED_FILTER + FEED_ORDER)
+    List<NotificationDTO> findFeedLatest(@Param("accountNumber") String accountNumber,
+            @Param("types") Collection<NotificationType> types, @Param("minAmount") double minAmount,
+            @Param("maxAmount") double maxAmount, Pageable pageable);
+
+    @Query(FULL_PROJECTION + FEED_FILTER + FEED_BEFORE_CURSOR + FEED_ORDER)
+    List<NotificationDTO> findFeedBefore(@Param("accountNumber") String accountNumber,
+            @Param("types") Collection<NotificationType> types, @Param("minAmount") double minAmount,
+            @Param("maxAmount") double maxAmount, @Param("beforeDate") Date beforeDate,
+            @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query(COMPACT_PROJECTION + FEED_FILTER + FEED_ORDER)
+    List<NotificationDTO> findCompactFeedLatest(@Param("accountNumber") String accountNumber,
+            @Param("types") Collection<NotificationType> types, @Param("minAmount") double minAmount,
+            @Param("maxAmount") double maxAmount, Pageable pageable);
+
+    @Query(COMPACT_PROJECTION + FEED_FILTER + FEED_BEFORE_CURSOR + FEED_ORDER)
+    List<NotificationDTO> findCompactFeedBefore(@Param("accountNumber") String accountNumber,
+            @Param("types") Collection<NotificationType> types, @Param("minAmount") double minAmount,
+            @Param("maxAmount") double maxAmount, @Param("beforeDate") Date beforeDate,
+            @Param("beforeId") Long beforeId, Pageable pageable);
+}
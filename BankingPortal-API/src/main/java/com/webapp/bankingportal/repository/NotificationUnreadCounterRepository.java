@@ -0,0 +1,46 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.NotificationUnreadCounter;
+
+@Repository
+public interface NotificationUnreadCounterRepository extends JpaRepository<NotificationUnreadCounter, Long> {
+
+    @Query("select c.unreadCount from NotificationUnreadCounter c where c.accountId = :accountId")
+    Optional<Long> findUnreadCount(@Param("accountId") Long accountId);
+
+    // A single UPDATE, so concurrent changes for the same account serialize
+    // on the row lock instead of overwriting each other.
+    @Transactional
+    @Modifying
+    @Query("update NotificationUnreadCounter c set c.unreadCount = greatest(0L, c.unreadCount + :delta) "
+            + "where c.accountId = :accountId")
+    int add(@Param("accountId") Long accountId, @Param("delta") long delta);
+
+    @Transactional
+    @Modifying
+    @Query("insert into NotificationUnreadCounter (accountId, unreadCount) values (:accountId, 0L)")
+    int insert(@Param("accountId") Long accountId);
+
+    @Modifying
+    @Query("insert into NotificationUnreadCounter (accountId, unreadCount) "
+            + "select a.id, (select count(n) from Notification n where n.account.id = a.id and n.isRead = false) "
+            + "from Account a where a.id between :fromId and :toId "
+            + "and not exists (select c.accountId from NotificationUnreadCounter c where c.accountId = a.id)")
+    int insertMissing(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Modifying
+    @Query("update NotificationUnreadCounter c set c.unreadCount = "
+            + "(select count(n) from Notification n where n.account.id = c.accountId and n.isRead = false) "
+            + "where c.accountId between :fromId and :toId and c.unreadCount <> "
+            + "(select count(n) from Notification n where n.account.id = c.accountId and n.isRead = false)")
+    int correct(@Param("fromId") Long fromId, @Param("toId") Long toId);
+}
@@ -1,6 +1,12 @@
 package com.webapp.bankingportal.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.webapp.bankingportal.entity.OtpInfo;
@@ -11,4 +17,10 @@ public interface OtpInfoRepository extends JpaRepository<OtpInfo, Long> {
     OtpInfo findByAccountNumberAndOtp(String accountNumber, String otp);
 
     OtpInfo findByAccountNumber(String accountNumber);
+
+    @Query("select o.id from OtpInfo o where o.generatedAt < :cutoff")
+    List<Long> findGeneratedBeforeIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("select min(o.generatedAt) from OtpInfo o where o.generatedAt < :cutoff")
+    LocalDateTime findOldestGeneratedBefore(@Param("cutoff") LocalDateTime cutoff);
 }
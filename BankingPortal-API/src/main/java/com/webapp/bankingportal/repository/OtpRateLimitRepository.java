@@ -0,0 +1,35 @@
+package com.webapp.bankingportal.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.OtpRateLimit;
+
+@Repository
+public interface OtpRateLimitRepository extends JpaRepository<OtpRateLimit, String> {
+
+    // Refills the bucket and takes one token in a single statement; the row
+    // lock makes concurrent calls from any node serialize on the account.
+    @Transactional
+    @Modifying
+    @Query("update OtpRateLimit r "
+            + "set r.tokens = least(cast(:capacity as Double), "
+            + "r.tokens + greatest(0L, :now - r.updatedAt) * cast(:refillPerMilli as Double)) - 1, "
+            + "r.updatedAt = greatest(r.updatedAt, :now) "
+            + "where r.accountNumber = :accountNumber "
+            + "and least(cast(:capacity as Double), "
+            + "r.tokens + greatest(0L, :now - r.updatedAt) * cast(:refillPerMilli as Double)) >= 1")
+    int tryConsume(@Param("accountNumber") String accountNumber, @Param("capacity") double capacity,
+            @Param("refillPerMilli") double refillPerMilli, @Param("now") long now);
+
+    // A plain INSERT, unlike save(), fails on an existing row instead of
+    // merging over another node's bucket.
+    @Transactional
+    @Modifying
+    @Query("insert into OtpRateLimit (accountNumber, tokens, updatedAt) values (:accountNumber, :tokens, :now)")
+    int insert(@Param("accountNumber") String accountNumber, @Param("tokens") double tokens, @Param("now") long now);
+}
@@ -1,8 +1,13 @@
 package com.webapp.bankingportal.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.webapp.bankingportal.entity.PasswordResetToken;
@@ -15,4 +20,10 @@ public interface PasswordResetTokenRepository extends JpaRepository<PasswordRese
     PasswordResetToken findByUser(User user);
 
     void deleteByToken(String token);
+
+    @Query("select t.id from PasswordResetToken t where t.expiryDateTime < :now")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("select min(t.expiryDateTime) from PasswordResetToken t where t.expiryDateTime < :now")
+    LocalDateTime findOldestExpiry(@Param("now") LocalDateTime now);
 }
@@ -0,0 +1,41 @@
+package com.webapp.bankingportal.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.PendingRegistration;
+
+@Repository
+public interface PendingRegistrationRepository extends JpaRepository<PendingRegistration, Long> {
+
+    Optional<PendingRegistration> findByEmail(String email);
+
+    long countByExpiresAtAfter(LocalDateTime now);
+
+    Optional<PendingRegistration> findFirstByOrderByExpiresAtAsc();
+
+    @Transactional
+    @Modifying
+    @Query("delete from PendingRegistration p where p.id = :id")
+    int removeById(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PendingRegistration p where p.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+
+    @Query("select p.id from PendingRegistration p where p.expiresAt < :now")
+    List<Long> findExpiredIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("select min(p.expiresAt) from PendingRegistration p where p.expiresAt < :now")
+    LocalDateTime findOldestExpiry(@Param("now") LocalDateTime now);
+}
@@ -1,5 +1,6 @@
 package com.webapp.bankingportal.repository;
 
+import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.RecentTransfer;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -10,6 +11,6 @@ import java.util.Optional;
 @Repository
 public interface RecentTransferRepository extends JpaRepository<RecentTransfer, Long> {
     List<RecentTransfer> findTop5ByAccount_AccountNumberOrderByLastTransferDateDesc(String accountNumber);
-    Optional<RecentTransfer> findByAccount_AccountNumberAndRecipientAccount_AccountNumber(String accountNumber, String recipientAccountNumber);
+    Optional<RecentTransfer> findByAccountAndRecipientAccount(Account account, Account recipientAccount);
 }
 
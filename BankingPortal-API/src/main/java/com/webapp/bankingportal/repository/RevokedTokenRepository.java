@@ -0,0 +1,26 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.RevokedToken;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    List<RevokedToken> findByRevokedAtAfterAndExpiryAtAfter(Date revokedSince, Date now);
+
+    boolean existsByTokenId(String tokenId);
+
+    @Query("select r.id from RevokedToken r where r.expiryAt < :now")
+    List<Long> findExpiredIds(@Param("now") Date now, Pageable pageable);
+
+    @Query("select min(r.expiryAt) from RevokedToken r where r.expiryAt < :now")
+    Date findOldestExpiry(@Param("now") Date now);
+}
@@ -0,0 +1,22 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.webapp.bankingportal.entity.SchedulerLock;
+
+@Repository
+public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    // Takes over an expired lease, or extends our own; atomic in one statement.
+    @Modifying
+    @Query("update SchedulerLock l set l.lockedUntil = :until, l.lockedBy = :owner "
+            + "where l.name = :name and (l.lockedUntil < :now or l.lockedBy = :owner)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+            @Param("now") Date now, @Param("until") Date until);
+}
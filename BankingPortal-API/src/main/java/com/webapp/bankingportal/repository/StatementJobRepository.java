@@ -0,0 +1,41 @@
+package com.webapp.bankingportal.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.StatementJob;
+
+@Repository
+public interface StatementJobRepository extends JpaRepository<StatementJob, Long> {
+
+    StatementJob findByJobId(String jobId);
+
+    // The worker only ever touches its own progress columns, so these are
+    // single UPDATEs rather than a read-modify-write of the whole row.
+    @Transactional
+    @Modifying
+    @Query("update StatementJob j set j.status = :status, j.transactionCount = :count where j.jobId = :jobId")
+    int updateProgress(@Param("jobId") String jobId, @Param("status") StatementJob.Status status,
+            @Param("count") long count);
+
+    @Transactional
+    @Modifying
+    @Query("update StatementJob j set j.status = :status, j.transactionCount = :count, "
+            + "j.completedAt = :completedAt, j.error = :error where j.jobId = :jobId")
+    int complete(@Param("jobId") String jobId, @Param("status") StatementJob.Status status,
+            @Param("count") long count, @Param("completedAt") Date completedAt, @Param("error") String error);
+
+    @Query("select j.id from StatementJob j where j.createdAt < :cutoff")
+    List<Long> findCreatedBeforeIds(@Param("cutoff") Date cutoff, Pageable pageable);
+
+    @Query("select min(j.createdAt) from StatementJob j where j.createdAt < :cutoff")
+    Date findOldestCreatedBefore(@Param("cutoff") Date cutoff);
+}
@@ -1,6 +1,12 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.webapp.bankingportal.entity.Account;
@@ -14,4 +20,10 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
     Token[] findAllByAccount(Account account);
 
     void deleteByToken(String token);
+
+    @Query("select t.id from Token t where t.expiryAt < :now")
+    List<Long> findExpiredIds(@Param("now") Date now, Pageable pageable);
+
+    @Query("select min(t.expiryAt) from Token t where t.expiryAt < :now")
+    Date findOldestExpiry(@Param("now") Date now);
 }
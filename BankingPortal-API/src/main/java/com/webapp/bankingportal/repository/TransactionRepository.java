@@ -1,15 +1,47 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.Date;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.webapp.bankingportal.dto.TransactionDTO;
 import com.webapp.bankingportal.entity.Transaction;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
-    // Add any custom query methods here, if needed
-	
-    List<Transaction> findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(String sourceAccountNumber, String targetAccountNumber);
+
+    String DTO_PROJECTION = "select new com.webapp.bankingportal.dto.TransactionDTO("
+            + "t.id, t.amount, t.transactionType, t.transactionDate, s.accountNumber, coalesce(tg.accountNumber, 'N/A')) "
+            + "from Transaction t join t.sourceAccount s left join t.targetAccount tg ";
+
+    String KEYSET_ORDER = " order by t.transactionDate desc, t.id desc";
+
+    String BEFORE_CURSOR = " and (t.transactionDate < :beforeDate"
+            + " or (t.transactionDate = :beforeDate and t.id < :beforeId))";
+
+    @Query(DTO_PROJECTION + "where s.accountNumber = :accountNumber or tg.accountNumber = :accountNumber"
+            + KEYSET_ORDER)
+    List<TransactionDTO> findAllByAccountNumberNewestFirst(@Param("accountNumber") String accountNumber);
+
+    // Each side of the history is read separately so that it can walk its own
+    // (account, transaction_date) index instead of OR-ing the two columns.
+
+    @Query(DTO_PROJECTION + "where s.accountNumber = :accountNumber" + KEYSET_ORDER)
+    List<TransactionDTO> findLatestBySource(@Param("accountNumber") String accountNumber, Pageable pageable);
+
+    @Query(DTO_PROJECTION + "where tg.accountNumber = :accountNumber" + KEYSET_ORDER)
+    List<TransactionDTO> findLatestByTarget(@Param("accountNumber") String accountNumber, Pageable pageable);
+
+    @Query(DTO_PROJECTION + "where s.accountNumber = :accountNumber" + BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findBySourceBefore(@Param("accountNumber") String accountNumber,
+            @Param("beforeDate") Date beforeDate, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query(DTO_PROJECTION + "where tg.accountNumber = :accountNumber" + BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findByTargetBefore(@Param("accountNumber") String accountNumber,
+            @Param("beforeDate") Date beforeDate, @Param("beforeId") Long beforeId, Pageable pageable);
 }
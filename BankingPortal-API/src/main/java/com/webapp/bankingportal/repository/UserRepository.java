@@ -1,8 +1,12 @@
 package com.webapp.bankingportal.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.webapp.bankingportal.entity.User;
@@ -15,4 +19,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByPhoneNumber(String phoneNumber);
 
     Optional<User> findByAccountAccountNumber(String accountNumber);
+
+    boolean existsByEmail(String email);
+
+    boolean existsByPhoneNumber(String phoneNumber);
+
+    // An identifier is either an email or an account number; both columns are
+    // unique, so this returns at most one user of each kind.
+    @Query("select u from User u join fetch u.account a where u.email = :identifier or a.accountNumber = :identifier")
+    List<User> findByEmailOrAccountNumber(@Param("identifier") String identifier);
+
+    List<EmailView> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    interface EmailView {
+
+        Long getId();
+
+        String getEmail();
+    }
 }
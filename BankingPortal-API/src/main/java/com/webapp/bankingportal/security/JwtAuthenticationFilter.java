@@ -1,11 +1,12 @@
 package com.webapp.bankingportal.security;
 
 import java.io.IOException;
+import java.util.List;
 
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -32,7 +33,6 @@ import org.springframework.security.core.userdetails.UserDetails;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final UserDetailsService userDetailsService;
     private final TokenService tokenService;
 
     /**
@@ -77,8 +77,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String username = null;
 
         try {
-            tokenService.validateToken(token);
-            username = tokenService.getUsernameFromToken(token);
+            username = tokenService.authenticateToken(token);
 
         } catch (InvalidTokenException e) {
             response.sendError(HttpServletResponse.SC_UNAUTHORIZED,
@@ -86,7 +85,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        // The signed subject is all the principal needs; no credentials or
+        // authorities are kept, so there is nothing to load per request.
+        UserDetails userDetails = User.withUsername(username)
+                .password("")
+                .authorities(List.of())
+                .build();
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                 userDetails, null, userDetails.getAuthorities());
 
@@ -0,0 +1,27 @@
+package com.webapp.bankingportal.service;
+
+import java.util.Optional;
+
+import com.webapp.bankingportal.dto.AccountProfile;
+
+/**
+ * Read-through cache of {@link AccountProfile}s by account number, kept
+ * consistent between pods through the {@code account_profile_invalidation}
+ * table.
+ */
+public interface AccountProfileService {
+
+    public Optional<AccountProfile> findByAccountNumber(String accountNumber);
+
+    /**
+     * Drops the cached profile, locally at once and again when the current
+     * transaction ends, and on other pods within one sync interval. Must be
+     * called whenever the user or account behind it changes.
+     */
+    public void invalidate(String accountNumber);
+
+    /**
+     * Pulls invalidations written by other pods since the last sync.
+     */
+    public void sync();
+}
@@ -0,0 +1,122 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.webapp.bankingportal.dto.AccountProfile;
+import com.webapp.bankingportal.entity.AccountProfileInvalidation;
+import com.webapp.bankingportal.repository.AccountProfileInvalidationRepository;
+import com.webapp.bankingportal.repository.AccountRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Only existing accounts are cached; a miss for an unknown account number
+ * always goes to the database, so a newly registered account is visible at
+ * once.
+ *
+ * <p>A change is published as a row in {@code account_profile_invalidation}
+ * written in the same transaction, so other pods never see the invalidation
+ * before the change itself. Locally the entry is dropped both immediately and
+ * when the transaction ends, which also discards a value reloaded from the old
+ * row while the transaction was still open. Rows are replayed for 30 seconds
+ * after each sync, so other pods evict a recently changed profile several
+ * times; each repeat only costs one extra miss.
+ *
+ * <p>Entries also expire {@code account.profile.ttl-seconds} after loading as
+ * a backstop. Hit and miss counts are exported as the {@code accountProfile}
+ * cache metrics.
+ */
+@Service
+@RequiredArgsConstructor
+public class AccountProfileServiceImpl implements AccountProfileService {
+
+    public static final int MAX_CACHED_PROFILES = 100_000;
+
+    // Long enough for every pod to have synced many times over.
+    public static final int INVALIDATION_RETENTION_MINUTES = 60;
+
+    // Rows are re-read for this long after the previous sync, to cover
+    // transactions that committed late and clock skew between pods.
+    private static final long SYNC_LOOKBACK_MS = 30_000;
+
+    @Value("${account.profile.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final AccountRepository accountRepository;
+    private final AccountProfileInvalidationRepository invalidationRepository;
+    private final MeterRegistry meterRegistry;
+
+    private LoadingCache<String, AccountProfile> profiles;
+    private Counter localInvalidations;
+    private Counter syncedInvalidations;
+
+    private volatile long lastSyncedAt;
+
+    @PostConstruct
+    void init() {
+        profiles = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(MAX_CACHED_PROFILES)
+                .recordStats()
+                .build(accountNumber -> accountRepository.findProfileByAccountNumber(accountNumber).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, profiles, "accountProfile");
+        localInvalidations = meterRegistry.counter("account.profile.invalidations", "source", "local");
+        syncedInvalidations = meterRegistry.counter("account.profile.invalidations", "source", "sync");
+
+        // The cache starts empty, so older rows have nothing to evict.
+        lastSyncedAt = System.currentTimeMillis();
+    }
+
+    @Override
+    public Optional<AccountProfile> findByAccountNumber(String accountNumber) {
+        if (accountNumber == null) {
+            return Optional.empty();
+        }
+
+        return Optional.ofNullable(profiles.get(accountNumber));
+    }
+
+    @Override
+    public void invalidate(String accountNumber) {
+        profiles.invalidate(accountNumber);
+        localInvalidations.increment();
+        invalidationRepository.save(new AccountProfileInvalidation(accountNumber));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    profiles.invalidate(accountNumber);
+                }
+            });
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${account.profile.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        val now = System.currentTimeMillis();
+        val accountNumbers = invalidationRepository.findAccountNumbersInvalidatedAfter(
+                new Date(Math.max(0, lastSyncedAt - SYNC_LOOKBACK_MS)));
+        profiles.invalidateAll(accountNumbers);
+        syncedInvalidations.increment(accountNumbers.size());
+        lastSyncedAt = now;
+    }
+
+}
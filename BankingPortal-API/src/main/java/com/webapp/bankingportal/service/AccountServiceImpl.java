@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -17,6 +18,8 @@ import com.webapp.bankingportal.entity.SavedBeneficiary;
 import com.webapp.bankingportal.entity.RecentTransfer;
 import com.webapp.bankingportal.dto.SavedBeneficiaryDTO;
 import com.webapp.bankingportal.dto.RecentTransferDTO;
+import com.webapp.bankingportal.event.NotificationEvent;
+import com.webapp.bankingportal.event.RecentTransferEvent;
 import com.webapp.bankingportal.exception.FundTransferException;
 import com.webapp.bankingportal.exception.InsufficientBalanceException;
 import com.webapp.bankingportal.exception.InvalidAmountException;
@@ -33,7 +36,6 @@ import com.webapp.bankingportal.util.ApiMessages;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
@@ -46,7 +48,15 @@ public class AccountServiceImpl implements AccountService {
     @Autowired
     private final TransactionRepository transactionRepository;
     @Autowired
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private final BalanceEngine balanceEngine;
+    @Autowired
+    private final PinVerificationService pinVerificationService;
+    @Autowired
+    private final AccountProfileService accountProfileService;
+    @Autowired
+    private final UnreadCountService unreadCountService;
 
     @Override
     public Account createAccount(User user) {
@@ -54,7 +64,9 @@ public class AccountServiceImpl implements AccountService {
         account.setAccountNumber(generateUniqueAccountNumber());
         account.setBalance(0.0);
         account.setUser(user);
-        return accountRepository.save(account);
+        accountRepository.save(account);
+        unreadCountService.initialize(account.getId());
+        return account;
     }
 
     @Override
@@ -72,18 +84,20 @@ public class AccountServiceImpl implements AccountService {
         do {
             // Generate a UUID as the account number
             accountNumber = UUID.randomUUID().toString().replaceAll("-", "").substring(0, 6);
-        } while (accountRepository.findByAccountNumber(accountNumber) != null);
+        } while (accountRepository.existsByAccountNumber(accountNumber));
 
         return accountNumber;
     }
 
+    // Runs before the balance engine takes its locks, so a slow hash check
+    // never holds the stripe or the row lock. It reads the stored PIN as a
+    // scalar: a managed Account here would be handed back unrefreshed by the
+    // locking read later in the same request.
     private void validatePin(String accountNumber, String pin) {
-        val account = accountRepository.findByAccountNumber(accountNumber);
-        if (account == null) {
-            throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
-        }
+        val storedPin = accountRepository.findPinByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
 
-        if (account.getPin() == null) {
+        if (storedPin.isEmpty()) {
             throw new InvalidPinException(ApiMessages.PIN_NOT_CREATED.getMessage());
         }
 
@@ -91,13 +105,12 @@ public class AccountServiceImpl implements AccountService {
             throw new InvalidPinException(ApiMessages.PIN_EMPTY_ERROR.getMessage());
         }
 
-        if (!passwordEncoder.matches(pin, account.getPin())) {
+        if (!pinVerificationService.matches(accountNumber, pin, storedPin)) {
             throw new InvalidPinException(ApiMessages.PIN_INVALID_ERROR.getMessage());
         }
     }
 
-    private void validatePassword(String accountNumber, String password) {
-        val account = accountRepository.findByAccountNumber(accountNumber);
+    private void validatePassword(Account account, String password) {
         if (account == null) {
             throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
         }
@@ -113,9 +126,9 @@ public class AccountServiceImpl implements AccountService {
 
     @Override
     public void createPin(String accountNumber, String password, String pin) {
-        validatePassword(accountNumber, password);
-
         val account = accountRepository.findByAccountNumber(accountNumber);
+        validatePassword(account, password);
+
         if (account.getPin() != null) {
             throw new InvalidPinException(ApiMessages.PIN_ALREADY_EXISTS.getMessage());
         }
@@ -130,15 +143,16 @@ public class AccountServiceImpl implements AccountService {
 
         account.setPin(passwordEncoder.encode(pin));
         accountRepository.save(account);
+        pinVerificationService.evict(accountNumber);
+        accountProfileService.invalidate(accountNumber);
     }
 
     @Override
     public void updatePin(String accountNumber, String password, String newPin) {
         log.info("Updating PIN for account: {}", accountNumber);
 
-        validatePassword(accountNumber, password);
-
         val account = accountRepository.findByAccountNumber(accountNumber);
+        validatePassword(account, password);
 
         if (newPin == null || newPin.isEmpty()) {
             throw new InvalidPinException(ApiMessages.PIN_EMPTY_ERROR.getMessage());
@@ -150,6 +164,8 @@ public class AccountServiceImpl implements AccountService {
 
         account.setPin(passwordEncoder.encode(newPin));
         accountRepository.save(account);
+        pinVerificationService.evict(accountNumber);
+        accountProfileService.invalidate(accountNumber);
     }
 
     private void validateAmount(double amount) {
@@ -162,71 +178,80 @@ public class AccountServiceImpl implements AccountService {
         }
     }
 
-    @Transactional
     @Override
     public void cashDeposit(String accountNumber, String pin, double amount) {
         validatePin(accountNumber, pin);
         validateAmount(amount);
 
-        val account = accountRepository.findByAccountNumber(accountNumber);
-        val currentBalance = account.getBalance();
-        val newBalance = currentBalance + amount;
-        account.setBalance(newBalance);
-        accountRepository.save(account);
+        balanceEngine.withLockedAccount(accountNumber, account -> {
+            if (account == null) {
+                throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+            }
 
-        val transaction = new Transaction();
-        transaction.setAmount(amount);
-        transaction.setTransactionType(TransactionType.CASH_DEPOSIT);
-        transaction.setTransactionDate(new Date());
-        transaction.setSourceAccount(account);
-        transactionRepository.save(transaction);
-
-        // Create notification for deposit
-        notificationService.createNotification(
-            account,
-            "Tiền gửi thành công",
-            String.format("Bạn đã nạp %.0f VNĐ vào tài khoản. Số dư mới: %.0f VNĐ", amount, newBalance),
-            NotificationType.DEPOSIT,
-            amount,
-            null
-        );
+            val currentBalance = account.getBalance();
+            val newBalance = currentBalance + amount;
+            account.setBalance(newBalance);
+            accountRepository.save(account);
+
+            val transaction = new Transaction();
+            transaction.setAmount(amount);
+            transaction.setTransactionType(TransactionType.CASH_DEPOSIT);
+            transaction.setTransactionDate(new Date());
+            transaction.setSourceAccount(account);
+            transactionRepository.save(transaction);
+
+            // Create notification for deposit
+            eventPublisher.publishEvent(new NotificationEvent(
+                account.getId(),
+                "Tiền gửi thành công",
+                String.format("Bạn đã nạp %.0f VNĐ vào tài khoản. Số dư mới: %.0f VNĐ", amount, newBalance),
+                NotificationType.DEPOSIT,
+                amount,
+                null,
+                transaction.getTransactionDate()
+            ));
+        });
     }
 
-    @Transactional
     @Override
     public void cashWithdrawal(String accountNumber, String pin, double amount) {
         validatePin(accountNumber, pin);
         validateAmount(amount);
 
-        val account = accountRepository.findByAccountNumber(accountNumber);
-        val currentBalance = account.getBalance();
-        if (currentBalance < amount) {
-            throw new InsufficientBalanceException(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage());
-        }
+        balanceEngine.withLockedAccount(accountNumber, account -> {
+            if (account == null) {
+                throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+            }
 
-        val newBalance = currentBalance - amount;
-        account.setBalance(newBalance);
-        accountRepository.save(account);
+            val currentBalance = account.getBalance();
+            if (currentBalance < amount) {
+                throw new InsufficientBalanceException(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage());
+            }
 
-        val transaction = new Transaction();
-        transaction.setAmount(amount);
-        transaction.setTransactionType(TransactionType.CASH_WITHDRAWAL);
-        transaction.setTransactionDate(new Date());
-        transaction.setSourceAccount(account);
-        transactionRepository.save(transaction);
-
-        // Create notification for withdrawal
-        notificationService.createNotification(
-            account,
-            "Rút tiền thành công",
-            String.format("Bạn đã rút %.0f VNĐ từ tài khoản. Số dư mới: %.0f VNĐ", amount, newBalance),
-            NotificationType.WITHDRAW,
-            amount,
-            null
-        );
+            val newBalance = currentBalance - amount;
+            account.setBalance(newBalance);
+            accountRepository.save(account);
+
+            val transaction = new Transaction();
+            transaction.setAmount(amount);
+            transaction.setTransactionType(TransactionType.CASH_WITHDRAWAL);
+            transaction.setTransactionDate(new Date());
+            transaction.setSourceAccount(account);
+            transactionRepository.save(transaction);
+
+            // Create notification for withdrawal
+            eventPublisher.publishEvent(new NotificationEvent(
+                account.getId(),
+                "Rút tiền thành công",
+                String.format("Bạn đã rút %.0f VNĐ từ tài khoản. Số dư mới: %.0f VNĐ", amount, newBalance),
+                NotificationType.WITHDRAW,
+                amount,
+                null,
+                transaction.getTransactionDate()
+            ));
+        });
     }
 
-    @Transactional
     @Override
     public void fundTransfer(String sourceAccountNumber, String targetAccountNumber, String pin, double amount) {
         validatePin(sourceAccountNumber, pin);
@@ -236,67 +261,62 @@ public class AccountServiceImpl implements AccountService {
             throw new FundTransferException(ApiMessages.CASH_TRANSFER_SAME_ACCOUNT_ERROR.getMessage());
         }
 
-        val targetAccount = accountRepository.findByAccountNumber(targetAccountNumber);
-        if (targetAccount == null) {
-            throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
-        }
+        balanceEngine.withLockedAccounts(sourceAccountNumber, targetAccountNumber, (sourceAccount, targetAccount) -> {
+            if (sourceAccount == null || targetAccount == null) {
+                throw new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+            }
 
-        val sourceAccount = accountRepository.findByAccountNumber(sourceAccountNumber);
-        val sourceBalance = sourceAccount.getBalance();
-        if (sourceBalance < amount) {
-            throw new InsufficientBalanceException(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage());
-        }
+            val sourceBalance = sourceAccount.getBalance();
+            if (sourceBalance < amount) {
+                throw new InsufficientBalanceException(ApiMessages.BALANCE_INSUFFICIENT_ERROR.getMessage());
+            }
 
-        val newSourceBalance = sourceBalance - amount;
-        sourceAccount.setBalance(newSourceBalance);
-        accountRepository.save(sourceAccount);
-
-        val targetBalance = targetAccount.getBalance();
-        val newTargetBalance = targetBalance + amount;
-        targetAccount.setBalance(newTargetBalance);
-        accountRepository.save(targetAccount);
-
-        val transaction = new Transaction();
-        transaction.setAmount(amount);
-        transaction.setTransactionType(TransactionType.CASH_TRANSFER);
-        transaction.setTransactionDate(new Date());
-        transaction.setSourceAccount(sourceAccount);
-        transaction.setTargetAccount(targetAccount);
-        transactionRepository.save(transaction);
-
-        // Update recent transfers
-        RecentTransfer recent = recentTransferRepository.findByAccount_AccountNumberAndRecipientAccount_AccountNumber(
-                sourceAccountNumber, targetAccountNumber).orElse(null);
-
-        if (recent == null) {
-            recent = new RecentTransfer();
-            recent.setAccount(sourceAccount);
-            recent.setRecipientAccount(targetAccount);
-        }
-        recent.setLastTransferDate(new Date());
-        recentTransferRepository.save(recent);
-
-        // Create notification for sender
-        notificationService.createNotification(
-            sourceAccount,
-            "Chuyển tiền thành công",
-            String.format("Bạn đã chuyển %.0f VNĐ đến tài khoản %s. Số dư mới: %.0f VNĐ",
-                amount, targetAccountNumber, newSourceBalance),
-            NotificationType.TRANSFER_SENT,
-            amount,
-            targetAccountNumber
-        );
-
-        // Create notification for receiver
-        notificationService.createNotification(
-            targetAccount,
-            "Nhận tiền thành công",
-            String.format("Bạn đã nhận %.0f VNĐ từ tài khoản %s. Số dư mới: %.0f VNĐ",
-                amount, sourceAccountNumber, newTargetBalance),
-            NotificationType.TRANSFER_RECEIVED,
-            amount,
-            sourceAccountNumber
-        );
+            val newSourceBalance = sourceBalance - amount;
+            sourceAccount.setBalance(newSourceBalance);
+            accountRepository.save(sourceAccount);
+
+            val targetBalance = targetAccount.getBalance();
+            val newTargetBalance = targetBalance + amount;
+            targetAccount.setBalance(newTargetBalance);
+            accountRepository.save(targetAccount);
+
+            val transaction = new Transaction();
+            transaction.setAmount(amount);
+            transaction.setTransactionType(TransactionType.CASH_TRANSFER);
+            transaction.setTransactionDate(new Date());
+            transaction.setSourceAccount(sourceAccount);
+            transaction.setTargetAccount(targetAccount);
+            transactionRepository.save(transaction);
+
+            // Side effects are written after commit, outside the row locks
+            val transferDate = transaction.getTransactionDate();
+            eventPublisher.publishEvent(new RecentTransferEvent(
+                sourceAccount.getId(), targetAccount.getId(), transferDate));
+
+            // Create notification for sender
+            eventPublisher.publishEvent(new NotificationEvent(
+                sourceAccount.getId(),
+                "Chuyển tiền thành công",
+                String.format("Bạn đã chuyển %.0f VNĐ đến tài khoản %s. Số dư mới: %.0f VNĐ",
+                    amount, targetAccountNumber, newSourceBalance),
+                NotificationType.TRANSFER_SENT,
+                amount,
+                targetAccountNumber,
+                transferDate
+            ));
+
+            // Create notification for receiver
+            eventPublisher.publishEvent(new NotificationEvent(
+                targetAccount.getId(),
+                "Nhận tiền thành công",
+                String.format("Bạn đã nhận %.0f VNĐ từ tài khoản %s. Số dư mới: %.0f VNĐ",
+                    amount, sourceAccountNumber, newTargetBalance),
+                NotificationType.TRANSFER_RECEIVED,
+                amount,
+                sourceAccountNumber,
+                transferDate
+            ));
+        });
     }
 
     @Autowired
@@ -111,17 +111,12 @@ public class AuthServiceImpl implements AuthService {
         return existingToken != null && existingToken.getExpiryDateTime().isAfter(LocalDateTime.now().plusMinutes(5));
     }
 
+    // The email is only queued here, so the request is accepted rather than
+    // done; a failure to queue it propagates.
     private ResponseEntity<String> sendOtpEmail(User user, String accountNumber, String generatedOtp) {
-        val emailSendingFuture = otpService.sendOTPByEmail(user.getEmail(), user.getName(), accountNumber,
-                generatedOtp);
-
-        val successResponse = ResponseEntity
-                .ok(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail()));
-        val failureResponse = ResponseEntity.internalServerError()
-                .body(String.format(ApiMessages.OTP_SENT_FAILURE.getMessage(), user.getEmail()));
-
-        return emailSendingFuture.thenApply(result -> successResponse)
-                .exceptionally(e -> failureResponse).join();
+        otpService.sendOTPByEmail(user.getEmail(), user.getName(), accountNumber, generatedOtp);
+        return ResponseEntity.accepted()
+                .body(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail()));
     }
 
     private void validateOtpRequest(OtpVerificationRequest otpVerificationRequest) {
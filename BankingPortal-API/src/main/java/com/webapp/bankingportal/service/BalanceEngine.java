@@ -0,0 +1,21 @@
+package com.webapp.bankingportal.service;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import com.webapp.bankingportal.entity.Account;
+
+/**
+ * Serializes every read-modify-write of {@code Account.balance}.
+ *
+ * The mutation callbacks run inside a transaction with the account rows locked
+ * for update. Accounts that do not exist are passed as {@code null}; it is up to
+ * the callback to reject them.
+ */
+public interface BalanceEngine {
+
+    public void withLockedAccount(String accountNumber, Consumer<Account> mutation);
+
+    public void withLockedAccounts(String firstAccountNumber, String secondAccountNumber,
+            BiConsumer<Account, Account> mutation);
+}
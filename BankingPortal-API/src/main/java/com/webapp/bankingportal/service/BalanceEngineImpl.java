@@ -0,0 +1,82 @@
+package com.webapp.bankingportal.service;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.util.StripedLock;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Two layers of locking guard each balance change:
+ * <ul>
+ * <li>an in-process striped lock keyed by account number, held around the whole
+ * transaction, so requests for a hot account queue in memory instead of piling
+ * up on the database row lock;</li>
+ * <li>{@code SELECT ... FOR UPDATE} row locks, which keep replicas consistent.
+ * Two accounts are always locked in ascending account-number order, which is a
+ * total order shared by every caller and therefore deadlock free.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class BalanceEngineImpl implements BalanceEngine {
+
+    public static final int LOCK_STRIPES = 1024;
+
+    private final AccountRepository accountRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final StripedLock accountLocks = new StripedLock(LOCK_STRIPES);
+
+    @Override
+    public void withLockedAccount(String accountNumber, Consumer<Account> mutation) {
+        accountLocks.runLocked(() -> transactionTemplate.executeWithoutResult(status -> {
+            mutation.accept(lockAccount(accountNumber));
+        }), accountNumber);
+    }
+
+    @Override
+    public void withLockedAccounts(String firstAccountNumber, String secondAccountNumber,
+            BiConsumer<Account, Account> mutation) {
+        accountLocks.runLocked(() -> transactionTemplate.executeWithoutResult(status -> {
+            Account first;
+            Account second;
+
+            if (firstAccountNumber != null && firstAccountNumber.equals(secondAccountNumber)) {
+                first = lockAccount(firstAccountNumber);
+                second = first;
+            } else if (lockFirstBeforeSecond(firstAccountNumber, secondAccountNumber)) {
+                first = lockAccount(firstAccountNumber);
+                second = lockAccount(secondAccountNumber);
+            } else {
+                second = lockAccount(secondAccountNumber);
+                first = lockAccount(firstAccountNumber);
+            }
+
+            mutation.accept(first, second);
+        }), firstAccountNumber, secondAccountNumber);
+    }
+
+    private Account lockAccount(String accountNumber) {
+        if (accountNumber == null) {
+            return null;
+        }
+
+        return accountRepository.findByAccountNumberForUpdate(accountNumber);
+    }
+
+    private static boolean lockFirstBeforeSecond(String first, String second) {
+        if (first == null || second == null) {
+            return second != null;
+        }
+
+        return first.compareTo(second) < 0;
+    }
+
+}
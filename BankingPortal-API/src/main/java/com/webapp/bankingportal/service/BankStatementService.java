@@ -0,0 +1,15 @@
+package com.webapp.bankingportal.service;
+
+import com.webapp.bankingportal.dto.StatementFormat;
+import com.webapp.bankingportal.entity.StatementJob;
+
+public interface BankStatementService {
+
+    public StatementJob createJob(String accountNumber, StatementFormat format);
+
+    public StatementJob getJob(String jobId);
+
+    public void generateAndSend(StatementJob job);
+
+    public void reject(StatementJob job);
+}
@@ -0,0 +1,198 @@
+package com.webapp.bankingportal.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.UUID;
+
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import com.webapp.bankingportal.config.AsyncConfig;
+import com.webapp.bankingportal.dto.StatementFormat;
+import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.entity.StatementJob;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.StatementJobRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.KeysetCursor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Renders bank statements off the request thread. Transactions are read in
+ * keyset-paged chunks and written straight to a temporary file, so peak heap
+ * is bounded by {@link #CHUNK_SIZE} no matter how long the history is.
+ *
+ * <p>Job state lives in {@code statement_job}, so any replica can answer a
+ * status poll for a job another replica is running.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BankStatementServiceImpl implements BankStatementService {
+
+    public static final int CHUNK_SIZE = 500;
+    public static final int JOB_RETENTION_HOURS = 1;
+
+    private final TransactionHistoryReader transactionHistoryReader;
+    private final AccountRepository accountRepository;
+    private final StatementJobRepository statementJobRepository;
+    private final EmailService emailService;
+
+    @Override
+    public StatementJob createJob(String accountNumber, StatementFormat format) {
+        return statementJobRepository.save(new StatementJob(UUID.randomUUID().toString(), accountNumber, format));
+    }
+
+    @Override
+    public StatementJob getJob(String jobId) {
+        return statementJobRepository.findByJobId(jobId);
+    }
+
+    @Override
+    @Async(AsyncConfig.STATEMENT_EXECUTOR)
+    public void generateAndSend(StatementJob job) {
+        job.setStatus(StatementJob.Status.RUNNING);
+        statementJobRepository.updateProgress(job.getJobId(), job.getStatus(), 0);
+        Path file = null;
+
+        try {
+            val account = accountRepository.findByAccountNumber(job.getAccountNumber());
+            if (account == null || account.getUser() == null) {
+                throw new IllegalStateException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
+            }
+
+            file = Files.createTempFile("statement-" + job.getAccountNumber() + "-",
+                    "." + job.getFormat().getExtension());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writeStatement(job, writer);
+            }
+
+            val user = account.getUser();
+            val body = emailService.getBankStatementEmailTemplate(user.getName(),
+                    String.format("Your statement for account %s is attached (%d transactions).",
+                            job.getAccountNumber(), job.getTransactionCount()));
+            emailService.sendEmailWithAttachment(user.getEmail(), "Your Bank Statement", body, file.toString());
+
+            job.setStatus(StatementJob.Status.SENT);
+            log.info("Sent {} statement with {} transactions for account {}",
+                    job.getFormat(), job.getTransactionCount(), job.getAccountNumber());
+
+        } catch (Exception e) {
+            log.error("Failed to generate statement {} for account {}", job.getJobId(), job.getAccountNumber(), e);
+            job.setError(describe(e));
+            job.setStatus(StatementJob.Status.FAILED);
+
+        } finally {
+            job.setCompletedAt(new Date());
+            statementJobRepository.complete(job.getJobId(), job.getStatus(), job.getTransactionCount(),
+                    job.getCompletedAt(), job.getError());
+            deleteQuietly(file);
+        }
+    }
+
+    @Override
+    public void reject(StatementJob job) {
+        job.setStatus(StatementJob.Status.REJECTED);
+        job.setError(ApiMessages.STATEMENT_QUEUE_FULL_ERROR.getMessage());
+        job.setCompletedAt(new Date());
+        statementJobRepository.complete(job.getJobId(), job.getStatus(), 0, job.getCompletedAt(), job.getError());
+    }
+
+    private void writeStatement(StatementJob job, BufferedWriter writer) throws IOException {
+        val html = job.getFormat() == StatementFormat.HTML;
+        if (html) {
+            writer.write("<html><body><h2>Bank Statement for Account: ");
+            writer.write(HtmlUtils.htmlEscape(job.getAccountNumber()));
+            writer.write("</h2><table border=\"1\" cellpadding=\"4\"><tr><th>Id</th><th>Date</th>"
+                    + "<th>Type</th><th>Amount</th><th>Source</th><th>Target</th></tr>\n");
+        } else {
+            writer.write("id,date,type,amount,source_account,target_account\n");
+        }
+
+        KeysetCursor cursor = null;
+        long count = 0;
+        while (true) {
+            val chunk = transactionHistoryReader.findPage(job.getAccountNumber(), cursor, CHUNK_SIZE);
+            for (TransactionDTO transaction : chunk) {
+                if (html) {
+                    writeHtmlRow(writer, transaction);
+                } else {
+                    writeCsvRow(writer, transaction);
+                }
+            }
+            count += chunk.size();
+            job.setTransactionCount(count);
+            statementJobRepository.updateProgress(job.getJobId(), job.getStatus(), count);
+
+            if (chunk.size() < CHUNK_SIZE) {
+                break;
+            }
+            val last = chunk.get(chunk.size() - 1);
+            cursor = KeysetCursor.of(last.getTransactionDate(), last.getId());
+        }
+
+        if (html) {
+            writer.write("</table></body></html>\n");
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, TransactionDTO transaction) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(transaction.getTransactionDate().toInstant().toString());
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getTransactionType()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getAmount()));
+        writer.write(',');
+        writer.write(transaction.getSourceAccountNumber());
+        writer.write(',');
+        writer.write(transaction.getTargetAccountNumber());
+        writer.write('\n');
+    }
+
+    private static void writeHtmlRow(Writer writer, TransactionDTO transaction) throws IOException {
+        writer.write("<tr><td>");
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write("</td><td>");
+        writer.write(transaction.getTransactionDate().toInstant().toString());
+        writer.write("</td><td>");
+        writer.write(String.valueOf(transaction.getTransactionType()));
+        writer.write("</td><td>");
+        writer.write(String.valueOf(transaction.getAmount()));
+        writer.write("</td><td>");
+        writer.write(HtmlUtils.htmlEscape(transaction.getSourceAccountNumber()));
+        writer.write("</td><td>");
+        writer.write(HtmlUtils.htmlEscape(transaction.getTargetAccountNumber()));
+        writer.write("</td></tr>\n");
+    }
+
+    private static String describe(Exception e) {
+        val message = String.valueOf(e.getMessage());
+        return message.length() > StatementJob.MAX_ERROR_LENGTH
+                ? message.substring(0, StatementJob.MAX_ERROR_LENGTH)
+                : message;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary statement file {}", file, e);
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Pending registrations held in this JVM. Only correct with a single replica:
+ * a confirm-otp request that lands on another pod will not find the entry.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "registration.pending.store", havingValue = "memory")
+public class CaffeinePendingRegistrationStore implements PendingRegistrationStore {
+
+    @Value("${registration.pending.max-entries:10000}")
+    private long maxEntries;
+
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, Entry> entries;
+
+    @PostConstruct
+    void init() {
+        val evictedBySize = meterRegistry.counter("registration.pending.evictions", "cause", "size");
+        val evictedByExpiry = meterRegistry.counter("registration.pending.evictions", "cause", "expired");
+
+        entries = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(OtpServiceImpl.OTP_EXPIRY_MINUTES))
+                .maximumSize(maxEntries)
+                // Listener work is a counter increment; run it inline so the
+                // counts are exact when read.
+                .executor(Runnable::run)
+                .removalListener((String email, Entry entry, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictedBySize.increment();
+                    } else if (cause == RemovalCause.EXPIRED) {
+                        evictedByExpiry.increment();
+                    }
+                })
+                .build();
+
+        Gauge.builder("registration.pending.size", entries, Cache::estimatedSize)
+                .description("Registrations waiting for OTP confirmation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void save(Entry entry) {
+        entries.put(entry.email(), entry);
+    }
+
+    @Override
+    public Optional<Entry> find(String email) {
+        return Optional.ofNullable(entries.getIfPresent(email)).filter(this::isLive);
+    }
+
+    @Override
+    public Optional<Entry> remove(String email) {
+        return Optional.ofNullable(entries.asMap().remove(email)).filter(this::isLive);
+    }
+
+    @Override
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private boolean isLive(Entry entry) {
+        return entry.expiresAt().isAfter(LocalDateTime.now());
+    }
+
+}
@@ -1,13 +1,12 @@
 package com.webapp.bankingportal.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.webapp.bankingportal.dto.AccountProfile;
 import com.webapp.bankingportal.dto.AccountResponse;
 import com.webapp.bankingportal.dto.UserResponse;
 import com.webapp.bankingportal.exception.NotFoundException;
 import com.webapp.bankingportal.repository.AccountRepository;
-import com.webapp.bankingportal.repository.UserRepository;
 import com.webapp.bankingportal.util.ApiMessages;
 
 import lombok.RequiredArgsConstructor;
@@ -16,28 +15,32 @@ import lombok.val;
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
-@Autowired
-    private final UserRepository userRepository;
-@Autowired
+
+    private final AccountProfileService accountProfileService;
     private final AccountRepository accountRepository;
 
     @Override
     public UserResponse getUserDetails(String accountNumber) {
-        val user = userRepository.findByAccountAccountNumber(accountNumber)
-                .orElseThrow(() -> new NotFoundException(
-                        String.format(ApiMessages.USER_NOT_FOUND_BY_ACCOUNT.getMessage(), accountNumber)));
-
-        return new UserResponse(user);
+        return new UserResponse(getProfile(accountNumber));
     }
 
     @Override
     public AccountResponse getAccountDetails(String accountNumber) {
-        val account = accountRepository.findByAccountNumber(accountNumber);
-        if (account == null) {
-            throw new NotFoundException(String.format(ApiMessages.USER_NOT_FOUND_BY_ACCOUNT.getMessage(), accountNumber));
-        }
+        val profile = getProfile(accountNumber);
+        // The balance is never cached; read just that column.
+        val balance = accountRepository.findBalanceByAccountNumber(accountNumber)
+                .orElseThrow(() -> notFound(accountNumber));
+
+        return new AccountResponse(profile, balance);
+    }
+
+    private AccountProfile getProfile(String accountNumber) {
+        return accountProfileService.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> notFound(accountNumber));
+    }
 
-        return new AccountResponse(account);
+    private static NotFoundException notFound(String accountNumber) {
+        return new NotFoundException(String.format(ApiMessages.USER_NOT_FOUND_BY_ACCOUNT.getMessage(), accountNumber));
     }
 
 }
@@ -0,0 +1,63 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.entity.OtpRateLimit;
+import com.webapp.bankingportal.repository.OtpRateLimitRepository;
+
+import lombok.val;
+
+/**
+ * Token buckets in the {@code otp_rate_limit} table, so the limit holds across
+ * every replica. The common path is one conditional UPDATE; a first request
+ * for an account adds one INSERT.
+ */
+@Service
+@ConditionalOnProperty(name = "otp.rate-limiter.store", havingValue = "database", matchIfMissing = true)
+public class DatabaseOtpRateLimiter implements OtpRateLimiter {
+
+    private final OtpRateLimitRepository otpRateLimitRepository;
+    private final int capacity;
+    private final double refillPerMilli;
+
+    public DatabaseOtpRateLimiter(OtpRateLimitRepository otpRateLimitRepository) {
+        this.otpRateLimitRepository = otpRateLimitRepository;
+        this.capacity = OtpServiceImpl.OTP_ATTEMPTS_LIMIT;
+        this.refillPerMilli = (double) capacity
+                / Duration.ofMinutes(OtpServiceImpl.OTP_RETRY_LIMIT_WINDOW_MINUTES).toMillis();
+    }
+
+    @Override
+    public Result tryAcquire(String accountNumber) {
+        val now = System.currentTimeMillis();
+        if (otpRateLimitRepository.tryConsume(accountNumber, capacity, refillPerMilli, now) > 0) {
+            return Result.ALLOWED;
+        }
+
+        val bucket = otpRateLimitRepository.findById(accountNumber);
+        if (bucket.isEmpty()) {
+            try {
+                otpRateLimitRepository.insert(accountNumber, capacity - 1, now);
+                return Result.ALLOWED;
+            } catch (DataIntegrityViolationException e) {
+                // Another node created the row first; compete for its tokens.
+                return otpRateLimitRepository.tryConsume(accountNumber, capacity, refillPerMilli, now) > 0
+                        ? Result.ALLOWED
+                        : retryAfter(otpRateLimitRepository.findById(accountNumber).orElseThrow(), now);
+            }
+        }
+
+        return retryAfter(bucket.get(), now);
+    }
+
+    private Result retryAfter(OtpRateLimit bucket, long now) {
+        val tokens = Math.min(capacity,
+                bucket.getTokens() + Math.max(0, now - bucket.getUpdatedAt()) * refillPerMilli);
+        return Result.limited(Duration.ofMillis((long) Math.ceil(Math.max(0, 1 - tokens) / refillPerMilli)));
+    }
+
+}
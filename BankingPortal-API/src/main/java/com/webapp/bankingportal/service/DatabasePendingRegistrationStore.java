@@ -0,0 +1,191 @@
+package com.webapp.bankingportal.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.webapp.bankingportal.entity.PendingRegistration;
+import com.webapp.bankingportal.entity.User;
+import com.webapp.bankingportal.repository.PendingRegistrationRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pending registrations in the {@code pending_registration} table, so the OTP
+ * can be confirmed on any pod.
+ *
+ * The user details are AES-GCM encrypted with a key derived from
+ * {@code registration.pending.secret} (by default the JWT secret, which every
+ * pod already shares), so the table never holds a readable password. Expired
+ * rows are deleted by {@link ExpiredDataPurgeService}; when the table is full
+ * a save first drops expired rows and then the entry closest to expiry.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "registration.pending.store", havingValue = "database", matchIfMissing = true)
+public class DatabasePendingRegistrationStore implements PendingRegistrationStore {
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+
+    private record Payload(String name, String password, String email, String countryCode, String phoneNumber,
+            String address) {
+    }
+
+    @Value("${registration.pending.max-entries:10000}")
+    private long maxEntries;
+
+    @Value("${registration.pending.secret:${jwt.secret}}")
+    private String secret;
+
+    private final PendingRegistrationRepository pendingRegistrationRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final SecureRandom random = new SecureRandom();
+    private SecretKeySpec key;
+    private Counter evictedBySize;
+    private Counter evictedByExpiry;
+
+    @PostConstruct
+    void init() throws NoSuchAlgorithmException {
+        val digest = MessageDigest.getInstance("SHA-256")
+                .digest(("pending-registration:" + secret).getBytes(StandardCharsets.UTF_8));
+        key = new SecretKeySpec(digest, "AES");
+
+        evictedBySize = meterRegistry.counter("registration.pending.evictions", "cause", "size");
+        evictedByExpiry = meterRegistry.counter("registration.pending.evictions", "cause", "expired");
+        Gauge.builder("registration.pending.size", this, PendingRegistrationStore::size)
+                .description("Registrations waiting for OTP confirmation")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void save(Entry entry) {
+        makeRoom(entry.email());
+
+        val payload = encrypt(entry.user());
+        try {
+            pendingRegistrationRepository.saveAndFlush(toEntity(entry, payload));
+        } catch (DataIntegrityViolationException e) {
+            // Another pod inserted the same email concurrently; overwrite it.
+            pendingRegistrationRepository.saveAndFlush(toEntity(entry, payload));
+        }
+    }
+
+    @Override
+    public Optional<Entry> find(String email) {
+        return pendingRegistrationRepository.findByEmail(email)
+                .filter(row -> row.getExpiresAt().isAfter(LocalDateTime.now()))
+                .flatMap(this::toEntry);
+    }
+
+    @Override
+    public Optional<Entry> remove(String email) {
+        val row = pendingRegistrationRepository.findByEmail(email);
+        if (row.isEmpty() || pendingRegistrationRepository.removeById(row.get().getId()) == 0) {
+            return Optional.empty();
+        }
+
+        return row.filter(removed -> removed.getExpiresAt().isAfter(LocalDateTime.now()))
+                .flatMap(this::toEntry);
+    }
+
+    @Override
+    public long size() {
+        return pendingRegistrationRepository.countByExpiresAtAfter(LocalDateTime.now());
+    }
+
+    private void makeRoom(String email) {
+        if (pendingRegistrationRepository.count() < maxEntries
+                || pendingRegistrationRepository.findByEmail(email).isPresent()) {
+            return;
+        }
+
+        evictedByExpiry.increment(pendingRegistrationRepository.deleteExpired(LocalDateTime.now()));
+        if (pendingRegistrationRepository.count() < maxEntries) {
+            return;
+        }
+
+        pendingRegistrationRepository.findFirstByOrderByExpiresAtAsc()
+                .filter(oldest -> pendingRegistrationRepository.removeById(oldest.getId()) > 0)
+                .ifPresent(oldest -> evictedBySize.increment());
+    }
+
+    private PendingRegistration toEntity(Entry entry, byte[] payload) {
+        val row = pendingRegistrationRepository.findByEmail(entry.email()).orElseGet(PendingRegistration::new);
+        row.setEmail(entry.email());
+        row.setOtp(entry.otp());
+        row.setPayload(payload);
+        row.setExpiresAt(entry.expiresAt());
+        return row;
+    }
+
+    private Optional<Entry> toEntry(PendingRegistration row) {
+        try {
+            return Optional.of(new Entry(row.getEmail(), row.getOtp(), decrypt(row.getPayload()), row.getExpiresAt()));
+        } catch (GeneralSecurityException | IOException e) {
+            // Written under a different secret; treat it as expired.
+            log.warn("Discarding unreadable pending registration for {}", row.getEmail());
+            return Optional.empty();
+        }
+    }
+
+    private byte[] encrypt(User user) {
+        try {
+            val json = objectMapper.writeValueAsBytes(new Payload(user.getName(), user.getPassword(), user.getEmail(),
+                    user.getCountryCode(), user.getPhoneNumber(), user.getAddress()));
+
+            val iv = new byte[IV_BYTES];
+            random.nextBytes(iv);
+            val cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, iv));
+            val encrypted = cipher.doFinal(json);
+
+            return ByteBuffer.allocate(IV_BYTES + encrypted.length).put(iv).put(encrypted).array();
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Failed to encrypt pending registration", e);
+        }
+    }
+
+    private User decrypt(byte[] data) throws GeneralSecurityException, IOException {
+        val cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, data, 0, IV_BYTES));
+        val payload = objectMapper.readValue(cipher.doFinal(data, IV_BYTES, data.length - IV_BYTES), Payload.class);
+
+        val user = new User();
+        user.setName(payload.name());
+        user.setPassword(payload.password());
+        user.setEmail(payload.email());
+        user.setCountryCode(payload.countryCode());
+        user.setPhoneNumber(payload.phoneNumber());
+        user.setAddress(payload.address());
+        return user;
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.webapp.bankingportal.service;
+
+public interface EmailOutboxService {
+
+    /**
+     * Records an email for delivery in the caller's transaction, if any. A
+     * second call with the same {@code messageKey} is ignored.
+     */
+    public void enqueue(String messageKey, String to, String subject, String text);
+
+    /**
+     * Sends due emails in batches. Runs on a schedule on one replica at a time;
+     * exposed so tests can drive it.
+     */
+    public void dispatch();
+}
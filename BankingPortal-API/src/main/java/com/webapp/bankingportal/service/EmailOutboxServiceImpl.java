@@ -0,0 +1,239 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.dto.EmailMessage;
+import com.webapp.bankingportal.entity.EmailOutbox;
+import com.webapp.bankingportal.entity.EmailOutboxStatus;
+import com.webapp.bankingportal.repository.EmailOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One replica at a time, elected through {@link SchedulerLockService}, drains
+ * due rows in batches of {@code email.outbox.batch-size}. Each batch goes out
+ * over a single SMTP connection, and the result of every message is then
+ * recorded in one transaction.
+ *
+ * <p>Before a batch is sent its rows are claimed: their next attempt moves
+ * {@code email.outbox.claim-ms} into the future, so a replica that takes over
+ * after the lease runs out skips them. Delivery is at least once: if the
+ * process dies between the SMTP send and the status update, the batch is
+ * sent again once the claim expires. A failed message is
+ * retried after {@code backoff-initial-ms * 2^(attempts - 1)}, capped at
+ * {@code backoff-max-ms}, and is marked FAILED after {@code max-attempts}.
+ *
+ * <p>Metrics: {@code email.outbox.messages{state}} (row counts, refreshed
+ * after each run), {@code email.outbox.sent}, {@code email.outbox.retried},
+ * {@code email.outbox.dead}, {@code email.outbox.deduplicated} and
+ * {@code email.outbox.batch.latency}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    public static final String LOCK_NAME = "email-outbox";
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.backoff-initial-ms:5000}")
+    private long backoffInitialMs;
+
+    @Value("${email.outbox.backoff-max-ms:3600000}")
+    private long backoffMaxMs;
+
+    @Value("${email.outbox.lease-ms:60000}")
+    private long leaseMs;
+
+    // Must comfortably exceed the time to send one batch.
+    @Value("${email.outbox.claim-ms:300000}")
+    private long claimMs;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final SchedulerLockService schedulerLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    // Keeps the scheduled run and a manual call on this pod from overlapping.
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+    private final Map<EmailOutboxStatus, AtomicLong> stateCounts = new EnumMap<>(EmailOutboxStatus.class);
+
+    private Counter sentCounter;
+    private Counter retriedCounter;
+    private Counter deadCounter;
+    private Counter deduplicatedCounter;
+    private Timer batchTimer;
+
+    @PostConstruct
+    void init() {
+        for (val status : EmailOutboxStatus.values()) {
+            val count = new AtomicLong();
+            stateCounts.put(status, count);
+            Gauge.builder("email.outbox.messages", count, AtomicLong::get)
+                    .description("Outbox rows by delivery state")
+                    .tag("state", status.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+
+        sentCounter = meterRegistry.counter("email.outbox.sent");
+        retriedCounter = meterRegistry.counter("email.outbox.retried");
+        deadCounter = meterRegistry.counter("email.outbox.dead");
+        deduplicatedCounter = meterRegistry.counter("email.outbox.deduplicated");
+        batchTimer = Timer.builder("email.outbox.batch.latency")
+                .description("SMTP time to send one outbox batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public void enqueue(String messageKey, String to, String subject, String text) {
+        if (emailOutboxRepository.existsByMessageKey(messageKey)) {
+            deduplicatedCounter.increment();
+            return;
+        }
+
+        emailOutboxRepository.save(new EmailOutbox(messageKey, to, subject, text));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        if (!dispatching.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            if (!schedulerLockService.tryAcquire(LOCK_NAME, Duration.ofMillis(leaseMs))) {
+                return;
+            }
+
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                val batch = claimDue();
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                sendBatch(batch);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+
+            refreshStateCounts();
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    private List<EmailOutbox> claimDue() {
+        return transactionTemplate.execute(status -> {
+            val now = LocalDateTime.now();
+            val ids = emailOutboxRepository.findDue(now, PageRequest.ofSize(batchSize)).stream()
+                    .map(EmailOutbox::getId)
+                    .toList();
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+
+            val claimedBy = UUID.randomUUID().toString();
+            emailOutboxRepository.claim(ids, claimedBy, now, now.plus(Duration.ofMillis(claimMs)));
+            return emailOutboxRepository.findAllById(ids).stream()
+                    .filter(row -> claimedBy.equals(row.getClaimedBy()))
+                    .toList();
+        });
+    }
+
+    private void sendBatch(List<EmailOutbox> batch) {
+        val messages = batch.stream()
+                .map(row -> new EmailMessage(row.getMessageKey(), row.getRecipient(), row.getSubject(), row.getBody()))
+                .toList();
+
+        Map<String, Exception> failures;
+        try {
+            failures = batchTimer.recordCallable(() -> emailService.sendBatch(messages));
+        } catch (Exception e) {
+            log.error("Failed to send outbox batch of {}", batch.size(), e);
+            failures = new HashMap<>();
+            for (val row : batch) {
+                failures.put(row.getMessageKey(), e);
+            }
+        }
+
+        val now = LocalDateTime.now();
+        for (val row : batch) {
+            row.setAttempts(row.getAttempts() + 1);
+            val failure = failures.get(row.getMessageKey());
+            if (failure == null) {
+                row.setStatus(EmailOutboxStatus.SENT);
+                row.setSentAt(now);
+                row.setLastError(null);
+                sentCounter.increment();
+            } else if (row.getAttempts() >= maxAttempts) {
+                row.setStatus(EmailOutboxStatus.FAILED);
+                row.setLastError(describe(failure));
+                deadCounter.increment();
+                log.error("Giving up on email {} to {} after {} attempts", row.getMessageKey(), row.getRecipient(),
+                        row.getAttempts());
+            } else {
+                row.setNextAttemptAt(now.plus(backoff(row.getAttempts())));
+                row.setLastError(describe(failure));
+                retriedCounter.increment();
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> emailOutboxRepository.saveAll(batch));
+    }
+
+    private Duration backoff(int attempts) {
+        val shift = Math.min(attempts - 1, 30);
+        return Duration.ofMillis(Math.min(backoffMaxMs, backoffInitialMs << shift));
+    }
+
+    private void refreshStateCounts() {
+        stateCounts.values().forEach(count -> count.set(0));
+        for (val row : emailOutboxRepository.countByStatus()) {
+            stateCounts.get((EmailOutboxStatus) row[0]).set((Long) row[1]);
+        }
+    }
+
+    private static String describe(Exception e) {
+        val message = String.valueOf(e.getMessage());
+        return message.length() > EmailOutbox.MAX_ERROR_LENGTH
+                ? message.substring(0, EmailOutbox.MAX_ERROR_LENGTH)
+                : message;
+    }
+
+}
@@ -1,17 +1,36 @@
 package com.webapp.bankingportal.service;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
-import org.springframework.scheduling.annotation.Async;
+import com.webapp.bankingportal.dto.EmailMessage;
 
 public interface EmailService {
 
-    @Async
-    public CompletableFuture<Void> sendEmail(String to, String subject, String text);
+    /**
+     * Sends the messages over one SMTP connection, on the calling thread.
+     *
+     * @return the failed messages' keys with their cause; empty if all were sent
+     */
+    public Map<String, Exception> sendBatch(List<EmailMessage> messages);
+
+    public void sendEmailWithAttachment(String to, String subject, String text, String attachmentFilePath);
+
+    /*
+     * Template bodies are rendered in English unless a locale is given. Every
+     * argument is HTML-escaped.
+     */
 
     public String getLoginEmailTemplate(String name, String loginTime, String loginLocation);
 
+    public String getLoginEmailTemplate(String name, String loginTime, String loginLocation, Locale locale);
+
     public String getOtpLoginEmailTemplate(String name, String accountNumber, String otp);
 
+    public String getOtpLoginEmailTemplate(String name, String accountNumber, String otp, Locale locale);
+
     public String getBankStatementEmailTemplate(String name, String statementText);
+
+    public String getBankStatementEmailTemplate(String name, String statementText, Locale locale);
 }
@@ -1,15 +1,25 @@
 package com.webapp.bankingportal.service;
 
 import java.io.File;
-import java.util.concurrent.CompletableFuture;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import org.springframework.mail.MailException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.webapp.bankingportal.dto.EmailMessage;
+import com.webapp.bankingportal.template.EmailTemplateEngine;
+
 import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -18,101 +28,92 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class EmailServiceImpl implements EmailService {
 
+    private static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
+
     private final JavaMailSender mailSender;
+    private final EmailTemplateEngine templateEngine;
 
-    public EmailServiceImpl(JavaMailSender mailSender) {
+    public EmailServiceImpl(JavaMailSender mailSender, EmailTemplateEngine templateEngine) {
         this.mailSender = mailSender;
+        this.templateEngine = templateEngine;
     }
 
     @Override
-    @Async
-    public CompletableFuture<Void> sendEmail(String to, String subject, String text) {
-        val future = new CompletableFuture<Void>();
-
-        try {
-            val message = mailSender.createMimeMessage();
-            val helper = new MimeMessageHelper(message, true);
-            helper.setTo(to);
-            // From address is automatically set by Spring Boot based on your properties
-            helper.setSubject(subject);
-            helper.setText(text, true); // Set the second parameter to true to send HTML content
-            mailSender.send(message);
+    public Map<String, Exception> sendBatch(List<EmailMessage> messages) {
+        val failures = new HashMap<String, Exception>();
+        val keys = new IdentityHashMap<MimeMessage, String>();
+        val mimeMessages = new ArrayList<MimeMessage>(messages.size());
+
+        for (val message : messages) {
+            try {
+                val mimeMessage = mailSender.createMimeMessage();
+                val helper = new MimeMessageHelper(mimeMessage, true);
+                helper.setTo(message.to());
+                helper.setSubject(message.subject());
+                helper.setText(message.text(), true);
+                keys.put(mimeMessage, message.key());
+                mimeMessages.add(mimeMessage);
+            } catch (MessagingException e) {
+                failures.put(message.key(), e);
+            }
+        }
 
-            log.info("Sent email to {}", to);
-            future.complete(null);
+        if (mimeMessages.isEmpty()) {
+            return failures;
+        }
 
-        } catch (MessagingException | MailException e) {
-            log.error("Failed to send email to {}", to, e);
-            future.completeExceptionally(e);
+        try {
+            // JavaMailSender sends an array over a single connection. Opening
+            // one per batch rather than keeping a Transport open between polls
+            // spreads the handshake over up to email.outbox.batch-size messages
+            // and never sends on a connection the server has dropped as idle.
+            mailSender.send(mimeMessages.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                keys.values().forEach(key -> failures.put(key, e));
+            }
+            e.getFailedMessages().forEach((failed, cause) -> failures.put(keys.get(failed), cause));
+        } catch (MailException e) {
+            keys.values().forEach(key -> failures.put(key, e));
         }
 
-        return future;
+        log.info("Sent {} of {} emails in batch", messages.size() - failures.size(), messages.size());
+        return failures;
     }
 
     @Override
     public String getLoginEmailTemplate(String name, String loginTime, String loginLocation) {
-        return "<div style=\"font-family: Helvetica, Arial, sans-serif; min-width: 320px; max-width: 1000px; margin: 0 auto; overflow: auto; line-height: 2; background-color: #f1f1f1; padding: 20px;\">"
-                + "<div style=\"margin: 50px auto; width: 100%; max-width: 600px; padding: 20px; background-color: #ffffff; border-radius: 8px; box-shadow: 0 0 20px rgba(0, 0, 0, 0.1);\">"
-                + "<div style=\"border-bottom: 1px solid #ddd; padding-bottom: 10px; text-align: center;\">"
-                + "<a href=\"https://onestopbank.netlify.app/\" style=\"text-decoration: none;\">"
-                + "<img src=\"https://onestopbank.netlify.app/assets/onestoplogo.jpg\" alt=\"OneStopBank\" style=\"height: 50px; margin-bottom: 10px;\">"
-                + "</a>" + "<h1 style=\"font-size: 1.8em; color: #3f51b5; margin: 10px 0;\">OneStopBank</h1>" + "</div>"
-                + "<div style=\"padding: 20px;\">" + "<p style=\"font-size: 1.2em; color: #333;\">Hi, " + name + ",</p>"
-                + "<p style=\"font-size: 1em; color: #333;\">A login attempt was made on your account at:</p>"
-                + "<p style=\"font-size: 1em; color: #555;\">Time: <strong style=\"color: #3f51b5;\">" + loginTime
-                + "</strong></p>"
-                + "<p style=\"font-size: 1em; color: #555;\">Location: <strong style=\"color: #3f51b5;\">"
-                + loginLocation + "</strong></p>"
-                + "<p style=\"font-size: 1em; color: #333;\">If this was you, no further action is required. If you suspect any unauthorized access, please change your password immediately and contact our support team.</p>"
-                + "<p style=\"font-size: 1em; color: #555;\">Regards,<br />The OneStopBank Team</p>" + "</div>"
-                + "<hr style=\"border: none; border-top: 1px solid #ddd; margin: 20px 0;\" />"
-                + "<div style=\"text-align: center; font-size: 0.9em; color: #888;\">"
-                + "<p>Need help? Contact our support team:</p>"
-                + "<p>Email: <a href=\"mailto:onestopbank@google.com\" style=\"color: #3f51b5; text-decoration: none;\">onestopbank@google.com</a></p>"
-                + "<div style=\"margin-top: 20px;\">"
-                + "<p style=\"font-size: 1em; color: #333;\">Show your support here ❤️</p>"
-                + "<a href=\"https://github.com/abhi9720/BankingPortal-API\" style=\"margin: 0 10px; color: #3f51b5; text-decoration: none;\">GitHub</a>"
-                + "</div>" + "</div>" + "</div>" + "</div>";
+        return getLoginEmailTemplate(name, loginTime, loginLocation, DEFAULT_LOCALE);
+    }
+
+    @Override
+    public String getLoginEmailTemplate(String name, String loginTime, String loginLocation, Locale locale) {
+        return templateEngine.render("login", locale,
+                Map.of("name", name, "loginTime", loginTime, "loginLocation", loginLocation));
     }
 
     @Override
     public String getOtpLoginEmailTemplate(String name, String accountNumber, String otp) {
-        return "<div style=\"font-family: Helvetica, Arial, sans-serif; min-width: 320px; max-width: 1000px; margin: 0 auto; overflow: auto; line-height: 2; background-color: #f1f1f1; padding: 20px;\">"
-                + "<div style=\"margin: 50px auto; width: 100%; max-width: 600px; padding: 20px; background-color: #ffffff; border-radius: 8px; box-shadow: 0 0 20px rgba(0, 0, 0, 0.1);\">"
-                + "<div style=\"border-bottom: 1px solid #ddd; padding-bottom: 10px; text-align: center;\">"
-                + "<a href=\"https://onestopbank.netlify.app/\" style=\"text-decoration: none;\">"
-                + "<img src=\"https://onestopbank.netlify.app/assets/onestoplogo.jpg\" alt=\"OneStopBank\" style=\"height: 50px; margin-bottom: 10px;\">"
-                + "</a>" + "<h1 style=\"font-size: 1.8em; color: #3f51b5; margin: 10px 0;\">OneStopBank</h1>" + "</div>"
-                + "<div style=\"padding: 20px;\">" + "<p style=\"font-size: 1.2em; color: #333;\">Hi, " + name + ",</p>"
-                + "<p style=\"font-size: 1em; color: #555;\">Account Number: <strong style=\"color: #3f51b5;\">"
-                + accountNumber + "</strong></p>"
-                + "<p style=\"font-size: 1em; color: #333;\">Thank you for choosing OneStopBank. Use the following OTP to complete your login procedures. The OTP is valid for "
-                + OtpServiceImpl.OTP_EXPIRY_MINUTES + " minutes:</p>"
-                + "<h2 style=\"background: #3f51b5; margin: 20px 0; width: max-content; padding: 10px 20px; color: #fff; border-radius: 4px;\">"
-                + otp + "</h2>" + "<p style=\"font-size: 1em; color: #555;\">Regards,<br />The OneStopBank Team</p>"
-                + "</div>" + "<hr style=\"border: none; border-top: 1px solid #ddd; margin: 20px 0;\" />"
-                + "<div style=\"text-align: center; font-size: 0.9em; color: #888;\">"
-                + "<p>Need help? Contact our support team:</p>"
-                + "<p>Email: <a href=\"mailto:onestopbank@google.com\" style=\"color: #3f51b5; text-decoration: none;\">onestopbank@google.com</a></p>"
-                + "<div style=\"margin-top: 20px;\">"
-                + "<p style=\"font-size: 1em; color: #333;\">Show your support here ❤️</p>"
-                + "<a href=\"https://github.com/abhi9720/BankingPortal-API\" style=\"margin: 0 10px; color: #3f51b5; text-decoration: none;\">GitHub</a>"
-                + "</div>" + "</div>" + "</div>" + "</div>";
+        return getOtpLoginEmailTemplate(name, accountNumber, otp, DEFAULT_LOCALE);
+    }
+
+    @Override
+    public String getOtpLoginEmailTemplate(String name, String accountNumber, String otp, Locale locale) {
+        return templateEngine.render("otp", locale, Map.of("name", name, "accountNumber", accountNumber, "otp", otp,
+                "expiryMinutes", OtpServiceImpl.OTP_EXPIRY_MINUTES));
     }
 
     @Override
     public String getBankStatementEmailTemplate(String name, String statementText) {
-         return "<div style=\"font-family: Arial, sans-serif; padding: 20px;\">" +
-                "<h2>Bank Statement</h2>" +
-                "<p>Dear " + name + ",</p>" +
-                "<p>Here is your latest bank statement:</p>" +
-                "<pre style=\"background: #f4f4f4; padding: 10px; border-radius: 5px;\">" +
-                statementText +
-                "</pre>" +
-                "<p>Regards,<br/>OneStopBank Team</p>" +
-                "</div>";
+        return getBankStatementEmailTemplate(name, statementText, DEFAULT_LOCALE);
     }
 
+    @Override
+    public String getBankStatementEmailTemplate(String name, String statementText, Locale locale) {
+        return templateEngine.render("statement", locale, Map.of("name", name, "statementText", statementText));
+    }
+
+    @Override
     public void sendEmailWithAttachment(String to, String subject, String text, String attachmentFilePath) {
         try {
             val message = mailSender.createMimeMessage();
@@ -126,10 +127,12 @@ public class EmailServiceImpl implements EmailService {
             helper.addAttachment(attachmentFile.getName(), attachmentFile);
 
             mailSender.send(message);
+            log.info("Sent email with attachment to {}", to);
+
         } catch (MessagingException e) {
             log.error("Failed to send email to {}", to, e);
+            throw new MailPreparationException(e);
         }
     }
 
-
 }
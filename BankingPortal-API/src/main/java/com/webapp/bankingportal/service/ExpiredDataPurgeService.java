@@ -0,0 +1,14 @@
+package com.webapp.bankingportal.service;
+
+/**
+ * Background sweeper for short-lived security rows: login tokens, OTPs,
+ * password reset tokens and token revocations.
+ */
+public interface ExpiredDataPurgeService {
+
+    /**
+     * Deletes expired rows in bounded chunks. Does nothing unless this replica
+     * holds the purge lease.
+     */
+    public void purgeExpired();
+}
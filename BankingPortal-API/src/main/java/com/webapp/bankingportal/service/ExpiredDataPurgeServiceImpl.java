@@ -0,0 +1,206 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.repository.AccountProfileInvalidationRepository;
+import com.webapp.bankingportal.repository.EmailOutboxRepository;
+import com.webapp.bankingportal.repository.OtpInfoRepository;
+import com.webapp.bankingportal.repository.PasswordResetTokenRepository;
+import com.webapp.bankingportal.repository.PendingRegistrationRepository;
+import com.webapp.bankingportal.repository.RevokedTokenRepository;
+import com.webapp.bankingportal.repository.StatementJobRepository;
+import com.webapp.bankingportal.repository.TokenRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Each chunk selects up to {@code purge.chunk-size} expired ids through the
+ * expiry index and deletes them by primary key in its own transaction, so no
+ * run holds locks on more than one chunk at a time.
+ *
+ * <p>Per table it exports {@code purge.rows.deleted} and
+ * {@code purge.lag.seconds}, the age of the oldest row that was already
+ * purgeable but is still present after the last run.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ExpiredDataPurgeServiceImpl implements ExpiredDataPurgeService {
+
+    public static final String LOCK_NAME = "expired-data-purge";
+
+    // OTP rows double as evidence for the retry limit, so they are kept for
+    // the whole retry window rather than just until the OTP expires.
+    public static final int OTP_RETENTION_MINUTES = Math.max(
+            OtpServiceImpl.OTP_EXPIRY_MINUTES, OtpServiceImpl.OTP_RETRY_LIMIT_WINDOW_MINUTES);
+
+    @Value("${purge.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${purge.max-chunks-per-run:200}")
+    private int maxChunksPerRun;
+
+    @Value("${purge.lease-ms:600000}")
+    private long leaseMs;
+
+    // Sent outbox rows are kept this long for troubleshooting; failed ones
+    // are never purged automatically.
+    @Value("${email.outbox.retention-hours:24}")
+    private long emailOutboxRetentionHours;
+
+    private final TokenRepository tokenRepository;
+    private final OtpInfoRepository otpInfoRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final PendingRegistrationRepository pendingRegistrationRepository;
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final AccountProfileInvalidationRepository accountProfileInvalidationRepository;
+    private final StatementJobRepository statementJobRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, AtomicLong> lagSeconds = new ConcurrentHashMap<>();
+
+    @Override
+    @Scheduled(fixedDelayString = "${purge.interval-ms:60000}", initialDelayString = "${purge.initial-delay-ms:60000}")
+    public void purgeExpired() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, Duration.ofMillis(leaseMs))) {
+            return;
+        }
+
+        val now = new Date();
+        val localNow = LocalDateTime.now();
+        val otpCutoff = localNow.minusMinutes(OTP_RETENTION_MINUTES);
+
+        purge("token",
+                page -> tokenRepository.findExpiredIds(now, page),
+                tokenRepository,
+                () -> toInstant(tokenRepository.findOldestExpiry(now)));
+
+        purge("otp_info",
+                page -> otpInfoRepository.findGeneratedBeforeIds(otpCutoff, page),
+                otpInfoRepository,
+                () -> toInstant(otpInfoRepository.findOldestGeneratedBefore(otpCutoff),
+                        Duration.ofMinutes(OTP_RETENTION_MINUTES)));
+
+        purge("passwordresettoken",
+                page -> passwordResetTokenRepository.findExpiredIds(localNow, page),
+                passwordResetTokenRepository,
+                () -> toInstant(passwordResetTokenRepository.findOldestExpiry(localNow), Duration.ZERO));
+
+        purge("revoked_token",
+                page -> revokedTokenRepository.findExpiredIds(now, page),
+                revokedTokenRepository,
+                () -> toInstant(revokedTokenRepository.findOldestExpiry(now)));
+
+        purge("pending_registration",
+                page -> pendingRegistrationRepository.findExpiredIds(localNow, page),
+                pendingRegistrationRepository,
+                () -> toInstant(pendingRegistrationRepository.findOldestExpiry(localNow), Duration.ZERO));
+
+        val emailOutboxCutoff = localNow.minusHours(emailOutboxRetentionHours);
+        purge("email_outbox",
+                page -> emailOutboxRepository.findSentBeforeIds(emailOutboxCutoff, page),
+                emailOutboxRepository,
+                () -> toInstant(emailOutboxRepository.findOldestSentBefore(emailOutboxCutoff),
+                        Duration.ofHours(emailOutboxRetentionHours)));
+
+        val invalidationRetention = Duration.ofMinutes(AccountProfileServiceImpl.INVALIDATION_RETENTION_MINUTES);
+        val invalidationCutoff = Date.from(now.toInstant().minus(invalidationRetention));
+        purge("account_profile_invalidation",
+                page -> accountProfileInvalidationRepository.findInvalidatedBeforeIds(invalidationCutoff, page),
+                accountProfileInvalidationRepository,
+                () -> toInstant(accountProfileInvalidationRepository.findOldestInvalidatedBefore(invalidationCutoff),
+                        invalidationRetention));
+
+        val statementJobRetention = Duration.ofHours(BankStatementServiceImpl.JOB_RETENTION_HOURS);
+        val statementJobCutoff = Date.from(now.toInstant().minus(statementJobRetention));
+        purge("statement_job",
+                page -> statementJobRepository.findCreatedBeforeIds(statementJobCutoff, page),
+                statementJobRepository,
+                () -> toInstant(statementJobRepository.findOldestCreatedBefore(statementJobCutoff),
+                        statementJobRetention));
+    }
+
+    /**
+     * @param oldestPurgeable when the oldest remaining purgeable row became
+     *                        purgeable, or {@code null} if there is none
+     */
+    private void purge(String table, Function<Pageable, List<Long>> expiredIds,
+            JpaRepository<?, Long> repository, Supplier<Instant> oldestPurgeable) {
+        val deleted = meterRegistry.counter("purge.rows.deleted", "table", table);
+        long total = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            val count = transactionTemplate.execute(status -> {
+                val ids = expiredIds.apply(PageRequest.ofSize(chunkSize));
+                if (!ids.isEmpty()) {
+                    repository.deleteAllByIdInBatch(ids);
+                }
+                return ids.size();
+            });
+
+            deleted.increment(count);
+            total += count;
+            if (count < chunkSize) {
+                break;
+            }
+        }
+
+        val oldest = oldestPurgeable.get();
+        val lag = oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).getSeconds());
+        lagGauge(table).set(lag);
+
+        if (total > 0) {
+            log.info("Purged {} expired rows from {}, lag {}s", total, table, lag);
+        }
+    }
+
+    private AtomicLong lagGauge(String table) {
+        return lagSeconds.computeIfAbsent(table, key -> {
+            val value = new AtomicLong();
+            Gauge.builder("purge.lag.seconds", value, AtomicLong::get)
+                    .description("Age of the oldest purgeable row left after the last purge")
+                    .tag("table", key)
+                    .register(meterRegistry);
+            return value;
+        });
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+
+    private static Instant toInstant(Date date, Duration offset) {
+        return date == null ? null : date.toInstant().plus(offset);
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime, Duration offset) {
+        return dateTime == null ? null : dateTime.plus(offset).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+}
@@ -2,12 +2,14 @@ package com.webapp.bankingportal.service;
 
 import java.util.concurrent.CompletableFuture;
 
-import org.springframework.scheduling.annotation.Async;
-
 import com.webapp.bankingportal.dto.GeolocationResponse;
 
 public interface GeolocationService {
 
-    @Async
+    /**
+     * Never blocks on the network and never throws: an invalid address, a
+     * provider failure or a full executor all complete the future
+     * exceptionally.
+     */
     public CompletableFuture<GeolocationResponse> getGeolocation(String ip);
 }
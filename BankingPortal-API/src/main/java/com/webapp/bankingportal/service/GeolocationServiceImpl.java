@@ -2,64 +2,259 @@ package com.webapp.bankingportal.service;
 
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
 
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.webapp.bankingportal.config.AsyncConfig;
 import com.webapp.bankingportal.dto.GeolocationResponse;
 import com.webapp.bankingportal.exception.GeolocationException;
+import com.webapp.bankingportal.util.CircuitBreaker;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Looks addresses up with the external geolocation API.
+ *
+ * Results are cached, failures included, so a login storm from one address
+ * costs one call per TTL. Concurrent lookups of the same key share one call.
+ * Calls go through a shared, pooled HTTP client with timeouts, and a circuit
+ * breaker stops calling a provider that keeps failing; those logins get an
+ * "Unknown" location until it recovers.
+ */
 @Service
 @Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "geo.provider", havingValue = "http", matchIfMissing = true)
 public class GeolocationServiceImpl implements GeolocationService {
 
+    private static final Pattern IPV4 = Pattern
+            .compile("((25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)\\.){3}(25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)");
+
     @Value("${geo.api.url}")
     private String apiUrl;
 
     @Value("${geo.api.key}")
     private String apiKey;
 
+    // "ip" caches each address; "prefix" shares one entry per IPv4 /24 or
+    // IPv6 /48, looked up with whichever address in it came first.
+    @Value("${geo.cache.key:ip}")
+    private String cacheKeyMode;
+
+    @Value("${geo.cache.ttl-minutes:60}")
+    private long cacheTtlMinutes;
+
+    @Value("${geo.cache.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
+
+    @Value("${geo.cache.max-entries:100000}")
+    private long cacheMaxEntries;
+
+    @Value("${geo.http.connect-timeout-ms:1000}")
+    private long connectTimeoutMs;
+
+    @Value("${geo.http.read-timeout-ms:2000}")
+    private long readTimeoutMs;
+
+    @Value("${geo.breaker.failure-threshold:5}")
+    private int breakerFailureThreshold;
+
+    @Value("${geo.breaker.open-seconds:30}")
+    private long breakerOpenSeconds;
+
+    @Qualifier(AsyncConfig.GEOLOCATION_EXECUTOR)
+    private final Executor executor;
+    private final MeterRegistry meterRegistry;
+
+    private RestTemplate restTemplate;
+    private CircuitBreaker circuitBreaker;
+    private AsyncCache<String, Lookup> cache;
+
+    // Exactly one of the two is set.
+    private record Lookup(GeolocationResponse response, String error) {
+    }
+
+    @PostConstruct
+    void init() {
+        val requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build());
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        restTemplate = new RestTemplate(requestFactory);
+
+        circuitBreaker = new CircuitBreaker(breakerFailureThreshold, Duration.ofSeconds(breakerOpenSeconds));
+
+        val positiveTtlNanos = Duration.ofMinutes(cacheTtlMinutes).toNanos();
+        val negativeTtlNanos = Duration.ofSeconds(negativeTtlSeconds).toNanos();
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfter(new Expiry<String, Lookup>() {
+                    @Override
+                    public long expireAfterCreate(String key, Lookup lookup, long currentTime) {
+                        return lookup.response() != null ? positiveTtlNanos : negativeTtlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Lookup lookup, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(key, lookup, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Lookup lookup, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .buildAsync();
+
+        Gauge.builder("geolocation.cache.size", cache, c -> c.synchronous().estimatedSize())
+                .description("Cached geolocation lookups, failures included")
+                .register(meterRegistry);
+        Gauge.builder("geolocation.breaker.state", circuitBreaker, b -> b.getState().ordinal())
+                .description("Geolocation circuit breaker: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
     @Override
-    @Async
     public CompletableFuture<GeolocationResponse> getGeolocation(String ip) {
-        val future = new CompletableFuture<GeolocationResponse>();
+        final String key;
+        try {
+            key = cacheKey(parseLiteral(ip));
+        } catch (UnknownHostException e) {
+            log.error("Invalid IP address: {}", ip);
+            count("invalid");
+            return CompletableFuture.failedFuture(e);
+        }
+
+        val cached = cache.getIfPresent(key);
+        if (cached != null) {
+            count("hit");
+            return cached.thenCompose(GeolocationServiceImpl::unwrap);
+        }
 
         try {
-            // Validate IP address
-            InetAddress.getByName(ip);
+            return cache.get(key, (k, cacheExecutor) -> fetch(ip)).thenCompose(GeolocationServiceImpl::unwrap);
+        } catch (RejectedExecutionException e) {
+            count("rejected");
+            return CompletableFuture.failedFuture(e);
+        }
+    }
 
-            log.info("Getting geolocation for IP: {}", ip);
+    private static CompletableFuture<GeolocationResponse> unwrap(Lookup lookup) {
+        return lookup.response() != null
+                ? CompletableFuture.completedFuture(lookup.response())
+                : CompletableFuture.failedFuture(new GeolocationException(lookup.error()));
+    }
 
-            // Call geolocation API
+    // Failed futures are never cached, so short-circuited and rejected lookups
+    // are retried on the next login.
+    private CompletableFuture<Lookup> fetch(String ip) {
+        if (!circuitBreaker.tryAcquire()) {
+            count("short_circuited");
+            return CompletableFuture.failedFuture(new GeolocationException("Geolocation provider unavailable"));
+        }
+
+        try {
+            return CompletableFuture.supplyAsync(() -> call(ip), executor);
+        } catch (RejectedExecutionException e) {
+            // A full pool means calls are not finishing: treat it as a failure.
+            circuitBreaker.onFailure();
+            throw e;
+        }
+    }
+
+    private Lookup call(String ip) {
+        log.info("Getting geolocation for IP: {}", ip);
+
+        try {
             val url = String.format("%s/%s/?token=%s", apiUrl, ip, apiKey);
-            val response = new RestTemplate()
-                    .getForObject(url, GeolocationResponse.class);
+            val response = restTemplate.getForObject(url, GeolocationResponse.class);
+            circuitBreaker.onSuccess();
 
             if (response == null) {
                 log.error("Failed to get geolocation for IP: {}", ip);
-                future.completeExceptionally(new GeolocationException(
-                        "Failed to get geolocation for IP: " + ip));
-            } else {
-                future.complete(response);
+                count("failed");
+                return new Lookup(null, "Failed to get geolocation for IP: " + ip);
             }
 
-        } catch (UnknownHostException e) {
-            log.error("Invalid IP address: {}", ip, e);
-            future.completeExceptionally(e);
+            count("fetched");
+            return new Lookup(response, null);
 
-        } catch (RestClientException e) {
+        } catch (HttpClientErrorException e) {
+            if (isProviderFailure(e.getStatusCode())) {
+                circuitBreaker.onFailure();
+            } else {
+                // The provider is up; it just has nothing for this address.
+                circuitBreaker.onSuccess();
+            }
+            log.error("Geolocation rejected for IP: {} ({})", ip, e.getStatusCode());
+            count("failed");
+            return new Lookup(null, "Failed to get geolocation for IP: " + ip);
+
+        } catch (RuntimeException e) {
+            // Anything else, e.g. an unreadable response body, also has to
+            // report a result, or a half-open breaker would wait forever.
+            circuitBreaker.onFailure();
             log.error("Failed to get geolocation for IP: {}", ip, e);
-            future.completeExceptionally(e);
+            count("failed");
+            return new Lookup(null, "Failed to get geolocation for IP: " + ip);
         }
+    }
+
+    // Rate limiting and rejected credentials fail every lookup until they are
+    // fixed, so the breaker should open for them as for an outage.
+    private static boolean isProviderFailure(HttpStatusCode status) {
+        return status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)
+                || status.isSameCodeAs(HttpStatus.UNAUTHORIZED)
+                || status.isSameCodeAs(HttpStatus.FORBIDDEN);
+    }
+
+    // Only literals are accepted, so InetAddress never falls back to DNS.
+    private static InetAddress parseLiteral(String ip) throws UnknownHostException {
+        if (ip == null || !(IPV4.matcher(ip).matches() || ip.indexOf(':') >= 0)) {
+            throw new UnknownHostException("Not an IP address: " + ip);
+        }
+        return InetAddress.getByName(ip);
+    }
+
+    private String cacheKey(InetAddress address) throws UnknownHostException {
+        if (!"prefix".equals(cacheKeyMode)) {
+            return address.getHostAddress();
+        }
+
+        val bytes = address.getAddress();
+        val prefixBytes = bytes.length == 4 ? 3 : 6;
+        Arrays.fill(bytes, prefixBytes, bytes.length, (byte) 0);
+        return InetAddress.getByAddress(bytes).getHostAddress() + "/" + prefixBytes * 8;
+    }
 
-        return future;
+    private void count(String result) {
+        meterRegistry.counter("geolocation.lookups", "result", result).increment();
     }
 
 }
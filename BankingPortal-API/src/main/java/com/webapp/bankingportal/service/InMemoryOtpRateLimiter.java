@@ -0,0 +1,70 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.val;
+
+/**
+ * Token buckets held in this JVM. Only correct with a single replica; use the
+ * database store when running more than one.
+ *
+ * An idle bucket refills completely within one refill interval, at which point
+ * it is indistinguishable from a new one, so entries can expire after that
+ * long without loosening the limit.
+ */
+@Service
+@ConditionalOnProperty(name = "otp.rate-limiter.store", havingValue = "memory")
+public class InMemoryOtpRateLimiter implements OtpRateLimiter {
+
+    public static final int MAX_TRACKED_ACCOUNTS = 1_000_000;
+
+    private record Bucket(double tokens, long updatedAt) {
+    }
+
+    private final int capacity;
+    private final double refillPerMilli;
+    private final Cache<String, Bucket> buckets;
+
+    public InMemoryOtpRateLimiter() {
+        this(OtpServiceImpl.OTP_ATTEMPTS_LIMIT, Duration.ofMinutes(OtpServiceImpl.OTP_RETRY_LIMIT_WINDOW_MINUTES));
+    }
+
+    public InMemoryOtpRateLimiter(int capacity, Duration refillInterval) {
+        this.capacity = capacity;
+        this.refillPerMilli = (double) capacity / refillInterval.toMillis();
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(refillInterval)
+                .maximumSize(MAX_TRACKED_ACCOUNTS)
+                .build();
+    }
+
+    @Override
+    public Result tryAcquire(String accountNumber) {
+        val now = System.currentTimeMillis();
+        val result = new AtomicReference<Result>();
+
+        buckets.asMap().compute(accountNumber, (key, bucket) -> {
+            val tokens = bucket == null
+                    ? capacity
+                    : Math.min(capacity, bucket.tokens() + (now - bucket.updatedAt()) * refillPerMilli);
+
+            if (tokens >= 1) {
+                result.set(Result.ALLOWED);
+                return new Bucket(tokens - 1, now);
+            }
+
+            result.set(Result.limited(Duration.ofMillis((long) Math.ceil((1 - tokens) / refillPerMilli))));
+            return new Bucket(tokens, now);
+        });
+
+        return result.get();
+    }
+
+}
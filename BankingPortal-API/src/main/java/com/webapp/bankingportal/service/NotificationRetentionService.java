@@ -0,0 +1,30 @@
+package com.webapp.bankingportal.service;
+
+import java.util.List;
+
+import com.webapp.bankingportal.dto.NotificationDigestDTO;
+import com.webapp.bankingportal.dto.NotificationPageResponse;
+
+/**
+ * Moves notifications older than {@code notifications.retention.days} out of
+ * the {@code notification} table into per-account monthly digests and a
+ * compressed archive, which remain readable through the history endpoints.
+ */
+public interface NotificationRetentionService {
+
+    /**
+     * Archives expired notifications in bounded batches.
+     *
+     * @return the number of notifications archived
+     */
+    public long archiveExpired();
+
+    /**
+     * Reads archived notifications newest first, with the same cursors as
+     * the live notification feed. Slower than the feed: every page
+     * decompresses the months it covers.
+     */
+    public NotificationPageResponse getHistory(String accountNumber, String cursor, int size);
+
+    public List<NotificationDigestDTO> getDigests(String accountNumber);
+}
@@ -0,0 +1,317 @@
+package com.webapp.bankingportal.service;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.dto.NotificationDTO;
+import com.webapp.bankingportal.dto.NotificationDigestDTO;
+import com.webapp.bankingportal.dto.NotificationPageResponse;
+import com.webapp.bankingportal.entity.NotificationArchive;
+import com.webapp.bankingportal.entity.NotificationDigest;
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.exception.NotFoundException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationArchiveRepository;
+import com.webapp.bankingportal.repository.NotificationDigestRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+import com.webapp.bankingportal.util.KeysetCursor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Each batch takes up to {@code notifications.retention.batch-size} of the
+ * oldest expired notifications through the {@code created_at} index, locks
+ * them so their read flags cannot change underneath it and, in one
+ * transaction, adds them to their account's monthly digests and archive
+ * rows, adjusts the unread counters and deletes them. Accounts are handled in
+ * id order, so batches lock rows in the same order as the notification
+ * writers. Only one pod runs the job at a time.
+ *
+ * <p>It exports {@code notifications.retention.rows.archived},
+ * {@code notifications.retention.bytes.written} (compressed),
+ * {@code notifications.retention.batch.latency} and
+ * {@code notifications.retention.lag.seconds}, the age of the oldest expired
+ * notification still left after the last run.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationRetentionServiceImpl implements NotificationRetentionService {
+
+    public static final String LOCK_NAME = "notification-retention";
+
+    // Archive months read per query while filling a history page.
+    private static final int MONTHS_PER_READ = 3;
+
+    private static final Comparator<NotificationDTO> NEWEST_FIRST = Comparator
+            .comparing(NotificationDTO::getCreatedAt)
+            .thenComparing(NotificationDTO::getId)
+            .reversed();
+
+    @Value("${notifications.retention.days:180}")
+    private int retentionDays;
+
+    @Value("${notifications.retention.batch-size:500}")
+    private int batchSize;
+
+    @Value("${notifications.retention.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${notifications.retention.lease-ms:3600000}")
+    private long leaseMs;
+
+    private final AccountRepository accountRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationDigestRepository digestRepository;
+    private final NotificationArchiveRepository archiveRepository;
+    private final UnreadCountService unreadCountService;
+    private final SchedulerLockService schedulerLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private Timer batchTimer;
+    private Counter archivedCounter;
+    private Counter bytesCounter;
+
+    @PostConstruct
+    void init() {
+        batchTimer = Timer.builder("notifications.retention.batch.latency")
+                .description("Time to archive one batch of expired notifications")
+                .register(meterRegistry);
+        archivedCounter = meterRegistry.counter("notifications.retention.rows.archived");
+        bytesCounter = meterRegistry.counter("notifications.retention.bytes.written");
+        Gauge.builder("notifications.retention.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest expired notification left after the last run")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.retention.interval-ms:3600000}",
+            initialDelayString = "${notifications.retention.initial-delay-ms:600000}")
+    public long archiveExpired() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, Duration.ofMillis(leaseMs))) {
+            return 0;
+        }
+
+        val cutoff = Date.from(Instant.now().minus(Duration.ofDays(retentionDays)));
+        long total = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            val count = batchTimer.record(() -> transactionTemplate.execute(status -> archiveBatch(cutoff)));
+            total += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        val oldest = notificationRepository.findOldestCreatedBefore(cutoff);
+        lagSeconds.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest.toInstant(), cutoff.toInstant())
+                .getSeconds()));
+
+        if (total > 0) {
+            log.info("Archived {} notifications older than {} days, lag {}s", total, retentionDays,
+                    lagSeconds.get());
+        }
+        return total;
+    }
+
+    private int archiveBatch(Date cutoff) {
+        val ids = notificationRepository.findCreatedBeforeIds(cutoff, PageRequest.ofSize(batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        // Rows removed since the ids were read are simply not archived; the
+        // ones left cannot change until the batch commits.
+        val locked = notificationRepository.findAllWithAccountIdByIdInForUpdate(ids);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+
+        val byAccount = new TreeMap<Long, Map<LocalDate, List<NotificationDTO>>>();
+        for (val event : locked) {
+            byAccount.computeIfAbsent(event.accountId(), key -> new TreeMap<>())
+                    .computeIfAbsent(monthStart(event.notification().getCreatedAt()), key -> new ArrayList<>())
+                    .add(event.notification());
+        }
+
+        val archivedAt = new Date();
+        byAccount.forEach((accountId, months) -> {
+            long unread = 0;
+            for (val month : months.entrySet()) {
+                append(accountId, month.getKey(), archivedAt, month.getValue());
+                addToDigests(accountId, month.getKey(), month.getValue());
+                unread += month.getValue().stream().filter(notification -> !notification.isRead()).count();
+            }
+            unreadCountService.add(accountId, -unread);
+        });
+
+        notificationRepository.deleteAllByIdInBatch(locked.stream().map(event -> event.notification().getId())
+                .toList());
+        archivedCounter.increment(locked.size());
+        return locked.size();
+    }
+
+    private void append(Long accountId, LocalDate monthStart, Date archivedAt,
+            List<NotificationDTO> notifications) {
+        val payload = compress(notifications);
+        archiveRepository.save(new NotificationArchive(accountId, monthStart, archivedAt, notifications.size(),
+                payload));
+        bytesCounter.increment(payload.length);
+    }
+
+    private void addToDigests(Long accountId, LocalDate monthStart, List<NotificationDTO> notifications) {
+        val byType = notifications.stream().collect(Collectors.groupingBy(NotificationDTO::getType,
+                () -> new TreeMap<NotificationType, List<NotificationDTO>>(), Collectors.toList()));
+
+        byType.forEach((type, ofType) -> {
+            val amount = ofType.stream().mapToDouble(NotificationDTO::getAmount).sum();
+            if (digestRepository.add(accountId, monthStart, type, ofType.size(), amount) == 0) {
+                digestRepository.save(new NotificationDigest(accountId, monthStart, type, ofType.size(), amount));
+            }
+        });
+    }
+
+    @Override
+    public NotificationPageResponse getHistory(String accountNumber, String cursor, int size) {
+        val pageSize = size <= 0
+                ? NotificationServiceImpl.DEFAULT_PAGE_SIZE
+                : Math.min(size, NotificationServiceImpl.MAX_PAGE_SIZE);
+        val after = KeysetCursor.decode(cursor);
+        val accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
+
+        // Months do not overlap, so once a month fills the page no older one
+        // can hold a newer notification.
+        val rows = new ArrayList<NotificationDTO>();
+        for (int page = 0; rows.size() <= pageSize; page++) {
+            val pageable = PageRequest.of(page, MONTHS_PER_READ);
+            val months = after == null
+                    ? archiveRepository.findMonths(accountId, pageable)
+                    : archiveRepository.findMonthsUpTo(accountId, monthStart(after.date()), pageable);
+            if (months.isEmpty()) {
+                break;
+            }
+
+            val byMonth = archiveRepository.findByAccountIdAndMonthStartIn(accountId, months).stream()
+                    .collect(Collectors.groupingBy(NotificationArchive::getMonthStart));
+            for (val month : months) {
+                if (rows.size() > pageSize) {
+                    break;
+                }
+
+                byMonth.get(month).stream()
+                        .flatMap(archive -> decompress(archive.getPayload()).stream())
+                        .filter(notification -> after == null || isBefore(notification, after))
+                        .sorted(NEWEST_FIRST)
+                        .forEachOrdered(rows::add);
+            }
+
+            if (months.size() < MONTHS_PER_READ) {
+                break;
+            }
+        }
+
+        val hasMore = rows.size() > pageSize;
+        val notifications = hasMore ? List.copyOf(rows.subList(0, pageSize)) : List.copyOf(rows);
+
+        String nextCursor = null;
+        if (hasMore) {
+            val last = notifications.get(notifications.size() - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new NotificationPageResponse(notifications, nextCursor, hasMore);
+    }
+
+    @Override
+    public List<NotificationDigestDTO> getDigests(String accountNumber) {
+        val accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
+
+        return digestRepository.findByAccountIdOrderByMonthStartDescTypeAsc(accountId).stream()
+                .map(digest -> new NotificationDigestDTO(YearMonth.from(digest.getMonthStart()), digest.getType(),
+                        digest.getNotificationCount(), digest.getTotalAmount()))
+                .toList();
+    }
+
+    private static boolean isBefore(NotificationDTO notification, KeysetCursor cursor) {
+        val createdAt = notification.getCreatedAt().getTime();
+        return createdAt < cursor.timestamp() || (createdAt == cursor.timestamp() && notification.getId() < cursor.id());
+    }
+
+    private static LocalDate monthStart(Date date) {
+        return date.toInstant().atOffset(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1);
+    }
+
+    private static byte[] compress(List<NotificationDTO> notifications) {
+        val bytes = new ByteArrayOutputStream();
+        try (val gzip = new GZIPOutputStream(bytes)) {
+            for (val notification : notifications) {
+                gzip.write(JsonUtil.objectMapper.writeValueAsBytes(notification));
+                gzip.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<NotificationDTO> decompress(byte[] payload) {
+        val notifications = new ArrayList<NotificationDTO>();
+        if (payload.length == 0) {
+            return notifications;
+        }
+
+        try (val reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(payload)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isEmpty()) {
+                    notifications.add(JsonUtil.objectMapper.readValue(line, NotificationDTO.class));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return notifications;
+    }
+
+}
@@ -1,8 +1,12 @@
 package com.webapp.bankingportal.service;
 
 import java.util.List;
+import java.util.Set;
 
+import com.webapp.bankingportal.dto.NotificationBulkRequest;
+import com.webapp.bankingportal.dto.NotificationBulkResponse;
 import com.webapp.bankingportal.dto.NotificationDTO;
+import com.webapp.bankingportal.dto.NotificationPageResponse;
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.NotificationType;
 
@@ -10,9 +14,12 @@ public interface NotificationService {
     void createNotification(Account account, String title, String message, NotificationType type, double amount, String relatedAccountNumber);
     List<NotificationDTO> getNotificationsByAccount(String accountNumber);
     List<NotificationDTO> getUnreadNotifications(String accountNumber);
-    void markAsRead(Long notificationId);
+    NotificationPageResponse getNotificationPage(String accountNumber, String cursor, int size, boolean compact,
+            Set<NotificationType> types, Double minAmount, Double maxAmount);
+    void markAsRead(String accountNumber, Long notificationId);
     void markAllAsRead(String accountNumber);
     long getUnreadCount(String accountNumber);
-    void deleteNotification(Long notificationId);
+    void deleteNotification(String accountNumber, Long notificationId);
+    NotificationBulkResponse bulkUpdate(String accountNumber, NotificationBulkRequest request);
 }
 
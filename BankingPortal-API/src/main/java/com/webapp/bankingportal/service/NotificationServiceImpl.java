@@ -1,19 +1,34 @@
 package com.webapp.bankingportal.service;
 
 import java.text.NumberFormat;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.webapp.bankingportal.dto.NotificationBulkAction;
+import com.webapp.bankingportal.dto.NotificationBulkRequest;
+import com.webapp.bankingportal.dto.NotificationBulkResponse;
 import com.webapp.bankingportal.dto.NotificationDTO;
+import com.webapp.bankingportal.dto.NotificationPageResponse;
 import com.webapp.bankingportal.entity.Account;
 import com.webapp.bankingportal.entity.Notification;
 import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.event.NotificationCreatedEvent;
+import com.webapp.bankingportal.exception.NotFoundException;
 import com.webapp.bankingportal.repository.AccountRepository;
 import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,8 +38,14 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BULK_IDS = 10_000;
+
     private final NotificationRepository notificationRepository;
     private final AccountRepository accountRepository;
+    private final UnreadCountService unreadCountService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -42,6 +63,8 @@ public class NotificationServiceImpl implements NotificationService {
                 .build();
 
         notificationRepository.save(notification);
+        unreadCountService.add(account.getId(), 1);
+        eventPublisher.publishEvent(NotificationCreatedEvent.of(account.getId(), notification));
         log.info("Notification created successfully");
     }
 
@@ -69,41 +92,142 @@ public class NotificationServiceImpl implements NotificationService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public NotificationPageResponse getNotificationPage(String accountNumber, String cursor, int size,
+            boolean compact, Set<NotificationType> types, Double minAmount, Double maxAmount) {
+        int pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Set<NotificationType> typeFilter = types == null || types.isEmpty()
+                ? EnumSet.allOf(NotificationType.class)
+                : types;
+
+        // Fetch one extra row to know whether another page exists.
+        List<NotificationDTO> rows = findFeedPage(accountNumber, after, typeFilter,
+                minAmount != null ? minAmount : -Double.MAX_VALUE,
+                maxAmount != null ? maxAmount : Double.MAX_VALUE,
+                compact, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<NotificationDTO> page = hasMore ? List.copyOf(rows.subList(0, pageSize)) : List.copyOf(rows);
+
+        String nextCursor = null;
+        if (hasMore) {
+            NotificationDTO last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new NotificationPageResponse(page, nextCursor, hasMore);
+    }
+
+    /**
+     * Read at most {@code limit} notifications of an account with one of the
+     * given types and an amount in {@code [minAmount, maxAmount]}, newest
+     * first, strictly after the given cursor (or from the newest when it is
+     * null). Compact rows have no message.
+     */
+    private List<NotificationDTO> findFeedPage(String accountNumber, KeysetCursor after,
+            Collection<NotificationType> types, double minAmount, double maxAmount, boolean compact, int limit) {
+        Pageable pageable = PageRequest.ofSize(limit);
+        if (after == null) {
+            return compact
+                    ? notificationRepository.findCompactFeedLatest(accountNumber, types, minAmount, maxAmount,
+                            pageable)
+                    : notificationRepository.findFeedLatest(accountNumber, types, minAmount, maxAmount, pageable);
+        }
+
+        return compact
+                ? notificationRepository.findCompactFeedBefore(accountNumber, types, minAmount, maxAmount,
+                        after.date(), after.id(), pageable)
+                : notificationRepository.findFeedBefore(accountNumber, types, minAmount, maxAmount, after.date(),
+                        after.id(), pageable);
+    }
+
     @Override
     @Transactional
-    public void markAsRead(Long notificationId) {
+    public void markAsRead(String accountNumber, Long notificationId) {
         log.info("Marking notification as read: {}", notificationId);
-        Notification notification = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new RuntimeException("Notification not found"));
-
-        notification.setRead(true);
-        notificationRepository.save(notification);
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
+
+        int updated = notificationRepository.markReadById(accountId, notificationId);
+        if (updated == 0 && !notificationRepository.existsByIdAndAccountId(notificationId, accountId)) {
+            throw new NotFoundException(
+                    String.format(ApiMessages.NOTIFICATION_NOT_FOUND.getMessage(), notificationId));
+        }
+        unreadCountService.add(accountId, -updated);
     }
 
     @Override
     @Transactional
     public void markAllAsRead(String accountNumber) {
         log.info("Marking all notifications as read for account: {}", accountNumber);
-        Account account = accountRepository.findByAccountNumber(accountNumber);
-
-        List<Notification> unreadNotifications = notificationRepository.findByAccountAndIsReadFalseOrderByCreatedAtDesc(account);
-
-        unreadNotifications.forEach(notification -> notification.setRead(true));
-        notificationRepository.saveAll(unreadNotifications);
+        accountRepository.findIdByAccountNumber(accountNumber).ifPresent(accountId ->
+                unreadCountService.add(accountId, -notificationRepository.markAllReadByAccountId(accountId)));
     }
 
     @Override
     public long getUnreadCount(String accountNumber) {
-        log.info("Getting unread count for account: {}", accountNumber);
-        Account account = accountRepository.findByAccountNumber(accountNumber);
-        return notificationRepository.countByAccountAndIsReadFalse(account);
+        return unreadCountService.getUnreadCount(accountNumber);
     }
 
     @Override
     @Transactional
-    public void deleteNotification(Long notificationId) {
+    public void deleteNotification(String accountNumber, Long notificationId) {
         log.info("Deleting notification: {}", notificationId);
-        notificationRepository.deleteById(notificationId);
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
+
+        if (notificationRepository.deleteUnreadById(accountId, notificationId) > 0) {
+            unreadCountService.add(accountId, -1);
+        } else if (notificationRepository.removeById(accountId, notificationId) == 0) {
+            throw new NotFoundException(
+                    String.format(ApiMessages.NOTIFICATION_NOT_FOUND.getMessage(), notificationId));
+        }
+    }
+
+    @Override
+    @Transactional
+    public NotificationBulkResponse bulkUpdate(String accountNumber, NotificationBulkRequest request) {
+        if (request.action() == null) {
+            throw new IllegalArgumentException(ApiMessages.NOTIFICATION_BULK_ACTION_MISSING_ERROR.getMessage());
+        }
+
+        boolean byIds = request.ids() != null;
+        boolean byDate = request.from() != null || request.to() != null;
+        if (byIds == byDate) {
+            throw new IllegalArgumentException(ApiMessages.NOTIFICATION_BULK_SELECTION_ERROR.getMessage());
+        }
+        if (byIds && request.ids().size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException(
+                    String.format(ApiMessages.NOTIFICATION_BULK_TOO_MANY_IDS_ERROR.getMessage(), MAX_BULK_IDS));
+        }
+
+        Long accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
+        if (byIds && request.ids().isEmpty()) {
+            return new NotificationBulkResponse(0, 0);
+        }
+
+        Date from = request.from() != null ? request.from() : new Date(0);
+        Date to = request.to() != null ? request.to() : new Date();
+        log.info("Bulk {} of notifications for account: {}", request.action(), accountNumber);
+
+        int unreadAffected;
+        int readAffected = 0;
+        if (request.action() == NotificationBulkAction.MARK_READ) {
+            unreadAffected = byIds
+                    ? notificationRepository.markReadByIds(accountId, request.ids())
+                    : notificationRepository.markReadByCreatedAtBetween(accountId, from, to);
+        } else if (byIds) {
+            unreadAffected = notificationRepository.deleteByIds(accountId, request.ids(), false);
+            readAffected = notificationRepository.deleteByIds(accountId, request.ids(), true);
+        } else {
+            unreadAffected = notificationRepository.deleteByCreatedAtBetween(accountId, from, to, false);
+            readAffected = notificationRepository.deleteByCreatedAtBetween(accountId, from, to, true);
+        }
+
+        unreadCountService.add(accountId, -unreadAffected);
+        return new NotificationBulkResponse(unreadAffected + readAffected, unreadAffected);
     }
 
     private NotificationDTO convertToDTO(Notification notification) {
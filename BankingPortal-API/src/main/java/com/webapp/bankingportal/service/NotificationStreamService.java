@@ -0,0 +1,42 @@
+package com.webapp.bankingportal.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.webapp.bankingportal.event.NotificationCreatedEvent;
+
+/**
+ * Pushes new notifications to the account's open server-sent event streams.
+ *
+ * Each stream receives:
+ * <ul>
+ * <li>an {@code unread-count} event when it opens,</li>
+ * <li>a {@code notification} event per new notification, with id
+ * {@code <createdAt millis>-<notification id>},</li>
+ * <li>a heartbeat comment every {@code notifications.stream.heartbeat-ms}.</li>
+ * </ul>
+ * Delivery is at least once; clients should ignore notification ids they have
+ * already seen.
+ */
+public interface NotificationStreamService {
+
+    /**
+     * Opens a stream for the account. With a {@code lastEventId}, notifications
+     * created since that event are replayed first.
+     */
+    public SseEmitter subscribe(String accountNumber, String lastEventId);
+
+    /**
+     * Delivers a committed notification to this pod's streams for its account.
+     */
+    public void publish(NotificationCreatedEvent event);
+
+    /**
+     * Delivers notifications committed by other pods since the last poll. Does
+     * not touch the database while this pod has no open streams.
+     */
+    public void poll();
+
+    public void heartbeat();
+
+    public int getConnectionCount();
+}
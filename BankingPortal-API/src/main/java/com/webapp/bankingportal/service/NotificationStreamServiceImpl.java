@@ -0,0 +1,334 @@
+package com.webapp.bankingportal.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.webapp.bankingportal.config.AsyncConfig;
+import com.webapp.bankingportal.dto.NotificationDTO;
+import com.webapp.bankingportal.event.NotificationCreatedEvent;
+import com.webapp.bankingportal.exception.NotFoundException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process fan-out from committed notifications to open streams.
+ *
+ * <p>Notifications committed on this pod arrive as
+ * {@link NotificationCreatedEvent}s after commit. Those committed elsewhere
+ * are found by polling the {@code notification} table for rows created in
+ * the last {@code notifications.stream.poll-lookback-ms}, which also covers
+ * clock skew and late commits; ids already delivered are skipped. The poll
+ * is a single query per pod regardless of the number of streams, and is not
+ * run at all while the pod has none. An open but idle stream only costs its
+ * heartbeat, which never touches the database.
+ *
+ * <p>Every stream has its own bounded buffer, written by
+ * {@link AsyncConfig#NOTIFICATION_STREAM_EXECUTOR} threads so a slow client
+ * never blocks the publisher. A stream whose buffer fills up is closed; the
+ * client reconnects with its last event id and the missed notifications are
+ * replayed from the database.
+ *
+ * <p>Streams are closed after {@code notifications.stream.timeout-ms}, so a
+ * revoked or expired token is dropped at the latest on the next reconnect.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationStreamServiceImpl implements NotificationStreamService {
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+    public static final int MAX_REPLAYED = 100;
+    // Accounts per poll query, to keep the IN list bounded.
+    public static final int POLL_CHUNK_SIZE = 1000;
+
+    @Value("${notifications.stream.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notifications.stream.poll-lookback-ms:10000}")
+    private long pollLookbackMs;
+
+    // Older notifications are not replayed, however old the last event id.
+    @Value("${notifications.stream.replay-window-ms:3600000}")
+    private long replayWindowMs;
+
+    private final AccountRepository accountRepository;
+    private final NotificationRepository notificationRepository;
+    private final UnreadCountService unreadCountService;
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier(AsyncConfig.NOTIFICATION_STREAM_EXECUTOR)
+    private final Executor executor;
+
+    // Open streams by account id.
+    private final Map<Long, Set<Connection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    // Notification ids already delivered by this pod, so a poll does not
+    // deliver them again.
+    private Cache<Long, Boolean> delivered;
+    private volatile long lastPolledAt;
+
+    private Counter sentCounter;
+    private Counter polledCounter;
+    private Counter bufferFullCounter;
+    private Counter sendFailedCounter;
+
+    private static final class Connection {
+
+        final Long accountId;
+        final SseEmitter emitter;
+        final BlockingQueue<Set<DataWithMediaType>> buffer;
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(Long accountId, SseEmitter emitter, int bufferSize) {
+            this.accountId = accountId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        delivered = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(pollLookbackMs * 3))
+                .build();
+        lastPolledAt = System.currentTimeMillis();
+
+        Gauge.builder("notifications.stream.connections", connectionCount, AtomicInteger::get)
+                .description("Open notification streams on this pod")
+                .register(meterRegistry);
+        sentCounter = meterRegistry.counter("notifications.stream.events.sent");
+        polledCounter = meterRegistry.counter("notifications.stream.poll.rows");
+        bufferFullCounter = meterRegistry.counter("notifications.stream.closed", "reason", "buffer_full");
+        sendFailedCounter = meterRegistry.counter("notifications.stream.closed", "reason", "send_failed");
+    }
+
+    @Override
+    public SseEmitter subscribe(String accountNumber, String lastEventId) {
+        val accountId = accountRepository.findIdByAccountNumber(accountNumber)
+                .orElseThrow(() -> new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage()));
+
+        val emitter = new SseEmitter(timeoutMs);
+        val connection = new Connection(accountId, emitter, bufferSize);
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> remove(connection));
+        emitter.onError(e -> remove(connection));
+
+        // Registered before the replay query, so nothing committed in between
+        // is missed; at worst it is sent twice.
+        connections.compute(accountId, (id, streams) -> {
+            val result = streams == null ? ConcurrentHashMap.<Connection>newKeySet() : streams;
+            result.add(connection);
+            return result;
+        });
+        connectionCount.incrementAndGet();
+
+        enqueue(connection, SseEmitter.event()
+                .name(UNREAD_COUNT_EVENT)
+                .data(unreadCountService.getUnreadCount(accountId))
+                .build());
+        replay(connection, lastEventId);
+        return emitter;
+    }
+
+    private void replay(Connection connection, String lastEventId) {
+        val lastCreatedAt = parseCreatedAt(lastEventId);
+        if (lastCreatedAt < 0) {
+            return;
+        }
+
+        val since = Math.max(lastCreatedAt - pollLookbackMs, System.currentTimeMillis() - replayWindowMs);
+        val limit = Math.max(1, Math.min(MAX_REPLAYED, bufferSize - 1));
+        // Read newest first, so that a truncated replay keeps the latest ones.
+        val missed = new ArrayList<>(notificationRepository.findByAccountCreatedAfterNewestFirst(
+                connection.accountId, new Date(since), PageRequest.ofSize(limit)));
+        Collections.reverse(missed);
+
+        for (val event : missed) {
+            if (!eventId(event.notification()).equals(lastEventId)) {
+                enqueue(connection, toSse(event.notification()));
+            }
+        }
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publish(NotificationCreatedEvent event) {
+        val streams = connections.get(event.accountId());
+        if (streams == null || delivered.asMap().putIfAbsent(event.notification().getId(), Boolean.TRUE) != null) {
+            return;
+        }
+
+        for (val connection : streams) {
+            enqueue(connection, toSse(event.notification()));
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.stream.poll-interval-ms:2000}")
+    public synchronized void poll() {
+        val now = System.currentTimeMillis();
+        if (connections.isEmpty()) {
+            lastPolledAt = now;
+            return;
+        }
+
+        // Only accounts with a stream on this pod; the rest would be dropped
+        // by publish() anyway.
+        val since = new Date(lastPolledAt - pollLookbackMs);
+        val accountIds = new ArrayList<>(connections.keySet());
+        lastPolledAt = now;
+        for (int from = 0; from < accountIds.size(); from += POLL_CHUNK_SIZE) {
+            val chunk = accountIds.subList(from, Math.min(from + POLL_CHUNK_SIZE, accountIds.size()));
+            val events = notificationRepository.findCreatedAfter(chunk, since);
+            polledCounter.increment(events.size());
+            for (val event : events) {
+                publish(event);
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (val streams : connections.values()) {
+            for (val connection : streams) {
+                enqueue(connection, SseEmitter.event().comment("heartbeat").build());
+            }
+        }
+    }
+
+    @Override
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    private void enqueue(Connection connection, Set<DataWithMediaType> event) {
+        if (connection.closed.get()) {
+            return;
+        }
+
+        if (!connection.buffer.offer(event)) {
+            bufferFullCounter.increment();
+            remove(connection);
+            connection.emitter.complete();
+            return;
+        }
+
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (!connection.draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            // Retried by the connection's next event or heartbeat.
+            connection.draining.set(false);
+        }
+    }
+
+    private void drain(Connection connection) {
+        try {
+            Set<DataWithMediaType> event;
+            while (!connection.closed.get() && (event = connection.buffer.poll()) != null) {
+                connection.emitter.send(event);
+                sentCounter.increment();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client is gone; the container completes the emitter.
+            log.debug("Closing notification stream for account {}: {}", connection.accountId, e.getMessage());
+            sendFailedCounter.increment();
+            remove(connection);
+        } finally {
+            connection.draining.set(false);
+        }
+
+        // An event enqueued just before draining was cleared would otherwise
+        // wait for the next one.
+        if (!connection.closed.get() && !connection.buffer.isEmpty()) {
+            scheduleDrain(connection);
+        }
+    }
+
+    private void remove(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        connections.computeIfPresent(connection.accountId, (id, streams) -> {
+            streams.remove(connection);
+            return streams.isEmpty() ? null : streams;
+        });
+        connectionCount.decrementAndGet();
+        connection.buffer.clear();
+    }
+
+    private static Set<DataWithMediaType> toSse(NotificationDTO notification) {
+        return SseEmitter.event()
+                .id(eventId(notification))
+                .name(NOTIFICATION_EVENT)
+                .data(notification, MediaType.APPLICATION_JSON)
+                .build();
+    }
+
+    private static String eventId(NotificationDTO notification) {
+        return notification.getCreatedAt().getTime() + "-" + notification.getId();
+    }
+
+    private static long parseCreatedAt(String eventId) {
+        if (eventId == null) {
+            return -1;
+        }
+
+        try {
+            val separator = eventId.indexOf('-');
+            return Long.parseLong(separator < 0 ? eventId : eventId.substring(0, separator));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.webapp.bankingportal.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.dto.GeolocationResponse;
+import com.webapp.bankingportal.exception.GeolocationException;
+import com.webapp.bankingportal.util.IpRangeTable;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers lookups from a local {@link IpRangeTable} file, with no network
+ * I/O. IPv4 only; other addresses get an "Unknown" location.
+ *
+ * The file is checked every {@code geo.offline.reload-check-ms} and, when its
+ * modification time or size changes, loaded and swapped in whole. Lookups in
+ * flight keep using the table they started with. A file that fails to load
+ * is logged and the current table stays.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "geo.provider", havingValue = "offline")
+public class OfflineGeolocationService implements GeolocationService {
+
+    @Value("${geo.offline.file}")
+    private Path file;
+
+    private final MeterRegistry meterRegistry;
+
+    private volatile IpRangeTable table;
+    private FileTime loadedModifiedTime;
+    private long loadedSize;
+
+    private Counter foundCounter;
+    private Counter notFoundCounter;
+    private Counter invalidCounter;
+
+    @PostConstruct
+    void init() {
+        foundCounter = meterRegistry.counter("geolocation.lookups", "result", "found");
+        notFoundCounter = meterRegistry.counter("geolocation.lookups", "result", "not_found");
+        invalidCounter = meterRegistry.counter("geolocation.lookups", "result", "invalid");
+
+        // Without a table every login alert would say "Unknown"; fail startup.
+        try {
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load offline geolocation table " + file, e);
+        }
+
+        Gauge.builder("geolocation.offline.ranges", this, service -> service.table.size())
+                .description("IP ranges in the loaded offline geolocation table")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public CompletableFuture<GeolocationResponse> getGeolocation(String ip) {
+        val address = IpRangeTable.parseIpv4(ip);
+        if (address < 0) {
+            invalidCounter.increment();
+            return CompletableFuture.failedFuture(new GeolocationException("Not an IPv4 address: " + ip));
+        }
+
+        val location = table.lookup((int) address);
+        if (location == null) {
+            notFoundCounter.increment();
+            return CompletableFuture.failedFuture(new GeolocationException("No location for IP: " + ip));
+        }
+
+        foundCounter.increment();
+        return CompletableFuture.completedFuture(toResponse(location));
+    }
+
+    @Scheduled(fixedDelayString = "${geo.offline.reload-check-ms:60000}")
+    public synchronized void reloadIfChanged() {
+        try {
+            if (Files.getLastModifiedTime(file).equals(loadedModifiedTime) && Files.size(file) == loadedSize) {
+                return;
+            }
+
+            load();
+            meterRegistry.counter("geolocation.offline.reloads", "result", "success").increment();
+        } catch (IOException e) {
+            meterRegistry.counter("geolocation.offline.reloads", "result", "failed").increment();
+            log.error("Failed to reload offline geolocation table {}; keeping the current one", file, e);
+        }
+    }
+
+    private synchronized void load() throws IOException {
+        // Read the attributes first: a file replaced during loading is then
+        // seen as changed and loaded again on the next check.
+        val modifiedTime = Files.getLastModifiedTime(file);
+        val size = Files.size(file);
+
+        table = IpRangeTable.load(file);
+        loadedModifiedTime = modifiedTime;
+        loadedSize = size;
+
+        log.info("Loaded {} IP ranges from {}", table.size(), file);
+    }
+
+    private static GeolocationResponse toResponse(IpRangeTable.Location location) {
+        val city = new GeolocationResponse.City();
+        city.setNames(Map.of("en", location.city()));
+
+        val country = new GeolocationResponse.Country();
+        country.setNames(Map.of("en", location.country()));
+
+        val response = new GeolocationResponse();
+        response.setCity(city);
+        response.setCountry(country);
+        return response;
+    }
+
+}
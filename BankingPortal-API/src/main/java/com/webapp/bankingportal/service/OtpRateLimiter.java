@@ -0,0 +1,28 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+
+/**
+ * Per-account limit on OTP generation.
+ *
+ * Implementations use a token bucket: an account may request
+ * {@code capacity} OTPs in a burst, after which one more becomes available
+ * every {@code refillInterval / capacity}. Each call is O(1) and independent
+ * of how many accounts are tracked.
+ */
+public interface OtpRateLimiter {
+
+    public record Result(boolean allowed, Duration retryAfter) {
+
+        public static final Result ALLOWED = new Result(true, Duration.ZERO);
+
+        public static Result limited(Duration retryAfter) {
+            return new Result(false, retryAfter);
+        }
+    }
+
+    /**
+     * Consumes one attempt for the account if one is available.
+     */
+    public Result tryAcquire(String accountNumber);
+}
@@ -1,13 +1,13 @@
 package com.webapp.bankingportal.service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.Map;
 import java.util.Random;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.UUID;
 
-import org.springframework.cache.CacheManager;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.webapp.bankingportal.entity.OtpInfo;
@@ -19,6 +19,9 @@ import com.webapp.bankingportal.repository.OtpInfoRepository;
 import com.webapp.bankingportal.util.ApiMessages;
 import com.webapp.bankingportal.util.ValidationUtil;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 
@@ -28,18 +31,28 @@ public class OtpServiceImpl implements OtpService {
 
     public static final int OTP_ATTEMPTS_LIMIT = 3;
     public static final int OTP_EXPIRY_MINUTES = 5;
-    public static final int OTP_RESET_WAITING_TIME_MINUTES = 10;
     public static final int OTP_RETRY_LIMIT_WINDOW_MINUTES = 15;
 
-    private final CacheManager cacheManager;
+    private final EmailOutboxService emailOutboxService;
     private final EmailService emailService;
     private final OtpInfoRepository otpInfoRepository;
+    private final OtpRateLimiter otpRateLimiter;
+    private final PendingRegistrationStore pendingRegistrationStore;
     private final ValidationUtil validationUtil;
+    private final MeterRegistry meterRegistry;
+
+    // Registration attempts per client IP. Kept per pod: it only needs to stop
+    // a single client from flooding the pending store, not to be exact.
+    @Value("${registration.pending.max-per-ip:10}")
+    private int maxRegistrationsPerIp;
 
-    private LocalDateTime otpLimitReachedTime = null;
+    private OtpRateLimiter registrationIpLimiter;
 
-    // Temporary storage for pending registration OTPs and user data
-    private final Map<String, RegistrationOtpData> registrationOtpCache = new ConcurrentHashMap<>();
+    @PostConstruct
+    void init() {
+        registrationIpLimiter = new InMemoryOtpRateLimiter(maxRegistrationsPerIp,
+                Duration.ofMinutes(OTP_RETRY_LIMIT_WINDOW_MINUTES));
+    }
 
     @Override
     public String generateOTP(String accountNumber) {
@@ -47,98 +60,22 @@ public class OtpServiceImpl implements OtpService {
             throw new AccountDoesNotExistException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
         }
 
-        val existingOtpInfo = otpInfoRepository.findByAccountNumber(accountNumber);
-        if (existingOtpInfo == null) {
-            incrementOtpAttempts(accountNumber);
-            return generateNewOTP(accountNumber);
+        val rateLimit = otpRateLimiter.tryAcquire(accountNumber);
+        if (!rateLimit.allowed()) {
+            throw limitExceeded(rateLimit);
         }
 
-        validateOtpWithinRetryLimit(existingOtpInfo);
-
-        if (isOtpExpired(existingOtpInfo)) {
+        val existingOtpInfo = otpInfoRepository.findByAccountNumber(accountNumber);
+        if (existingOtpInfo == null || isOtpExpired(existingOtpInfo)) {
             return generateNewOTP(accountNumber);
         }
 
         // Existing OTP is not expired
         existingOtpInfo.setGeneratedAt(LocalDateTime.now());
-        incrementOtpAttempts(accountNumber);
 
         return existingOtpInfo.getOtp();
     }
 
-    private void validateOtpWithinRetryLimit(OtpInfo otpInfo) {
-        if (!isOtpRetryLimitExceeded(otpInfo)) {
-            return;
-        }
-
-        val now = LocalDateTime.now();
-
-        if (otpLimitReachedTime == null) {
-            otpLimitReachedTime = now;
-        }
-
-        val waitingMinutes = OTP_RESET_WAITING_TIME_MINUTES - otpLimitReachedTime.until(now, ChronoUnit.MINUTES);
-
-        throw new OtpRetryLimitExceededException(
-                String.format(ApiMessages.OTP_GENERATION_LIMIT_EXCEEDED.getMessage(), waitingMinutes));
-    }
-
-    private boolean isOtpRetryLimitExceeded(OtpInfo otpInfo) {
-        val attempts = getOtpAttempts(otpInfo.getAccountNumber());
-        if (attempts < OTP_ATTEMPTS_LIMIT) {
-            return false;
-        }
-
-        if (isOtpResetWaitingTimeExceeded()) {
-            resetOtpAttempts(otpInfo.getAccountNumber());
-            return false;
-        }
-
-        val now = LocalDateTime.now();
-
-        return otpInfo.getGeneratedAt().isAfter(now.minusMinutes(OTP_RETRY_LIMIT_WINDOW_MINUTES));
-    }
-
-    private boolean isOtpResetWaitingTimeExceeded() {
-        val now = LocalDateTime.now();
-        return otpLimitReachedTime != null
-                && otpLimitReachedTime.isBefore(now.minusMinutes(OTP_RESET_WAITING_TIME_MINUTES));
-    }
-
-    private void incrementOtpAttempts(String accountNumber) {
-        if (!validationUtil.doesAccountExist(accountNumber)) {
-            throw new AccountDoesNotExistException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage());
-        }
-
-        val cache = cacheManager.getCache("otpAttempts");
-        if (cache != null) {
-            cache.put(accountNumber, getOtpAttempts(accountNumber) + 1);
-        }
-    }
-
-    private void resetOtpAttempts(String accountNumber) {
-        otpLimitReachedTime = null;
-        val cache = cacheManager.getCache("otpAttempts");
-        if (cache != null) {
-            cache.put(accountNumber, 0);
-        }
-    }
-
-    private int getOtpAttempts(String accountNumber) {
-        var otpAttempts = 0;
-        val cache = cacheManager.getCache("otpAttempts");
-        if (cache == null) {
-            return otpAttempts;
-        }
-
-        val value = cache.get(accountNumber, Integer.class);
-        if (value != null) {
-            otpAttempts = value;
-        }
-
-        return otpAttempts;
-    }
-
     private String generateNewOTP(String accountNumber) {
         val random = new Random();
         val otpValue = 100_000 + random.nextInt(900_000);
@@ -150,9 +87,11 @@ public class OtpServiceImpl implements OtpService {
     }
 
     @Override
-    public CompletableFuture<Void> sendOTPByEmail(String email, String name, String accountNumber, String otp) {
+    public void sendOTPByEmail(String email, String name, String accountNumber, String otp) {
         val emailText = emailService.getOtpLoginEmailTemplate(name, "xxx" + accountNumber.substring(3), otp);
-        return emailService.sendEmail(email, ApiMessages.EMAIL_SUBJECT_OTP.getMessage(), emailText);
+        // Every request gets its own email, even when the OTP is reused.
+        emailOutboxService.enqueue("otp:" + UUID.randomUUID(), email, ApiMessages.EMAIL_SUBJECT_OTP.getMessage(),
+                emailText);
     }
 
     @Override
@@ -177,72 +116,54 @@ public class OtpServiceImpl implements OtpService {
     }
 
     @Override
-    public String generateOtpForRegistration(String email, User pendingUser) {
+    public String generateOtpForRegistration(String email, User pendingUser, String clientIp) {
+        checkAdmission(registrationIpLimiter.tryAcquire(clientIp), "ip");
+        checkAdmission(otpRateLimiter.tryAcquire(registrationLimitKey(email)), "email");
+
         val random = new Random();
         val otpValue = 100_000 + random.nextInt(900_000);
         val otp = String.valueOf(otpValue);
 
-        // Store OTP and user data temporarily
-        registrationOtpCache.put(email, new RegistrationOtpData(otp, LocalDateTime.now(), pendingUser));
+        pendingRegistrationStore.save(new PendingRegistrationStore.Entry(email, otp, pendingUser,
+                LocalDateTime.now().plusMinutes(OTP_EXPIRY_MINUTES)));
 
         return otp;
     }
 
     @Override
     public boolean verifyRegistrationOtp(String email, String otp) {
-        val otpData = registrationOtpCache.get(email);
-
-        if (otpData == null) {
-            return false;
-        }
-
-        // Check if OTP is expired
-        val now = LocalDateTime.now();
-        if (otpData.getGeneratedAt().isBefore(now.minusMinutes(OTP_EXPIRY_MINUTES))) {
-            registrationOtpCache.remove(email);
-            return false;
-        }
-
-        // Check if OTP matches
-        if (!otpData.getOtp().equals(otp)) {
-            return false;
-        }
-
-        // OTP is valid - don't remove yet, UserController needs to get the user data
-        return true;
+        return otp != null && pendingRegistrationStore.find(email)
+                .map(entry -> MessageDigest.isEqual(entry.otp().getBytes(StandardCharsets.UTF_8),
+                        otp.getBytes(StandardCharsets.UTF_8)))
+                .orElse(false);
     }
 
+    @Override
     public User getPendingUserData(String email) {
-        val otpData = registrationOtpCache.get(email);
-        if (otpData != null) {
-            registrationOtpCache.remove(email); // Remove after getting the data
-            return otpData.getPendingUser();
-        }
-        return null;
+        return pendingRegistrationStore.remove(email)
+                .map(PendingRegistrationStore.Entry::user)
+                .orElse(null);
     }
 
-    // Inner class to store registration OTP data
-    private static class RegistrationOtpData {
-        private final String otp;
-        private final LocalDateTime generatedAt;
-        private final User pendingUser;
-
-        public RegistrationOtpData(String otp, LocalDateTime generatedAt, User pendingUser) {
-            this.otp = otp;
-            this.generatedAt = generatedAt;
-            this.pendingUser = pendingUser;
-        }
+    // Emails can be longer than the limiter's key column, so they are keyed by
+    // a fixed-length name-based UUID instead.
+    private static String registrationLimitKey(String email) {
+        return "registration:" + UUID.nameUUIDFromBytes(email.toLowerCase().getBytes(StandardCharsets.UTF_8));
+    }
 
-        public String getOtp() {
-            return otp;
+    private void checkAdmission(OtpRateLimiter.Result result, String reason) {
+        if (result.allowed()) {
+            return;
         }
 
-        public LocalDateTime getGeneratedAt() {
-            return generatedAt;
-        }
+        meterRegistry.counter("registration.pending.rejected", "reason", reason).increment();
+        throw limitExceeded(result);
+    }
 
-        public User getPendingUser() {
-            return pendingUser;
-        }
+    private static OtpRetryLimitExceededException limitExceeded(OtpRateLimiter.Result result) {
+        val waitingMinutes = Math.max(1, (result.retryAfter().toSeconds() + 59) / 60);
+        return new OtpRetryLimitExceededException(
+                String.format(ApiMessages.OTP_GENERATION_LIMIT_EXCEEDED.getMessage(), waitingMinutes));
     }
+
 }
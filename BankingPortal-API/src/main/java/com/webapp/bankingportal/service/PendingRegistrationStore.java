@@ -0,0 +1,35 @@
+package com.webapp.bankingportal.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import com.webapp.bankingportal.entity.User;
+
+/**
+ * Holds sign-ups that are waiting for their registration OTP, keyed by email.
+ *
+ * Implementations are bounded: entries expire at {@link Entry#expiresAt()} and
+ * the oldest are evicted once {@code registration.pending.max-entries} is
+ * reached. Size and eviction counts are exported as
+ * {@code registration.pending.size} and {@code registration.pending.evictions}.
+ */
+public interface PendingRegistrationStore {
+
+    public record Entry(String email, String otp, User user, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Stores the entry, replacing any pending entry for the same email.
+     */
+    public void save(Entry entry);
+
+    public Optional<Entry> find(String email);
+
+    /**
+     * Removes and returns the entry. At most one caller, on any node, receives
+     * a given entry.
+     */
+    public Optional<Entry> remove(String email);
+
+    public long size();
+}
@@ -0,0 +1,17 @@
+package com.webapp.bankingportal.service;
+
+/**
+ * Checks a submitted PIN against the stored BCrypt hash, remembering recent
+ * successful checks so that repeated money operations on the same account do
+ * not pay for a full BCrypt round each time.
+ */
+public interface PinVerificationService {
+
+    public boolean matches(String accountNumber, String pin, String pinHash);
+
+    /**
+     * Forgets any remembered verification for the account. Must be called
+     * whenever its PIN is created or changed.
+     */
+    public void evict(String accountNumber);
+}
@@ -0,0 +1,123 @@
+package com.webapp.bankingportal.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * After a successful BCrypt check the cache holds, per account number,
+ * {@code HMAC-SHA256(key, accountNumber, storedPinHash, pin)} where the key is
+ * 32 random bytes generated at startup. A later check with the same inputs is
+ * answered by recomputing the HMAC and comparing it in constant time.
+ *
+ * <p>Security properties:
+ * <ul>
+ * <li>Neither the PIN nor anything derived from it without the key is held in
+ * memory. The key never leaves the process, so a heap dump of the cache alone
+ * does not allow an offline search of the 10,000 possible PINs.</li>
+ * <li>Only successes are cached. A wrong PIN always costs a full BCrypt check,
+ * so brute forcing is exactly as expensive as before.</li>
+ * <li>The stored hash is part of the HMAC input, so an entry can never vouch
+ * for a PIN after the hash changes, even if {@link #evict} were missed or
+ * raced with a concurrent check.</li>
+ * <li>Entries live at most {@code pin.cache.ttl-seconds} (default 5 minutes)
+ * from the last successful BCrypt check, and only in this pod.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class PinVerificationServiceImpl implements PinVerificationService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final int KEY_BYTES = 32;
+    public static final int MAX_CACHED_ACCOUNTS = 100_000;
+
+    @Value("${pin.cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    private SecretKeySpec key;
+    private Cache<String, byte[]> verified;
+
+    @PostConstruct
+    void init() {
+        val keyBytes = new byte[KEY_BYTES];
+        new SecureRandom().nextBytes(keyBytes);
+        key = new SecretKeySpec(keyBytes, HMAC_ALGORITHM);
+
+        // Expire from write, not access: a steady stream of operations must
+        // not keep an entry alive forever.
+        verified = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(MAX_CACHED_ACCOUNTS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "pinVerification");
+    }
+
+    @Override
+    public boolean matches(String accountNumber, String pin, String pinHash) {
+        if (pin == null || pinHash == null) {
+            return false;
+        }
+
+        val digest = hmac(accountNumber, pinHash, pin);
+        val cached = verified.getIfPresent(accountNumber);
+        if (cached != null && MessageDigest.isEqual(cached, digest)) {
+            return true;
+        }
+
+        if (!passwordEncoder.matches(pin, pinHash)) {
+            return false;
+        }
+
+        verified.put(accountNumber, digest);
+        return true;
+    }
+
+    @Override
+    public void evict(String accountNumber) {
+        verified.invalidate(accountNumber);
+    }
+
+    private byte[] hmac(String accountNumber, String pinHash, String pin) {
+        try {
+            val mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            // Length-prefix each field so that no two inputs share an encoding.
+            for (val field : new String[] { accountNumber, pinHash, pin }) {
+                val bytes = field.getBytes(StandardCharsets.UTF_8);
+                mac.update(new byte[] {
+                        (byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16),
+                        (byte) (bytes.length >>> 8), (byte) bytes.length });
+                mac.update(bytes);
+            }
+            return mac.doFinal();
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
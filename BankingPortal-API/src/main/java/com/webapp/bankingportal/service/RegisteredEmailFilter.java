@@ -0,0 +1,31 @@
+package com.webapp.bankingportal.service;
+
+/**
+ * Answers "is this email already registered?" for new registrations, skipping
+ * the database for emails that are certainly new.
+ */
+public interface RegisteredEmailFilter {
+
+    /**
+     * Whether a user with this email exists. Only emails the filter may have
+     * seen are looked up in the database.
+     */
+    public boolean isRegistered(String email);
+
+    /**
+     * Records an email registered by this pod. Emails registered elsewhere
+     * are picked up by {@link #sync()}.
+     */
+    public void add(String email);
+
+    /**
+     * Adds emails of users created since the last sync.
+     */
+    public void sync();
+
+    /**
+     * Rebuilds the filter from every user, dropping emails that are no longer
+     * registered and resizing it for the current number of users.
+     */
+    public void rebuild();
+}
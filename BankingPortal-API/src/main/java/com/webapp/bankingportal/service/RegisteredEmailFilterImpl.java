@@ -0,0 +1,131 @@
+package com.webapp.bankingportal.service;
+
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.repository.UserRepository;
+import com.webapp.bankingportal.util.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A Bloom filter of lower-cased registered emails, loaded at startup and kept
+ * current from three sources: registrations on this pod, a periodic scan of
+ * the newest users and a full rebuild.
+ *
+ * <p>Ids are assigned at insert but become visible at commit, so each scan
+ * starts {@value #SCAN_ID_OVERLAP} ids below the highest one already seen. A
+ * user that commits later than that is only picked up by the next rebuild;
+ * until then a duplicate registration gets past this check and is rejected by
+ * the unique constraint on {@code user.email} instead.
+ *
+ * <p>Exports {@code registration.email.filter.lookups} tagged with
+ * {@code result}: {@code absent} (no query), {@code registered} and
+ * {@code false_positive}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RegisteredEmailFilterImpl implements RegisteredEmailFilter {
+
+    private static final int SCAN_PAGE_SIZE = 10_000;
+    private static final long SCAN_ID_OVERLAP = 1_000;
+
+    @Value("${registration.email-filter.expected-users:1000000}")
+    private long expectedUsers;
+
+    @Value("${registration.email-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    private volatile BloomFilter filter;
+    private volatile long lastSeenId;
+
+    private Counter absentCounter;
+    private Counter registeredCounter;
+    private Counter falsePositiveCounter;
+
+    @PostConstruct
+    void init() {
+        absentCounter = lookupCounter("absent");
+        registeredCounter = lookupCounter("registered");
+        falsePositiveCounter = lookupCounter("false_positive");
+        Gauge.builder("registration.email.filter.bits", this, self -> self.filter.getBitCount())
+                .description("Size of the registered email filter in bits")
+                .register(meterRegistry);
+
+        rebuild();
+    }
+
+    private Counter lookupCounter(String result) {
+        return meterRegistry.counter("registration.email.filter.lookups", "result", result);
+    }
+
+    @Override
+    public boolean isRegistered(String email) {
+        if (!filter.mightContain(normalize(email))) {
+            absentCounter.increment();
+            return false;
+        }
+
+        val registered = userRepository.existsByEmail(email);
+        (registered ? registeredCounter : falsePositiveCounter).increment();
+        return registered;
+    }
+
+    @Override
+    public void add(String email) {
+        filter.put(normalize(email));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${registration.email-filter.sync-interval-ms:10000}")
+    public synchronized void sync() {
+        lastSeenId = Math.max(lastSeenId, scan(filter, Math.max(0, lastSeenId - SCAN_ID_OVERLAP)));
+    }
+
+    @Override
+    @Scheduled(initialDelayString = "${registration.email-filter.rebuild-interval-ms:3600000}",
+            fixedDelayString = "${registration.email-filter.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        // Leave room to grow until the next rebuild.
+        val rebuilt = new BloomFilter(Math.max(expectedUsers, userRepository.count() * 2), falsePositiveRate);
+        // A local registration added to the old filter while this runs is
+        // found again by the next sync, like one from another pod.
+        lastSeenId = scan(rebuilt, 0);
+        filter = rebuilt;
+        log.info("Registered email filter rebuilt up to user {}", lastSeenId);
+    }
+
+    private long scan(BloomFilter target, long afterId) {
+        var lastId = afterId;
+        while (true) {
+            val page = userRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.ofSize(SCAN_PAGE_SIZE));
+            for (val user : page) {
+                target.put(normalize(user.getEmail()));
+                lastId = user.getId();
+            }
+            if (page.size() < SCAN_PAGE_SIZE) {
+                return lastId;
+            }
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+}
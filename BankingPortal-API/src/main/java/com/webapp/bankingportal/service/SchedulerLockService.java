@@ -0,0 +1,17 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+
+/**
+ * Database lease that elects a single replica to run a scheduled job.
+ */
+public interface SchedulerLockService {
+
+    /**
+     * Acquires or renews the named lease for this instance.
+     *
+     * @return {@code true} if this instance now holds the lease for
+     *         {@code leaseTime}
+     */
+    public boolean tryAcquire(String name, Duration leaseTime);
+}
@@ -0,0 +1,77 @@
+package com.webapp.bankingportal.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.SchedulerLock;
+import com.webapp.bankingportal.repository.SchedulerLockRepository;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The holder renews its lease on every run, so leadership is sticky while the
+ * leader is healthy and passes to another replica at most one lease after it
+ * stops.
+ */
+@Service
+@Slf4j
+public class SchedulerLockServiceImpl implements SchedulerLockService {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    public SchedulerLockServiceImpl(SchedulerLockRepository schedulerLockRepository,
+            PlatformTransactionManager transactionManager) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+
+    @Override
+    public boolean tryAcquire(String name, Duration leaseTime) {
+        val now = new Date();
+        val until = new Date(now.getTime() + leaseTime.toMillis());
+
+        Integer updated = transactionTemplate.execute(status ->
+                schedulerLockRepository.acquire(name, owner, now, until));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+
+        // First run anywhere: create the row. Losing the insert race means
+        // another replica got there first.
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (schedulerLockRepository.existsById(name)) {
+                    return false;
+                }
+                schedulerLockRepository.saveAndFlush(new SchedulerLock(name, until, owner));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Lost the race to create scheduler lock {}", name);
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.webapp.bankingportal.service;
+
+import java.util.Date;
+
+/**
+ * In-memory denylist of revoked JWT ids, shared between pods through the
+ * {@code revoked_token} table.
+ */
+public interface TokenRevocationService {
+
+    /**
+     * Revokes the token id until {@code expiry}, locally at once and on other
+     * pods within one sync interval.
+     */
+    public void revoke(String tokenId, Date expiry);
+
+    public boolean isRevoked(String tokenId);
+
+    /**
+     * Pulls revocations written by other pods since the last sync.
+     */
+    public void sync();
+}
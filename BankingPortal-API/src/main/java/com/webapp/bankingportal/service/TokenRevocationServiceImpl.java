@@ -0,0 +1,112 @@
+package com.webapp.bankingportal.service;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.webapp.bankingportal.entity.RevokedToken;
+import com.webapp.bankingportal.repository.RevokedTokenRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Each revoked id is held until its token would have expired anyway, so the
+ * set only ever contains tokens revoked within the last {@code jwt.expiration}.
+ * The cache is deliberately unbounded: evicting an entry early would silently
+ * re-admit a logged-out token.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final MeterRegistry meterRegistry;
+
+    // Token id -> expiry in epoch millis.
+    private final Cache<String, Long> revoked = Caffeine.newBuilder()
+            .expireAfter(new Expiry<String, Long>() {
+                @Override
+                public long expireAfterCreate(String tokenId, Long expiry, long currentTime) {
+                    return remainingNanos(expiry);
+                }
+
+                @Override
+                public long expireAfterUpdate(String tokenId, Long expiry, long currentTime,
+                        long currentDuration) {
+                    return remainingNanos(expiry);
+                }
+
+                @Override
+                public long expireAfterRead(String tokenId, Long expiry, long currentTime,
+                        long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    // Rows are re-read for this long after the previous sync, to cover
+    // transactions that committed late and clock skew between pods.
+    private static final long SYNC_LOOKBACK_MS = 30_000;
+
+    private volatile long lastSyncedAt = 0;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("jwt.revoked.size", revoked, Cache::estimatedSize)
+                .description("Revoked token ids held in memory")
+                .register(meterRegistry);
+        sync();
+    }
+
+    private static long remainingNanos(long expiry) {
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiry - System.currentTimeMillis()));
+    }
+
+    @Override
+    public void revoke(String tokenId, Date expiry) {
+        if (expiry.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+
+        revoked.put(tokenId, expiry.getTime());
+
+        try {
+            if (!revokedTokenRepository.existsByTokenId(tokenId)) {
+                revokedTokenRepository.save(new RevokedToken(tokenId, expiry));
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Token {} was revoked concurrently", tokenId);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(String tokenId) {
+        return revoked.getIfPresent(tokenId) != null;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        val now = System.currentTimeMillis();
+        val rows = revokedTokenRepository.findByRevokedAtAfterAndExpiryAtAfter(
+                new Date(Math.max(0, lastSyncedAt - SYNC_LOOKBACK_MS)), new Date(now));
+        for (val row : rows) {
+            revoked.put(row.getTokenId(), row.getExpiryAt().getTime());
+        }
+        lastSyncedAt = now;
+    }
+
+}
@@ -27,5 +27,20 @@ public interface TokenService extends UserDetailsService {
 
     public void validateToken(String token) throws InvalidTokenException;
 
+    /**
+     * Per-request check used by the authentication filter: verifies signature
+     * and expiry and consults the in-memory revocation list, without touching
+     * the database.
+     *
+     * <p>Because the token table is not consulted, any token signed with
+     * {@code jwt.secret} is accepted until it expires or is revoked, even one
+     * that was never saved by {@link #saveToken}. Only this service can sign
+     * tokens, so the secret is the trust boundary; rotate it to cut off every
+     * outstanding token at once.
+     *
+     * @return the account number the token was issued to
+     */
+    public String authenticateToken(String token) throws InvalidTokenException;
+
     public void invalidateToken(String token);
 }
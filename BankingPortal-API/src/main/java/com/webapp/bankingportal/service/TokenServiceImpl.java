@@ -4,7 +4,12 @@ import static org.springframework.security.core.userdetails.User.withUsername;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 import io.jsonwebtoken.*;
@@ -16,13 +21,17 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.webapp.bankingportal.entity.Token;
 import com.webapp.bankingportal.exception.InvalidTokenException;
 import com.webapp.bankingportal.repository.AccountRepository;
 import com.webapp.bankingportal.repository.TokenRepository;
-import com.webapp.bankingportal.repository.UserRepository;
 import com.webapp.bankingportal.util.ApiMessages;
 
+import jakarta.annotation.PostConstruct;
+
 import lombok.RequiredArgsConstructor;
 import lombok.val;
 import lombok.extern.slf4j.Slf4j;
@@ -38,9 +47,53 @@ public class TokenServiceImpl implements TokenService {
     @Value("${jwt.expiration}")
     private long expiration;
 
-    private final UserRepository userRepository;
+    private final AccountProfileService accountProfileService;
     private final TokenRepository tokenRepository;
     private final AccountRepository accountRepository;
+    private final TokenRevocationService tokenRevocationService;
+
+    public static final int MAX_CACHED_CLAIMS = 10_000;
+    public static final long MAX_CLAIMS_TTL_MS = TimeUnit.MINUTES.toMillis(10);
+
+    // Both are immutable and thread-safe, so they are built once.
+    private Key key;
+    private JwtParser parser;
+
+    // Verified claims by token. An entry never outlives the token's own expiry,
+    // so a hit is exactly as valid as a fresh parse. Revocation is checked
+    // separately on every request and is not cached here.
+    private final Cache<String, Claims> claimsCache = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_CLAIMS)
+            .expireAfter(new Expiry<String, Claims>() {
+                @Override
+                public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                    val remaining = claims.getExpiration() == null
+                            ? MAX_CLAIMS_TTL_MS
+                            : claims.getExpiration().getTime() - System.currentTimeMillis();
+                    return TimeUnit.MILLISECONDS.toNanos(Math.max(0, Math.min(remaining, MAX_CLAIMS_TTL_MS)));
+                }
+
+                @Override
+                public long expireAfterUpdate(String token, Claims claims, long currentTime,
+                        long currentDuration) {
+                    return currentDuration;
+                }
+
+                @Override
+                public long expireAfterRead(String token, Claims claims, long currentTime,
+                        long currentDuration) {
+                    return currentDuration;
+                }
+            })
+            .build();
+
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+    }
 
     @Override
     public String getUsernameFromToken(String token) throws InvalidTokenException {
@@ -59,24 +112,36 @@ public class TokenServiceImpl implements TokenService {
         log.info("Generating token for user: " + userDetails.getUsername());
         return doGenerateToken(userDetails, expiry);
     }
-    private Key key() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+
     private String doGenerateToken(UserDetails userDetails, Date expiry) {
-        return Jwts.builder().setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date())
-                .setExpiration(expiry)
-                .signWith(key(), SignatureAlgorithm.HS256).compact();
+        // JWT dates have second precision; truncate so the cached claims match
+        // what parsing the token would return.
+        val claims = Jwts.claims()
+                .setSubject(userDetails.getUsername())
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(truncateToSeconds(new Date()))
+                .setExpiration(truncateToSeconds(expiry));
+
+        val token = Jwts.builder().setClaims(claims)
+                .signWith(key, SignatureAlgorithm.HS256).compact();
+
+        // The token is about to be saved and used, so skip parsing it back.
+        claimsCache.put(token, claims);
+        return token;
+    }
+
+    private static Date truncateToSeconds(Date date) {
+        return new Date(date.getTime() / 1000 * 1000);
     }
 
     @Override
     public UserDetails loadUserByUsername(String accountNumber) throws UsernameNotFoundException {
-        val user = userRepository.findByAccountAccountNumber(accountNumber)
+        // Runs on every authenticated request, so it reads the cached profile.
+        val profile = accountProfileService.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new UsernameNotFoundException(
                         String.format(ApiMessages.USER_NOT_FOUND_BY_ACCOUNT.getMessage(), accountNumber)));
 
-        return withUsername(accountNumber).password(user.getPassword()).build();
+        return withUsername(accountNumber).password(profile.passwordHash()).build();
     }
 
     @Override
@@ -91,20 +156,19 @@ public class TokenServiceImpl implements TokenService {
         val claims = getAllClaimsFromToken(token);
         return claimsResolver.apply(claims);
     }
-    private JwtParser parser() {
-        return Jwts.parserBuilder()
-                .setSigningKey(key())
-                .build();
-    }
+
     private Claims getAllClaimsFromToken(String token) throws InvalidTokenException {
+        if (token != null) {
+            val cached = claimsCache.getIfPresent(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         try {
-           // return Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
-            return Jwts.parserBuilder()
-                    .setSigningKey(key())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-          //  return parser().parseClaimsJws(token).getBody();
+            val claims = parser.parseClaimsJws(token).getBody();
+            claimsCache.put(token, claims);
+            return claims;
         } catch (ExpiredJwtException e) {
             // Delete expired token
             invalidateToken(token);
@@ -131,14 +195,14 @@ public class TokenServiceImpl implements TokenService {
             throw new InvalidTokenException(ApiMessages.TOKEN_ALREADY_EXISTS_ERROR.getMessage());
         }
 
-        val account = accountRepository.findByAccountNumber(
-                getUsernameFromToken(token));
+        val claims = getAllClaimsFromToken(token);
+        val account = accountRepository.findByAccountNumber(claims.getSubject());
 
         log.info("Saving token for account: " + account.getAccountNumber());
 
         val tokenObj = new Token(
                 token,
-                getExpirationDateFromToken(token),
+                claims.getExpiration(),
                 account);
 
         tokenRepository.save(tokenObj);
@@ -151,12 +215,48 @@ public class TokenServiceImpl implements TokenService {
         }
     }
 
+    @Override
+    public String authenticateToken(String token) throws InvalidTokenException {
+        val claims = getAllClaimsFromToken(token);
+        if (tokenRevocationService.isRevoked(revocationId(token, claims))) {
+            throw new InvalidTokenException(ApiMessages.TOKEN_NOT_FOUND_ERROR.getMessage());
+        }
+
+        return claims.getSubject();
+    }
+
     @Override
     @Transactional
     public void invalidateToken(String token) {
         if (tokenRepository.findByToken(token) != null) {
             tokenRepository.deleteByToken(token);
         }
+        if (token != null) {
+            claimsCache.invalidate(token);
+        }
+
+        // Expired or unparseable tokens are rejected anyway; only live ones
+        // need to be revoked.
+        try {
+            val claims = parser.parseClaimsJws(token).getBody();
+            tokenRevocationService.revoke(revocationId(token, claims), claims.getExpiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Not revoking unusable token: {}", e.getMessage());
+        }
+    }
+
+    // Tokens issued before jti was added are identified by their digest.
+    private static String revocationId(String token, Claims claims) {
+        if (claims.getId() != null) {
+            return claims.getId();
+        }
+
+        try {
+            val digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
 }
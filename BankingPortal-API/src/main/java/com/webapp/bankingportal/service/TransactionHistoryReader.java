@@ -0,0 +1,19 @@
+package com.webapp.bankingportal.service;
+
+import java.util.List;
+
+import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.util.KeysetCursor;
+
+/**
+ * Reads an account's transaction history in keyset pages, shared by the
+ * paginated endpoint and statement generation.
+ */
+public interface TransactionHistoryReader {
+
+    /**
+     * Read at most {@code limit} transactions of an account, newest first,
+     * strictly after the given cursor (or from the newest when it is null).
+     */
+    public List<TransactionDTO> findPage(String accountNumber, KeysetCursor after, int limit);
+}
@@ -0,0 +1,48 @@
+package com.webapp.bankingportal.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.util.KeysetCursor;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+
+/**
+ * Each side of the history is read separately so that it can walk its own
+ * (account, transaction_date) index, and the two are merged here.
+ */
+@Service
+@RequiredArgsConstructor
+public class TransactionHistoryReaderImpl implements TransactionHistoryReader {
+
+    private static final Comparator<TransactionDTO> NEWEST_FIRST = Comparator
+            .comparing(TransactionDTO::getTransactionDate)
+            .thenComparing(TransactionDTO::getId)
+            .reversed();
+
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public List<TransactionDTO> findPage(String accountNumber, KeysetCursor after, int limit) {
+        val pageable = PageRequest.ofSize(limit);
+        val rows = new ArrayList<TransactionDTO>(2 * limit);
+        if (after == null) {
+            rows.addAll(transactionRepository.findLatestBySource(accountNumber, pageable));
+            rows.addAll(transactionRepository.findLatestByTarget(accountNumber, pageable));
+        } else {
+            rows.addAll(transactionRepository.findBySourceBefore(accountNumber, after.date(), after.id(), pageable));
+            rows.addAll(transactionRepository.findByTargetBefore(accountNumber, after.date(), after.id(), pageable));
+        }
+        rows.sort(NEWEST_FIRST);
+
+        return rows.size() > limit ? new ArrayList<>(rows.subList(0, limit)) : rows;
+    }
+
+}
@@ -2,11 +2,16 @@ package com.webapp.bankingportal.service;
 
 import java.util.List;
 
+import com.webapp.bankingportal.dto.StatementFormat;
 import com.webapp.bankingportal.dto.TransactionDTO;
+import com.webapp.bankingportal.dto.TransactionPageResponse;
+import com.webapp.bankingportal.entity.StatementJob;
 
 public interface TransactionService {
 
 	List<TransactionDTO> getAllTransactionsByAccountNumber(String accountNumber);
-	void sendBankStatementByEmail(String accountNumber);
+	TransactionPageResponse getTransactionPage(String accountNumber, String cursor, int size);
+	StatementJob sendBankStatementByEmail(String accountNumber, StatementFormat format);
+	StatementJob getStatementJob(String accountNumber, String jobId);
 
 }
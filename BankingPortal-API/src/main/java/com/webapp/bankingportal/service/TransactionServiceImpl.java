@@ -1,14 +1,19 @@
 package com.webapp.bankingportal.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
-import com.webapp.bankingportal.repository.AccountRepository;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Service;
 
+import com.webapp.bankingportal.dto.StatementFormat;
 import com.webapp.bankingportal.dto.TransactionDTO;
-import com.webapp.bankingportal.mapper.TransactionMapper;
+import com.webapp.bankingportal.dto.TransactionPageResponse;
+import com.webapp.bankingportal.entity.StatementJob;
+import com.webapp.bankingportal.exception.NotFoundException;
+import com.webapp.bankingportal.exception.ServiceBusyException;
 import com.webapp.bankingportal.repository.TransactionRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.KeysetCursor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.val;
@@ -17,46 +22,64 @@ import lombok.val;
 @RequiredArgsConstructor
 public class TransactionServiceImpl implements TransactionService {
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final long STATEMENT_RETRY_AFTER_SECONDS = 30;
+
     private final TransactionRepository transactionRepository;
-    private final TransactionMapper transactionMapper;
-    private final EmailService emailService;
-    private final AccountRepository accountRepository;
+    private final TransactionHistoryReader transactionHistoryReader;
+    private final BankStatementService bankStatementService;
 
     @Override
     public List<TransactionDTO> getAllTransactionsByAccountNumber(String accountNumber) {
-        val transactions = transactionRepository
-                .findBySourceAccount_AccountNumberOrTargetAccount_AccountNumber(accountNumber, accountNumber);
+        return transactionRepository.findAllByAccountNumberNewestFirst(accountNumber);
+    }
+
+    @Override
+    public TransactionPageResponse getTransactionPage(String accountNumber, String cursor, int size) {
+        val pageSize = size <= 0 ? DEFAULT_PAGE_SIZE : Math.min(size, MAX_PAGE_SIZE);
+        val after = KeysetCursor.decode(cursor);
 
-        val transactionDTOs = transactions.parallelStream()
-                .map(transactionMapper::toDto)
-                .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-                .collect(Collectors.toList());
+        // Fetch one extra row to know whether another page exists.
+        val rows = transactionHistoryReader.findPage(accountNumber, after, pageSize + 1);
+
+        val hasMore = rows.size() > pageSize;
+        val page = hasMore ? List.copyOf(rows.subList(0, pageSize)) : List.copyOf(rows);
+
+        String nextCursor = null;
+        if (hasMore) {
+            val last = page.get(page.size() - 1);
+            nextCursor = KeysetCursor.of(last.getTransactionDate(), last.getId()).encode();
+        }
 
-        return transactionDTOs;
+        return new TransactionPageResponse(page, nextCursor, hasMore);
     }
-    public void sendBankStatementByEmail(String accountNumber) {
+
+    @Override
+    public StatementJob sendBankStatementByEmail(String accountNumber, StatementFormat format) {
         if (accountNumber == null || accountNumber.trim().isEmpty()) {
             throw new IllegalArgumentException("Account number must not be null or empty");
         }
-        List<TransactionDTO> transactions = getAllTransactionsByAccountNumber(accountNumber);
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("Bank Statement for Account: ").append(accountNumber).append("\n\n");
 
-        for(TransactionDTO txn : transactions) {
-            sb.append("Date: ").append(txn.getTransactionDate())
-                    .append(", Type: ").append(txn.getTransactionType())
-                    .append(", Amount: ").append(txn.getAmount())
-                    .append("\n");
+        val job = bankStatementService.createJob(accountNumber, format);
+        try {
+            bankStatementService.generateAndSend(job);
+        } catch (TaskRejectedException e) {
+            bankStatementService.reject(job);
+            throw new ServiceBusyException(String.format(ApiMessages.SERVICE_BUSY_ERROR.getMessage(),
+                    STATEMENT_RETRY_AFTER_SECONDS), STATEMENT_RETRY_AFTER_SECONDS);
         }
+        return job;
+    }
 
-        val account = accountRepository.findByAccountNumber(accountNumber);
-        if (account == null || account.getUser() == null) {
-            // Optionally log or handle the error here
-            return;
+    @Override
+    public StatementJob getStatementJob(String accountNumber, String jobId) {
+        val job = bankStatementService.getJob(jobId);
+        if (job == null || !job.getAccountNumber().equals(accountNumber)) {
+            throw new NotFoundException(String.format(ApiMessages.STATEMENT_JOB_NOT_FOUND.getMessage(), jobId));
         }
-        String email = account.getUser().getEmail();
-        emailService.sendEmail(email, "Your Bank Statement", sb.toString());
+
+        return job;
     }
 
 }
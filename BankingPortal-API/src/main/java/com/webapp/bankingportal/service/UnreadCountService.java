@@ -0,0 +1,34 @@
+package com.webapp.bankingportal.service;
+
+/**
+ * Unread notification counts served from the {@code notification_unread_counter}
+ * table through a short-lived in-memory cache.
+ *
+ * Every change to a notification's read state, and every insert or delete of
+ * an unread notification, must call {@link #add} in the same transaction.
+ */
+public interface UnreadCountService {
+
+    public long getUnreadCount(String accountNumber);
+
+    public long getUnreadCount(Long accountId);
+
+    /**
+     * Adjusts the account's counter by {@code delta} in the current
+     * transaction. The cached count is dropped once the transaction ends.
+     */
+    public void add(Long accountId, long delta);
+
+    /**
+     * Creates the counter for a new account.
+     */
+    public void initialize(Long accountId);
+
+    /**
+     * Recomputes every counter from the {@code notification} table and
+     * corrects the ones that drifted.
+     *
+     * @return the number of counters created or corrected
+     */
+    public long repair();
+}
@@ -0,0 +1,190 @@
+package com.webapp.bankingportal.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.webapp.bankingportal.config.AsyncConfig;
+import com.webapp.bankingportal.exception.NotFoundException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.repository.NotificationUnreadCounterRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A count is read from the counter row by primary key and cached for
+ * {@code notifications.unread-count.cache-ttl-ms}. Changes made on this pod
+ * drop the cached count when their transaction ends; changes made on other
+ * pods are seen once it expires.
+ *
+ * <p>An account without a counter row, created before the table existed, is
+ * counted from the {@code notification} table instead until the next repair
+ * creates its row.
+ *
+ * <p>The repair splits the account id range into chunks of
+ * {@code notifications.unread-count.repair-chunk-size} ids and works through
+ * them on {@code notifications.unread-count.repair-parallelism} threads, each
+ * chunk in its own transaction. Only one pod runs it at a time.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UnreadCountServiceImpl implements UnreadCountService {
+
+    public static final String LOCK_NAME = "unread-count-repair";
+    public static final int MAX_CACHED_COUNTS = 100_000;
+
+    @Value("${notifications.unread-count.cache-ttl-ms:5000}")
+    private long cacheTtlMs;
+
+    @Value("${notifications.unread-count.repair-chunk-size:1000}")
+    private int repairChunkSize;
+
+    @Value("${notifications.unread-count.repair-parallelism:4}")
+    private int repairParallelism;
+
+    @Value("${notifications.unread-count.repair-lease-ms:3600000}")
+    private long repairLeaseMs;
+
+    private final AccountRepository accountRepository;
+    private final NotificationRepository notificationRepository;
+    private final NotificationUnreadCounterRepository counterRepository;
+    private final SchedulerLockService schedulerLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Qualifier(AsyncConfig.DEFAULT_EXECUTOR)
+    private final AsyncTaskExecutor executor;
+
+    // Account numbers never change, so their ids are cached without expiry.
+    private Cache<String, Long> accountIds;
+    private LoadingCache<Long, Long> counts;
+
+    private Counter insertedCounter;
+    private Counter correctedCounter;
+
+    @PostConstruct
+    void init() {
+        accountIds = Caffeine.newBuilder()
+                .maximumSize(MAX_CACHED_COUNTS)
+                .build();
+        counts = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .maximumSize(MAX_CACHED_COUNTS)
+                .recordStats()
+                .build(accountId -> counterRepository.findUnreadCount(accountId)
+                        .orElseGet(() -> notificationRepository.countByAccountIdAndIsReadFalse(accountId)));
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "unreadCount");
+        insertedCounter = meterRegistry.counter("notifications.unread.count.repaired", "action", "inserted");
+        correctedCounter = meterRegistry.counter("notifications.unread.count.repaired", "action", "corrected");
+    }
+
+    @Override
+    public long getUnreadCount(String accountNumber) {
+        val accountId = accountIds.get(accountNumber, key -> accountRepository.findIdByAccountNumber(key)
+                .orElseThrow(() -> new NotFoundException(ApiMessages.ACCOUNT_NOT_FOUND.getMessage())));
+        return getUnreadCount(accountId);
+    }
+
+    @Override
+    public long getUnreadCount(Long accountId) {
+        return counts.get(accountId);
+    }
+
+    @Override
+    public void add(Long accountId, long delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        // No row yet means the count is still read from the notification
+        // table, which already reflects this change.
+        counterRepository.add(accountId, delta);
+        counts.invalidate(accountId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    counts.invalidate(accountId);
+                }
+            });
+        }
+    }
+
+    @Override
+    public void initialize(Long accountId) {
+        counterRepository.insert(accountId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${notifications.unread-count.repair-interval-ms:3600000}",
+            initialDelayString = "${notifications.unread-count.repair-initial-delay-ms:300000}")
+    public long repair() {
+        if (!schedulerLockService.tryAcquire(LOCK_NAME, Duration.ofMillis(repairLeaseMs))) {
+            return 0;
+        }
+
+        val maxId = accountRepository.findMaxId();
+        if (maxId == null) {
+            return 0;
+        }
+
+        val nextFromId = new AtomicLong(1);
+        val repaired = new AtomicLong();
+        val workers = new ArrayList<CompletableFuture<Void>>(repairParallelism);
+        for (int i = 0; i < repairParallelism; i++) {
+            workers.add(CompletableFuture.runAsync(() -> {
+                long fromId;
+                while ((fromId = nextFromId.getAndAdd(repairChunkSize)) <= maxId) {
+                    repaired.addAndGet(repairChunk(fromId, fromId + repairChunkSize - 1));
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+
+        if (repaired.get() > 0) {
+            log.info("Repaired {} unread notification counters", repaired.get());
+        }
+        return repaired.get();
+    }
+
+    private long repairChunk(long fromId, long toId) {
+        try {
+            return transactionTemplate.execute(status -> {
+                val inserted = counterRepository.insertMissing(fromId, toId);
+                val corrected = counterRepository.correct(fromId, toId);
+                insertedCounter.increment(inserted);
+                correctedCounter.increment(corrected);
+                return (long) inserted + corrected;
+            });
+        } catch (RuntimeException e) {
+            // Most likely a counter created concurrently; retried next run.
+            log.warn("Failed to repair unread counters for accounts {} to {}", fromId, toId, e);
+            return 0;
+        }
+    }
+
+}
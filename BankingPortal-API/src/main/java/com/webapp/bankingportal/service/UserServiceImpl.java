@@ -2,7 +2,10 @@ package com.webapp.bankingportal.service;
 
 import java.sql.Timestamp;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -10,8 +13,10 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.servlet.ModelAndView;
 
+import com.webapp.bankingportal.config.AsyncConfig;
 import com.webapp.bankingportal.dto.LoginRequest;
 import com.webapp.bankingportal.dto.OtpRequest;
 import com.webapp.bankingportal.dto.OtpVerificationRequest;
@@ -39,23 +44,31 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    private final AccountProfileService accountProfileService;
     private final AccountService accountService;
     private final AuthenticationManager authenticationManager;
+    private final EmailOutboxService emailOutboxService;
     private final EmailService emailService;
     private final GeolocationService geolocationService;
     private final OtpService otpService;
     private final PasswordEncoder passwordEncoder;
+    private final RegisteredEmailFilter registeredEmailFilter;
     private final TokenService tokenService;
     private final UserDetailsService userDetailsService;
     private final UserMapper userMapper;
     private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
     private final ValidationUtil validationUtil;
 
+    @Qualifier(AsyncConfig.EMAIL_EXECUTOR)
+    private final Executor emailExecutor;
+
     @Override
     public ResponseEntity<String> registerUser(User user) {
         validationUtil.validateNewUser(user);
         encodePassword(user);
-        val savedUser = saveUserWithAccount(user);
+        val savedUser = saveNewUser(user);
+        registeredEmailFilter.add(savedUser.getEmail());
         return ResponseEntity.ok(JsonUtil.toJson(new UserResponse(savedUser)));
     }
 
@@ -92,6 +105,8 @@ public class UserServiceImpl implements UserService {
         val existingUser = getUserByAccountNumber(accountNumber);
         updateUserDetails(existingUser, updatedUser);
         val savedUser = saveUser(existingUser);
+        registeredEmailFilter.add(savedUser.getEmail());
+        accountProfileService.invalidate(accountNumber);
         return ResponseEntity.ok(JsonUtil.toJson(new UserResponse(savedUser)));
     }
 
@@ -101,6 +116,7 @@ public class UserServiceImpl implements UserService {
         try {
             user.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(user);
+            accountProfileService.invalidate(user.getAccount().getAccountNumber());
             return true;
         } catch (Exception e) {
             throw new PasswordResetException(ApiMessages.PASSWORD_RESET_FAILURE.getMessage(), e);
@@ -125,18 +141,15 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public User getUserByIdentifier(String identifier) {
-        User user = null;
-
-        if (validationUtil.doesEmailExist(identifier)) {
-            user = getUserByEmail(identifier);
-        } else if (validationUtil.doesAccountExist(identifier)) {
-            user = getUserByAccountNumber(identifier);
-        } else {
-            throw new UserInvalidException(
-                    String.format(ApiMessages.USER_NOT_FOUND_BY_IDENTIFIER.getMessage(), identifier));
-        }
-
-        return user;
+        val users = userRepository.findByEmailOrAccountNumber(identifier);
+
+        // An email match wins, as it did when emails were checked first.
+        return users.stream()
+                .filter(user -> identifier.equals(user.getEmail()))
+                .findFirst()
+                .or(() -> users.stream().findFirst())
+                .orElseThrow(() -> new UserInvalidException(
+                        String.format(ApiMessages.USER_NOT_FOUND_BY_IDENTIFIER.getMessage(), identifier)));
     }
 
     @Override
@@ -157,6 +170,26 @@ public class UserServiceImpl implements UserService {
         user.setPassword(passwordEncoder.encode(user.getPassword()));
     }
 
+    private User saveNewUser(User user) {
+        try {
+            return transactionTemplate.execute(status -> {
+                val saved = saveUserWithAccount(user);
+                enqueueWelcomeEmail(saved);
+                return saved;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Registered concurrently, or on another pod before the email
+            // filter caught up.
+            if (validationUtil.doesEmailExist(user.getEmail())) {
+                throw new UserInvalidException(ApiMessages.USER_EMAIL_ALREADY_EXISTS_ERROR.getMessage());
+            }
+            if (validationUtil.doesPhoneNumberExist(user.getPhoneNumber())) {
+                throw new UserInvalidException(ApiMessages.USER_PHONE_NUMBER_ALREADY_EXISTS_ERROR.getMessage());
+            }
+            throw e;
+        }
+    }
+
     private User saveUserWithAccount(User user) {
         val savedUser = saveUser(user);
         savedUser.setAccount(accountService.createAccount(savedUser));
@@ -182,17 +215,12 @@ public class UserServiceImpl implements UserService {
         return token;
     }
 
+    // The email is only queued here, so the request is accepted rather than
+    // done; a failure to queue it propagates.
     private ResponseEntity<String> sendOtpEmail(User user, String otp) {
-        val emailSendingFuture = otpService.sendOTPByEmail(
-                user.getEmail(), user.getName(), user.getAccount().getAccountNumber(), otp);
-
-        ResponseEntity<String> successResponse = ResponseEntity
-                .ok(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail()));
-        ResponseEntity<String> failureResponse = ResponseEntity.internalServerError()
-                .body(String.format(ApiMessages.OTP_SENT_FAILURE.getMessage(), user.getEmail()));
-
-        return emailSendingFuture.thenApply(result -> successResponse)
-                .exceptionally(e -> failureResponse).join();
+        otpService.sendOTPByEmail(user.getEmail(), user.getName(), user.getAccount().getAccountNumber(), otp);
+        return ResponseEntity.accepted()
+                .body(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail()));
     }
 
     private void validateOtpRequest(OtpVerificationRequest request) {
@@ -225,15 +253,31 @@ public class UserServiceImpl implements UserService {
                             geolocationResponse.getCity().getNames().get("en"),
                             geolocationResponse.getCountry().getNames().get("en"));
                     return sendLoginEmail(user, loginTime, loginLocation);
-                })
-                .exceptionallyComposeAsync(throwable -> sendLoginEmail(user, loginTime, "Unknown"));
+                }, emailExecutor)
+                .exceptionallyComposeAsync(throwable -> sendLoginEmail(user, loginTime, "Unknown"), emailExecutor)
+                .exceptionally(throwable -> {
+                    // Only reached when the email executor rejected both tries.
+                    log.warn("Skipped login notification for user {}: {}", user.getId(), throwable.toString());
+                    return false;
+                });
     }
 
     private CompletableFuture<Boolean> sendLoginEmail(User user, String loginTime, String loginLocation) {
         val emailText = emailService.getLoginEmailTemplate(user.getName(), loginTime, loginLocation);
-        return emailService.sendEmail(user.getEmail(), ApiMessages.EMAIL_SUBJECT_LOGIN.getMessage(), emailText)
-                .thenApplyAsync(result -> true)
-                .exceptionally(ex -> false);
+        try {
+            emailOutboxService.enqueue("login:" + user.getId() + ":" + loginTime, user.getEmail(),
+                    ApiMessages.EMAIL_SUBJECT_LOGIN.getMessage(), emailText);
+            return CompletableFuture.completedFuture(true);
+        } catch (RuntimeException e) {
+            log.error("Failed to queue login notification for user {}", user.getId(), e);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    // Written in the registration transaction, so a new user always gets it.
+    private void enqueueWelcomeEmail(User user) {
+        val emailText = emailService.getBankStatementEmailTemplate(user.getName(), "Welcome! Your account is created.");
+        emailOutboxService.enqueue("welcome:" + user.getId(), user.getEmail(), "Welcome to OneStopBank", emailText);
     }
 
 }
@@ -0,0 +1,23 @@
+package com.webapp.bankingportal.service;
+
+import com.webapp.bankingportal.event.WriteBehindEvent;
+
+/**
+ * Persists transfer side effects (notifications and recent transfers) after the
+ * balance transaction has committed.
+ *
+ * Events published inside a transaction are queued once it commits and dropped
+ * if it rolls back. A background writer drains the queue in JDBC batches.
+ */
+public interface WriteBehindService {
+
+    public void enqueue(WriteBehindEvent event);
+
+    /**
+     * Waits until everything queued so far has been written, e.g. before
+     * shutdown.
+     */
+    public void flush();
+
+    public int getQueueDepth();
+}
@@ -0,0 +1,300 @@
+package com.webapp.bankingportal.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.Notification;
+import com.webapp.bankingportal.entity.RecentTransfer;
+import com.webapp.bankingportal.event.NotificationCreatedEvent;
+import com.webapp.bankingportal.event.NotificationEvent;
+import com.webapp.bankingportal.event.RecentTransferEvent;
+import com.webapp.bankingportal.event.WriteBehindEvent;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.repository.RecentTransferRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import lombok.RequiredArgsConstructor;
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single background writer over a bounded in-memory queue.
+ *
+ * Events are queued after the balance transaction commits, while the balance
+ * engine still holds the account locks, so enqueueing never waits for queue
+ * space. When the queue is full the event is written on the caller's thread
+ * instead: the request pays for one small transaction, and the event is
+ * neither delayed behind the backlog nor dropped. Events still queued when the
+ * JVM dies are lost; they are derived data and the balances and transactions
+ * they describe are already committed.
+ *
+ * A batch that fails is retried one event per transaction, so one bad event
+ * does not take the rest of its batch down with it.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class WriteBehindServiceImpl implements WriteBehindService {
+
+    private static final long POLL_TIMEOUT_MS = 500;
+    private static final long FLUSH_TIMEOUT_MS = 10_000;
+
+    @Value("${writebehind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${writebehind.batch-size:100}")
+    private int batchSize;
+
+    // How long the writer waits for a batch to fill after the first event.
+    @Value("${writebehind.linger-ms:20}")
+    private long lingerMs;
+
+    private final NotificationRepository notificationRepository;
+    private final RecentTransferRepository recentTransferRepository;
+    private final AccountRepository accountRepository;
+    private final UnreadCountService unreadCountService;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<WriteBehindEvent> queue;
+    private TransactionTemplate transactionTemplate;
+    private Thread writer;
+    private volatile boolean running;
+
+    // Events enqueued but not yet committed or dropped.
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private Timer flushTimer;
+    private Counter writtenCounter;
+    private Counter overflowCounter;
+    private Counter failureCounter;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        // After-commit callbacks still see the finished transaction bound to the
+        // thread, so writes must always start a new one.
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("writebehind.queue.depth", queue, BlockingQueue::size)
+                .description("Transfer side effects waiting to be written")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("writebehind.flush.latency")
+                .description("Time to write one batch of transfer side effects")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        writtenCounter = meterRegistry.counter("writebehind.events.written");
+        overflowCounter = meterRegistry.counter("writebehind.queue.overflow");
+        failureCounter = meterRegistry.counter("writebehind.events.failed");
+
+        running = true;
+        writer = new Thread(this::run, "write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(FLUSH_TIMEOUT_MS);
+        drainQueue();
+    }
+
+    @Override
+    @TransactionalEventListener(fallbackExecution = true)
+    public void enqueue(WriteBehindEvent event) {
+        inFlight.incrementAndGet();
+        if (queue.offer(event)) {
+            return;
+        }
+
+        overflowCounter.increment();
+        write(List.of(event));
+    }
+
+    @Override
+    public void flush() {
+        // Left to the writer thread: draining here would write the same rows
+        // concurrently with it.
+        val deadline = System.currentTimeMillis() + FLUSH_TIMEOUT_MS;
+        while (inFlight.get() > 0 && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void run() {
+        val batch = new ArrayList<WriteBehindEvent>(batchSize);
+        while (running) {
+            try {
+                val first = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                fillBatch(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(List<WriteBehindEvent> batch) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+
+        val deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+        while (batch.size() < batchSize) {
+            val remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+
+            val next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void drainQueue() {
+        val batch = new ArrayList<WriteBehindEvent>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<WriteBehindEvent> batch) {
+        try {
+            flushTimer.record(() -> transactionTemplate.executeWithoutResult(status -> persist(batch)));
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            // Also retries a single event once: an overflow write on a request
+            // thread can lose a recent-transfer insert race to the writer.
+            log.warn("Failed to write {} transfer side effects, retrying one at a time", batch.size(), e);
+            batch.forEach(this::writeOne);
+        } finally {
+            inFlight.addAndGet(-batch.size());
+        }
+    }
+
+    private void writeOne(WriteBehindEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(List.of(event)));
+            writtenCounter.increment();
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.error("Failed to write transfer side effect {}", event, e);
+        }
+    }
+
+    private void persist(List<WriteBehindEvent> batch) {
+        val notifications = new ArrayList<Notification>();
+        val accountIds = new ArrayList<Long>();
+        // Only the latest transfer per (sender, recipient) pair matters.
+        val recentTransfers = new LinkedHashMap<List<Long>, RecentTransferEvent>();
+
+        for (val event : batch) {
+            if (event instanceof NotificationEvent notification) {
+                notifications.add(toNotification(notification));
+                accountIds.add(notification.accountId());
+            } else if (event instanceof RecentTransferEvent transfer) {
+                recentTransfers.merge(List.of(transfer.accountId(), transfer.recipientAccountId()), transfer,
+                        (previous, current) -> current.transferDate().before(previous.transferDate())
+                                ? previous
+                                : current);
+            }
+        }
+
+        notificationRepository.saveAll(notifications);
+        // In account id order, so concurrent batches lock counter rows in the
+        // same order and cannot deadlock.
+        accountIds.stream()
+                .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()))
+                .forEach(unreadCountService::add);
+        // Delivered to open notification streams once this batch commits.
+        for (int i = 0; i < notifications.size(); i++) {
+            eventPublisher.publishEvent(NotificationCreatedEvent.of(accountIds.get(i), notifications.get(i)));
+        }
+        recentTransferRepository.saveAll(recentTransfers.values().stream().map(this::toRecentTransfer).toList());
+    }
+
+    private Notification toNotification(NotificationEvent event) {
+        return Notification.builder()
+                .account(accountRepository.getReferenceById(event.accountId()))
+                .title(event.title())
+                .message(event.message())
+                .type(event.type())
+                .amount(event.amount())
+                .relatedAccountNumber(event.relatedAccountNumber())
+                .createdAt(event.createdAt())
+                .build();
+    }
+
+    private RecentTransfer toRecentTransfer(RecentTransferEvent event) {
+        val account = accountRepository.getReferenceById(event.accountId());
+        val recipientAccount = accountRepository.getReferenceById(event.recipientAccountId());
+
+        val recent = recentTransferRepository.findByAccountAndRecipientAccount(account, recipientAccount)
+                .orElseGet(() -> {
+                    val created = new RecentTransfer();
+                    created.setAccount(account);
+                    created.setRecipientAccount(recipientAccount);
+                    return created;
+                });
+
+        if (recent.getLastTransferDate() == null || recent.getLastTransferDate().before(event.transferDate())) {
+            recent.setLastTransferDate(event.transferDate());
+        }
+
+        return recent;
+    }
+
+}
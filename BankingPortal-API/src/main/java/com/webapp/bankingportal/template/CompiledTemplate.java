@@ -0,0 +1,114 @@
+package com.webapp.bankingportal.template;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Map;
+
+import lombok.val;
+
+/**
+ * A template parsed into alternating literal and variable segments.
+ *
+ * {@code {{name}}} inserts the HTML-escaped value of {@code name};
+ * {@code {{{name}}}} inserts it unescaped. Parsing happens once; rendering
+ * only looks up and escapes the values.
+ */
+public final class CompiledTemplate {
+
+    private final String name;
+
+    // literals[i] precedes variables[i]; the last literal has no variable.
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean[] escaped;
+
+    private CompiledTemplate(String name, String[] literals, String[] variables, boolean[] escaped) {
+        this.name = name;
+        this.literals = literals;
+        this.variables = variables;
+        this.escaped = escaped;
+    }
+
+    public static CompiledTemplate compile(String name, String source) {
+        val literals = new ArrayList<String>();
+        val variables = new ArrayList<String>();
+        val escaped = new ArrayList<Boolean>();
+
+        var position = 0;
+        while (true) {
+            val open = source.indexOf("{{", position);
+            if (open < 0) {
+                literals.add(source.substring(position));
+                break;
+            }
+
+            val raw = source.startsWith("{{{", open);
+            val close = source.indexOf(raw ? "}}}" : "}}", open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template " + name + " at " + open);
+            }
+
+            val variable = source.substring(open + (raw ? 3 : 2), close).trim();
+            if (variable.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder in template " + name + " at " + open);
+            }
+
+            literals.add(source.substring(position, open));
+            variables.add(variable);
+            escaped.add(!raw);
+            position = close + (raw ? 3 : 2);
+        }
+
+        val escapedFlags = new boolean[escaped.size()];
+        for (int i = 0; i < escapedFlags.length; i++) {
+            escapedFlags[i] = escaped.get(i);
+        }
+
+        return new CompiledTemplate(name, literals.toArray(String[]::new), variables.toArray(String[]::new),
+                escapedFlags);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Renders to a new string. The segments are collected first and joined in
+     * one pass, so the result is sized exactly and copied once.
+     */
+    public String render(Map<String, ?> model) {
+        val parts = new String[literals.length + variables.length];
+        for (int i = 0; i < variables.length; i++) {
+            parts[2 * i] = literals[i];
+
+            val text = valueOf(i, model);
+            parts[2 * i + 1] = escaped[i] ? HtmlEscaper.escape(text) : text;
+        }
+        parts[parts.length - 1] = literals[literals.length - 1];
+        return String.join("", parts);
+    }
+
+    public void renderTo(Appendable out, Map<String, ?> model) throws IOException {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+
+            val text = valueOf(i, model);
+            if (escaped[i]) {
+                HtmlEscaper.escape(text, out);
+            } else {
+                out.append(text);
+            }
+        }
+        out.append(literals[literals.length - 1]);
+    }
+
+    private String valueOf(int index, Map<String, ?> model) {
+        val variable = variables[index];
+        val value = model.get(variable);
+        if (value == null && !model.containsKey(variable)) {
+            throw new IllegalArgumentException("Missing value for " + variable + " in template " + name);
+        }
+        return String.valueOf(value);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.webapp.bankingportal.template;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+
+import lombok.val;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads every {@code email-templates/*.html} resource once at startup and
+ * compiles it into a {@link CompiledTemplate}.
+ *
+ * <p>Each line of a template file is stripped of surrounding whitespace and
+ * the lines are joined without separators, so files can be indented freely
+ * but a sentence must not be broken across lines.
+ *
+ * <p>Localised variants follow the {@link java.util.ResourceBundle} naming
+ * scheme: {@code otp_vi_VN.html}, then {@code otp_vi.html}, then
+ * {@code otp.html}.
+ */
+@Slf4j
+@Component
+public class EmailTemplateEngine {
+
+    public static final String LOCATION = "classpath*:email-templates/*.html";
+
+    private final Map<String, CompiledTemplate> templates = new HashMap<>();
+    private final Map<String, Map<Locale, CompiledTemplate>> resolved = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        try {
+            for (val resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                val fileName = resource.getFilename();
+                val name = fileName.substring(0, fileName.length() - ".html".length());
+                val source = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8)
+                        .lines()
+                        .map(String::strip)
+                        .collect(Collectors.joining());
+                templates.put(name, CompiledTemplate.compile(name, source));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load email templates", e);
+        }
+
+        log.info("Compiled email templates {}", templates.keySet());
+    }
+
+    public String render(String name, Locale locale, Map<String, ?> model) {
+        return resolve(name, locale).render(model);
+    }
+
+    public void render(String name, Locale locale, Map<String, ?> model, Writer writer) throws IOException {
+        resolve(name, locale).renderTo(writer, model);
+    }
+
+    private CompiledTemplate resolve(String name, Locale locale) {
+        return resolved.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(locale, key -> lookup(name, key));
+    }
+
+    private CompiledTemplate lookup(String name, Locale locale) {
+        val language = locale.getLanguage();
+        val country = locale.getCountry();
+
+        if (!language.isEmpty() && !country.isEmpty()
+                && templates.containsKey(name + "_" + language + "_" + country)) {
+            return templates.get(name + "_" + language + "_" + country);
+        }
+        if (!language.isEmpty() && templates.containsKey(name + "_" + language)) {
+            return templates.get(name + "_" + language);
+        }
+        if (templates.containsKey(name)) {
+            return templates.get(name);
+        }
+
+        throw new IllegalArgumentException("Unknown email template " + name);
+    }
+
+}
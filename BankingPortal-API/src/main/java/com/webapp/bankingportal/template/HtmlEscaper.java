@@ -0,0 +1,66 @@
+package com.webapp.bankingportal.template;
+
+import java.io.IOException;
+
+import lombok.val;
+
+public final class HtmlEscaper {
+
+    private HtmlEscaper() {
+    }
+
+    /**
+     * Returns {@code text} itself when it has nothing to escape.
+     */
+    public static String escape(String text) {
+        if (!needsEscaping(text)) {
+            return text;
+        }
+
+        val out = new StringBuilder(text.length() + 16);
+        try {
+            escape(text, out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringBuilder does not throw
+        }
+        return out.toString();
+    }
+
+    private static boolean needsEscaping(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            switch (text.charAt(i)) {
+                case '&', '<', '>', '"', '\'' -> {
+                    return true;
+                }
+                default -> {
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appends {@code text} with {@code & < > " '} replaced by entities. Runs of
+     * safe characters are appended in one call.
+     */
+    public static void escape(CharSequence text, Appendable out) throws IOException {
+        var start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final String entity;
+            switch (text.charAt(i)) {
+                case '&' -> entity = "&amp;";
+                case '<' -> entity = "&lt;";
+                case '>' -> entity = "&gt;";
+                case '"' -> entity = "&quot;";
+                case '\'' -> entity = "&#39;";
+                default -> {
+                    continue;
+                }
+            }
+            out.append(text, start, i).append(entity);
+            start = i + 1;
+        }
+        out.append(text, start, text.length());
+    }
+
+}
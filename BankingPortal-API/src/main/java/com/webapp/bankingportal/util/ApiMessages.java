@@ -19,11 +19,15 @@ public enum ApiMessages {
     EMAIL_SUBJECT_OTP("OTP Verification"),
     GEOLOCATION_FAILED("Failed to get geolocation for IP: %s"),
     IDENTIFIER_MISSING_ERROR("Missing identifier"),
+    NOTIFICATION_BULK_ACTION_MISSING_ERROR("Missing bulk action"),
+    NOTIFICATION_BULK_SELECTION_ERROR("Specify either notification ids or a date range"),
+    NOTIFICATION_BULK_TOO_MANY_IDS_ERROR("At most %d notification ids per request"),
+    NOTIFICATION_NOT_FOUND("Notification not found: %d"),
     OTP_GENERATION_LIMIT_EXCEEDED("OTP generation limit exceeded. Please try again after %d minutes"),
     OTP_INVALID_ERROR("Invalid OTP"),
     OTP_MISSING_ERROR("Missing OTP"),
-    OTP_SENT_FAILURE("{\"message\": \"Failed to send OTP to: %s\"}"),
     OTP_SENT_SUCCESS("{\"message\": \"OTP sent successfully to: %s\"}"),
+    PAGINATION_CURSOR_INVALID_ERROR("Invalid pagination cursor"),
     PASSWORD_CONTAINS_WHITESPACE_ERROR("Password cannot contain any whitespace characters"),
     PASSWORD_EMPTY_ERROR("Password cannot be empty"),
     PASSWORD_INVALID_ERROR("Invalid password"),
@@ -41,6 +45,11 @@ public enum ApiMessages {
     PIN_INVALID_ERROR("Invalid PIN"),
     PIN_NOT_CREATED("PIN has not been created for this account"),
     PIN_UPDATE_SUCCESS("{\"hasPIN\": false, \"msg\": \"PIN updated successfully\"}"),
+    SERVICE_BUSY_ERROR("{\"message\": \"Server is busy, please retry in %d seconds\"}"),
+    STATEMENT_FORMAT_INVALID_ERROR("Unsupported statement format: %s"),
+    STATEMENT_JOB_ACCEPTED("{\"jobId\": \"%s\", \"message\": \"Bank statement is being generated and will be sent to your email.\"}"),
+    STATEMENT_JOB_NOT_FOUND("Statement job not found: %s"),
+    STATEMENT_QUEUE_FULL_ERROR("Too many statements are being generated"),
     TOKEN_ALREADY_EXISTS_ERROR("Token already exists"),
     TOKEN_EMPTY_ERROR("Token is empty"),
     TOKEN_EXPIRED_ERROR("Token has expired"),
@@ -0,0 +1,215 @@
+package com.webapp.bankingportal.util;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import lombok.val;
+
+/**
+ * Read-only IPv4 range table backed by a memory-mapped file.
+ *
+ * File layout, big-endian:
+ *
+ * <pre>
+ * int     magic "GEO1"
+ * int     string count, then per string: unsigned short length, UTF-8 bytes
+ * int     range count, then per range: int start, int end, int city, int country
+ * </pre>
+ *
+ * Ranges are inclusive, sorted by start and non-overlapping, with addresses
+ * compared as unsigned. City and country are indexes into the string table,
+ * so each name is stored once. Only the strings are copied to the heap;
+ * lookups binary-search the mapped ranges in place.
+ *
+ * A mapped file must not be rewritten while in use. Replace it with an atomic
+ * move instead; the old mapping stays valid until it is garbage collected.
+ */
+public final class IpRangeTable {
+
+    public static final int MAGIC = 0x47454F31;
+
+    private static final int RANGE_INTS = 4;
+
+    public record Range(int start, int end, String city, String country) {
+    }
+
+    public record Location(String city, String country) {
+    }
+
+    private final String[] strings;
+    private final IntBuffer ranges;
+    private final int size;
+
+    private IpRangeTable(String[] strings, IntBuffer ranges, int size) {
+        this.strings = strings;
+        this.ranges = ranges;
+        this.size = size;
+    }
+
+    public static IpRangeTable load(Path file) throws IOException {
+        try (val channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping outlives the channel.
+            val buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IOException("Not an IP range table: " + file);
+                }
+
+                // Every string takes at least its two length bytes.
+                val stringCount = buffer.getInt();
+                if (stringCount < 0 || stringCount > buffer.remaining() / 2) {
+                    throw new IOException("Corrupt IP range table header: " + file);
+                }
+
+                val strings = new String[stringCount];
+                for (int i = 0; i < strings.length; i++) {
+                    val bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+                    buffer.get(bytes);
+                    strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+
+                val size = buffer.getInt();
+                val ranges = buffer.slice(buffer.position(), Math.multiplyExact(size, RANGE_INTS * 4))
+                        .asIntBuffer();
+                val table = new IpRangeTable(strings, ranges, size);
+                table.validate(file);
+                return table;
+
+            } catch (BufferUnderflowException | IndexOutOfBoundsException | ArithmeticException e) {
+                throw new IOException("Truncated IP range table: " + file, e);
+            }
+        }
+    }
+
+    // Binary search is only correct on sorted, disjoint ranges.
+    private void validate(Path file) throws IOException {
+        for (int i = 0; i < size; i++) {
+            val start = ranges.get(i * RANGE_INTS);
+            val end = ranges.get(i * RANGE_INTS + 1);
+            val city = ranges.get(i * RANGE_INTS + 2);
+            val country = ranges.get(i * RANGE_INTS + 3);
+
+            if (Integer.compareUnsigned(start, end) > 0
+                    || (i > 0 && Integer.compareUnsigned(ranges.get((i - 1) * RANGE_INTS + 1), start) >= 0)
+                    || city < 0 || city >= strings.length || country < 0 || country >= strings.length) {
+                throw new IOException("Corrupt IP range table at range " + i + ": " + file);
+            }
+        }
+    }
+
+    /**
+     * @return the location of the range containing {@code ip}, or
+     *         {@code null} if no range does
+     */
+    public Location lookup(int ip) {
+        var low = 0;
+        var high = size - 1;
+        var candidate = -1;
+
+        // Last range starting at or before ip.
+        while (low <= high) {
+            val mid = (low + high) >>> 1;
+            if (Integer.compareUnsigned(ranges.get(mid * RANGE_INTS), ip) <= 0) {
+                candidate = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        if (candidate < 0 || Integer.compareUnsigned(ip, ranges.get(candidate * RANGE_INTS + 1)) > 0) {
+            return null;
+        }
+
+        return new Location(strings[ranges.get(candidate * RANGE_INTS + 2)],
+                strings[ranges.get(candidate * RANGE_INTS + 3)]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the address as an unsigned int in the low 32 bits, or -1 if
+     *         {@code ip} is not a dotted-quad IPv4 literal
+     */
+    public static long parseIpv4(String ip) {
+        if (ip == null) {
+            return -1;
+        }
+
+        long address = 0;
+        var octet = -1;
+        var dots = 0;
+        for (int i = 0; i < ip.length(); i++) {
+            val c = ip.charAt(i);
+            if (c == '.') {
+                if (octet < 0 || ++dots > 3) {
+                    return -1;
+                }
+                address = (address << 8) | octet;
+                octet = -1;
+            } else if (c >= '0' && c <= '9') {
+                octet = octet < 0 ? c - '0' : octet * 10 + (c - '0');
+                if (octet > 255) {
+                    return -1;
+                }
+            } else {
+                return -1;
+            }
+        }
+
+        if (octet < 0 || dots != 3) {
+            return -1;
+        }
+        return (address << 8) | octet;
+    }
+
+    public static void write(Path file, List<Range> ranges) throws IOException {
+        val sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparingLong(range -> Integer.toUnsignedLong(range.start())));
+
+        val strings = new LinkedHashMap<String, Integer>();
+        for (val range : sorted) {
+            strings.putIfAbsent(range.city(), strings.size());
+            strings.putIfAbsent(range.country(), strings.size());
+        }
+
+        try (val out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+
+            out.writeInt(strings.size());
+            for (val string : strings.keySet()) {
+                val bytes = string.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 0xFFFF) {
+                    throw new IllegalArgumentException("Name too long: " + string);
+                }
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(sorted.size());
+            for (val range : sorted) {
+                out.writeInt(range.start());
+                out.writeInt(range.end());
+                out.writeInt(strings.get(range.city()));
+                out.writeInt(strings.get(range.country()));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.webapp.bankingportal.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import lombok.val;
+
+/**
+ * Opaque position in a feed ordered by {@code (timestamp DESC, id DESC)}.
+ *
+ * The token handed to clients is the URL-safe Base64 form of
+ * {@code "<epochMillis>:<id>"}, so it stays stable across requests and does not
+ * depend on offsets that shift when new rows are inserted.
+ */
+public record KeysetCursor(long timestamp, long id) {
+
+    public static KeysetCursor of(Date date, Long id) {
+        return new KeysetCursor(date.getTime(), id);
+    }
+
+    public Date date() {
+        return new Date(timestamp);
+    }
+
+    public String encode() {
+        val raw = timestamp + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token previously produced by {@link #encode()}.
+     *
+     * @param token the cursor token, may be {@code null} or blank for the first page
+     * @return the decoded cursor, or {@code null} when no token was given
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            val raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            val separator = raw.indexOf(':');
+            return new KeysetCursor(
+                    Long.parseLong(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException(ApiMessages.PAGINATION_CURSOR_INVALID_ERROR.getMessage());
+        }
+    }
+
+}
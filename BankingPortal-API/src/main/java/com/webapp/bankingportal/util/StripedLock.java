@@ -0,0 +1,61 @@
+package com.webapp.bankingportal.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+import lombok.val;
+
+/**
+ * A fixed set of {@link ReentrantLock}s addressed by key hash.
+ *
+ * Callers that touch several keys get their stripes locked in ascending stripe
+ * order, so two threads locking the same pair of keys in opposite argument order
+ * can never deadlock. Unrelated keys may share a stripe; that only costs some
+ * extra serialization, never correctness.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] stripes;
+
+    public StripedLock(int stripeCount) {
+        if (stripeCount <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive");
+        }
+
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Run the given action while holding the stripes of every key.
+     *
+     * @param action the action to run
+     * @param keys   the keys to lock, {@code null} keys are allowed
+     */
+    public void runLocked(Runnable action, Object... keys) {
+        val indexes = stripeIndexes(keys);
+        for (val index : indexes) {
+            stripes[index].lock();
+        }
+
+        try {
+            action.run();
+        } finally {
+            for (int i = indexes.length - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    private int[] stripeIndexes(Object... keys) {
+        return Arrays.stream(keys)
+                .mapToInt(key -> Math.floorMod(Objects.hashCode(key), stripes.length))
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+}
@@ -11,6 +11,8 @@ import com.google.i18n.phonenumbers.Phonenumber.PhoneNumber;
 import com.webapp.bankingportal.entity.User;
 import com.webapp.bankingportal.exception.UserInvalidException;
 import com.webapp.bankingportal.repository.UserRepository;
+import com.webapp.bankingportal.service.AccountProfileService;
+import com.webapp.bankingportal.service.RegisteredEmailFilter;
 
 import jakarta.mail.internet.AddressException;
 import jakarta.mail.internet.InternetAddress;
@@ -26,6 +28,8 @@ public class ValidationUtil {
     public static final PhoneNumberUtil phoneNumberUtil = PhoneNumberUtil.getInstance();
 
     private final UserRepository userRepository;
+    private final AccountProfileService accountProfileService;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     public static boolean isValidEmail(String identifier) {
         try {
@@ -167,7 +171,7 @@ public class ValidationUtil {
 
     public void validateNewUser(User user) {
         validateUserDetails(user);
-        if (doesEmailExist(user.getEmail())) {
+        if (registeredEmailFilter.isRegistered(user.getEmail())) {
             throw new UserInvalidException(ApiMessages.USER_EMAIL_ALREADY_EXISTS_ERROR.getMessage());
         }
         if (doesPhoneNumberExist(user.getPhoneNumber())) {
@@ -176,15 +180,15 @@ public class ValidationUtil {
     }
 
     public boolean doesAccountExist(String accountNumber) {
-        return userRepository.findByAccountAccountNumber(accountNumber).isPresent();
+        return accountProfileService.findByAccountNumber(accountNumber).isPresent();
     }
 
     public boolean doesEmailExist(String email) {
-        return userRepository.findByEmail(email).isPresent();
+        return userRepository.existsByEmail(email);
     }
 
     public boolean doesPhoneNumberExist(String phoneNumber) {
-        return userRepository.findByPhoneNumber(phoneNumber).isPresent();
+        return userRepository.existsByPhoneNumber(phoneNumber);
     }
 
 }
@@ -0,0 +1,102 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.TransactionType;
+import com.webapp.bankingportal.exception.InsufficientBalanceException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.TransactionRepository;
+
+import lombok.val;
+
+// Worker threads need to see committed rows, so opt out of the per-test rollback.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AccountConcurrencyTests extends BaseTest {
+
+    private static final int ACCOUNTS = 8;
+    private static final int TRANSFERS = 10_000;
+    private static final int THREADS = 16;
+    private static final double INITIAL_BALANCE = 10_000;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TransactionRepository transactionRepository;
+
+    @Test
+    public void test_parallel_transfers_conserve_total_balance() throws Exception {
+        val pin = getRandomPin();
+        // BCrypt reads the cost from the hash, so a cost-4 PIN keeps 10k checks cheap.
+        val pinHash = new BCryptPasswordEncoder(4).encode(pin);
+
+        val accountNumbers = new ArrayList<String>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            val accountNumber = createAccount().get("accountNumber");
+            val account = accountRepository.findByAccountNumber(accountNumber);
+            account.setPin(pinHash);
+            account.setBalance(INITIAL_BALANCE);
+            accountRepository.save(account);
+            accountNumbers.add(accountNumber);
+        }
+
+        val succeeded = new AtomicInteger();
+        val rejected = new AtomicInteger();
+        val executor = Executors.newFixedThreadPool(THREADS);
+        val futures = new ArrayList<Future<?>>(TRANSFERS);
+        val random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < TRANSFERS; i++) {
+            val source = random.nextInt(ACCOUNTS);
+            val target = (source + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            val amount = 100.0 * (1 + random.nextInt(50));
+
+            futures.add(executor.submit(() -> {
+                try {
+                    accountService.fundTransfer(accountNumbers.get(source), accountNumbers.get(target), pin, amount);
+                    succeeded.incrementAndGet();
+                } catch (InsufficientBalanceException e) {
+                    rejected.incrementAndGet();
+                }
+            }));
+        }
+
+        for (val future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        Assertions.assertEquals(TRANSFERS, succeeded.get() + rejected.get());
+
+        var total = 0.0;
+        var recordedTransfers = 0L;
+        for (val accountNumber : accountNumbers) {
+            val balance = accountRepository.findByAccountNumber(accountNumber).getBalance();
+            Assertions.assertTrue(balance >= 0);
+            total += balance;
+
+            List<?> sent = transactionRepository.findAllByAccountNumberNewestFirst(accountNumber).stream()
+                    .filter(t -> t.getTransactionType() == TransactionType.CASH_TRANSFER
+                            && t.getSourceAccountNumber().equals(accountNumber))
+                    .toList();
+            recordedTransfers += sent.size();
+        }
+
+        Assertions.assertEquals(ACCOUNTS * INITIAL_BALANCE, total);
+        Assertions.assertEquals(succeeded.get(), recordedTransfers);
+    }
+
+}
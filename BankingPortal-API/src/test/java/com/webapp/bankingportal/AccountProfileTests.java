@@ -0,0 +1,122 @@
+package com.webapp.bankingportal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.entity.AccountProfileInvalidation;
+import com.webapp.bankingportal.repository.AccountProfileInvalidationRepository;
+import com.webapp.bankingportal.service.AccountProfileService;
+import com.webapp.bankingportal.service.DashboardService;
+import com.webapp.bankingportal.service.UserService;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+public class AccountProfileTests extends BaseTest {
+
+    @Autowired
+    AccountProfileService accountProfileService;
+
+    @Autowired
+    AccountProfileInvalidationRepository invalidationRepository;
+
+    @Autowired
+    DashboardService dashboardService;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "accountProfile")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    @Test
+    public void test_repeated_reads_are_served_from_cache() throws Exception {
+        val accountNumber = createAndLoginUser().get("accountNumber");
+        val hitsBefore = cacheHits();
+
+        dashboardService.getUserDetails(accountNumber);
+        dashboardService.getUserDetails(accountNumber);
+        tokenService.loadUserByUsername(accountNumber);
+
+        Assertions.assertTrue(cacheHits() - hitsBefore >= 3);
+    }
+
+    @Test
+    public void test_update_user_refreshes_profile() throws Exception {
+        val userDetails = createAndLoginUser();
+        val accountNumber = userDetails.get("accountNumber");
+        dashboardService.getUserDetails(accountNumber);
+
+        val updatedUser = createUser();
+        updatedUser.setPassword(userDetails.get("password"));
+        updatedUser.setPhoneNumber(getRandomPhoneNumber(userDetails.get("countryCode")));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/update")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("Authorization", "Bearer " + userDetails.get("token"))
+                .content(JsonUtil.toJson(updatedUser)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        val userResponse = dashboardService.getUserDetails(accountNumber);
+        Assertions.assertEquals(updatedUser.getName(), userResponse.getName());
+        Assertions.assertEquals(updatedUser.getEmail(), userResponse.getEmail());
+    }
+
+    @Test
+    public void test_reset_password_refreshes_login() throws Exception {
+        val accountNumber = createAndLoginUser().get("accountNumber");
+        tokenService.loadUserByUsername(accountNumber);
+
+        val newPassword = getRandomPassword();
+        userService.resetPassword(userService.getUserByAccountNumber(accountNumber), newPassword);
+
+        val userDetails = tokenService.loadUserByUsername(accountNumber);
+        Assertions.assertTrue(passwordEncoder.matches(newPassword, userDetails.getPassword()));
+    }
+
+    @Test
+    public void test_change_made_by_other_pod() throws Exception {
+        val accountNumber = createAndLoginUser().get("accountNumber");
+        dashboardService.getUserDetails(accountNumber);
+
+        // Simulate another pod's update, which only reaches us through the table.
+        val user = userRepository.findByAccountAccountNumber(accountNumber).get();
+        val newName = faker.name().fullName();
+        user.setName(newName);
+        userRepository.saveAndFlush(user);
+        invalidationRepository.save(new AccountProfileInvalidation(accountNumber));
+
+        Assertions.assertNotEquals(newName, dashboardService.getUserDetails(accountNumber).getName());
+
+        accountProfileService.sync();
+
+        Assertions.assertEquals(newName, dashboardService.getUserDetails(accountNumber).getName());
+    }
+
+    @Test
+    public void test_account_details_read_current_balance() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000);
+        val accountNumber = userDetails.get("accountNumber");
+        Assertions.assertEquals(1000, dashboardService.getAccountDetails(accountNumber).getBalance());
+
+        accountService.cashDeposit(accountNumber, userDetails.get("pin"), 500);
+
+        Assertions.assertEquals(1500, dashboardService.getAccountDetails(accountNumber).getBalance());
+    }
+
+}
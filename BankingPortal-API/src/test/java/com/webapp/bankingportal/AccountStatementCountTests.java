@@ -0,0 +1,106 @@
+package com.webapp.bankingportal;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.service.WriteBehindService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import lombok.val;
+
+// Each call must commit on its own so that flushed UPDATEs are counted too.
+// The write-behind batch is held back and the email outbox poller slowed down
+// so that neither can land inside the measurement.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = { "writebehind.linger-ms=500", "email.outbox.poll-interval-ms=3600000" })
+public class AccountStatementCountTests extends BaseTest {
+
+    // One PIN read before the locks are taken, one locking SELECT per account,
+    // one INSERT for the transaction row and one UPDATE per changed balance.
+    // Notifications and recent transfers are written behind.
+    private static final long MAX_DEPOSIT_STATEMENTS = 4;
+    private static final long MAX_WITHDRAWAL_STATEMENTS = 4;
+    private static final long MAX_TRANSFER_STATEMENTS = 6;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    WriteBehindService writeBehindService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void disableStatistics() {
+        writeBehindService.flush();
+        statistics.setStatisticsEnabled(false);
+    }
+
+    private String createFundedAccount(String pin) {
+        val accountNumber = createAccount().get("accountNumber");
+        val account = accountRepository.findByAccountNumber(accountNumber);
+        account.setPin(new BCryptPasswordEncoder(4).encode(pin));
+        account.setBalance(10_000);
+        accountRepository.save(account);
+        return accountNumber;
+    }
+
+    private long countStatements(Runnable operation) {
+        statistics.clear();
+        operation.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    public void test_cash_deposit_statement_count() {
+        val pin = getRandomPin();
+        val accountNumber = createFundedAccount(pin);
+
+        val statements = countStatements(() -> accountService.cashDeposit(accountNumber, pin, 100));
+        Assertions.assertTrue(statements <= MAX_DEPOSIT_STATEMENTS,
+                "cashDeposit executed " + statements + " statements");
+    }
+
+    @Test
+    public void test_cash_withdrawal_statement_count() {
+        val pin = getRandomPin();
+        val accountNumber = createFundedAccount(pin);
+
+        val statements = countStatements(() -> accountService.cashWithdrawal(accountNumber, pin, 100));
+        Assertions.assertTrue(statements <= MAX_WITHDRAWAL_STATEMENTS,
+                "cashWithdrawal executed " + statements + " statements");
+    }
+
+    @Test
+    public void test_fund_transfer_statement_count() {
+        val pin = getRandomPin();
+        val sourceAccountNumber = createFundedAccount(pin);
+        val targetAccountNumber = createFundedAccount(getRandomPin());
+
+        val statements = countStatements(
+                () -> accountService.fundTransfer(sourceAccountNumber, targetAccountNumber, pin, 100));
+        Assertions.assertTrue(statements <= MAX_TRANSFER_STATEMENTS,
+                "fundTransfer executed " + statements + " statements");
+    }
+
+}
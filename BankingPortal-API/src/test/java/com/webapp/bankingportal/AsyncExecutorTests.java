@@ -0,0 +1,131 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.context.TestPropertySource;
+
+import com.webapp.bankingportal.config.AsyncConfig;
+import com.webapp.bankingportal.service.GeolocationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+// Every lookup fails in tests; keep the breaker from short-circuiting them.
+@TestPropertySource(properties = "geo.breaker.failure-threshold=1000000")
+public class AsyncExecutorTests extends BaseTest {
+
+    @Autowired
+    @Qualifier(AsyncConfig.EMAIL_EXECUTOR)
+    private AsyncTaskExecutor emailExecutor;
+
+    @Autowired
+    @Qualifier(AsyncConfig.GEOLOCATION_EXECUTOR)
+    private AsyncTaskExecutor geolocationExecutor;
+
+    @Autowired
+    private GeolocationService geolocationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void test_email_executor_propagates_mdc() throws Exception {
+        MDC.put("requestId", "abc-123");
+        try {
+            val seen = emailExecutor.submitCompletable(
+                    () -> Thread.currentThread().getName() + "|" + MDC.get("requestId"))
+                    .get(5, TimeUnit.SECONDS);
+
+            Assertions.assertTrue(seen.startsWith("email-"), seen);
+            Assertions.assertTrue(seen.endsWith("|abc-123"), seen);
+        } finally {
+            MDC.remove("requestId");
+        }
+    }
+
+    @Test
+    public void test_geolocation_lookup_runs_on_geolocation_executor() throws InterruptedException {
+        val latency = meterRegistry.get("async.task.latency").tag("executor", "geolocation").timer();
+        val before = latency.count();
+
+        // A fresh address, so the lookup is not answered from the cache.
+        geolocationService.getGeolocation(faker.internet().publicIpV4Address())
+                .handle((response, error) -> null).join();
+
+        // The timer stops just after the task completes its future.
+        val deadline = System.currentTimeMillis() + 5_000;
+        while (latency.count() <= before && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(latency.count() > before);
+    }
+
+    @Test
+    public void test_full_geolocation_executor_fails_lookup_without_failing_login() throws Exception {
+        val release = new CountDownLatch(1);
+        val blockers = new ArrayList<CompletableFuture<Void>>();
+        val rejected = meterRegistry.get("async.executor.rejected").tag("executor", "geolocation").counter();
+        val active = meterRegistry.get("async.executor.active").tag("executor", "geolocation").gauge();
+        val poolSize = meterRegistry.get("async.executor.pool.size").tag("executor", "geolocation").gauge();
+        val queued = meterRegistry.get("async.executor.queue.depth").tag("executor", "geolocation").gauge();
+        val rejectedBefore = rejected.count();
+
+        // Let lookups left over from other tests finish first.
+        val deadline = System.currentTimeMillis() + 10_000;
+        while ((active.value() > 0 || queued.value() > 0) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        try {
+            fill(release, blockers);
+
+            // A thread that was still winding down takes a blocker off the
+            // queue; once every thread holds one, top the queue up again.
+            while (active.value() < poolSize.value() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            fill(release, blockers);
+
+            val rejectedWhenFull = rejected.count();
+            Assertions.assertTrue(rejectedWhenFull > rejectedBefore);
+            Assertions.assertTrue(queued.value() > 0);
+
+            val lookup = geolocationService.getGeolocation(faker.internet().publicIpV4Address());
+            Assertions.assertTrue(lookup.isCompletedExceptionally());
+            Assertions.assertEquals(rejectedWhenFull + 1, rejected.count());
+
+            // Login still succeeds; only the location in the alert is lost.
+            createAndLoginUser();
+        } finally {
+            release.countDown();
+            CompletableFuture.allOf(blockers.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    // Submits tasks that wait for the latch until the executor rejects one.
+    private void fill(CountDownLatch release, List<CompletableFuture<Void>> blockers) {
+        while (true) {
+            try {
+                blockers.add(geolocationExecutor.submitCompletable(() -> {
+                    release.await();
+                    return null;
+                }));
+            } catch (TaskRejectedException e) {
+                return;
+            }
+        }
+    }
+
+}
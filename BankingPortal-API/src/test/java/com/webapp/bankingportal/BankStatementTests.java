@@ -0,0 +1,224 @@
+package com.webapp.bankingportal;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.jayway.jsonpath.JsonPath;
+import com.webapp.bankingportal.config.AsyncConfig;
+import com.webapp.bankingportal.entity.StatementJob;
+import com.webapp.bankingportal.repository.StatementJobRepository;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Part;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+
+import lombok.val;
+
+// The statement worker reads the account and records progress in its own
+// transactions on another thread.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BankStatementTests extends BaseTest {
+
+    private static final long COMPLETION_TIMEOUT_MS = 30_000;
+
+    @Autowired
+    StatementJobRepository statementJobRepository;
+
+    @Autowired
+    @Qualifier(AsyncConfig.STATEMENT_EXECUTOR)
+    AsyncTaskExecutor statementExecutor;
+
+    @Test
+    public void test_csv_statement_is_generated_and_sent() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000);
+        val target = createAccountWithInitialBalance(1000);
+        accountService.cashWithdrawal(userDetails.get("accountNumber"), userDetails.get("pin"), 100);
+        accountService.fundTransfer(userDetails.get("accountNumber"), target.get("accountNumber"),
+                userDetails.get("pin"), 200);
+
+        val jobId = submit(userDetails, "csv");
+        val status = awaitCompletion(userDetails, jobId);
+
+        Assertions.assertEquals("SENT", JsonPath.read(status, "$.status"));
+        Assertions.assertEquals(3, (int) JsonPath.read(status, "$.transactionCount"));
+        Assertions.assertNotNull(JsonPath.read(status, "$.completedAt"));
+
+        val attachment = getAttachment(userDetails.get("email"), ".csv");
+        val lines = attachment.strip().split("\r?\n");
+        Assertions.assertEquals("id,date,type,amount,source_account,target_account", lines[0]);
+        Assertions.assertEquals(4, lines.length);
+        Assertions.assertTrue(lines[1].contains(target.get("accountNumber")));
+    }
+
+    @Test
+    public void test_html_statement_is_generated_and_sent() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000);
+
+        val jobId = submit(userDetails, "html");
+        val status = awaitCompletion(userDetails, jobId);
+
+        Assertions.assertEquals("SENT", JsonPath.read(status, "$.status"));
+        Assertions.assertEquals(1, (int) JsonPath.read(status, "$.transactionCount"));
+
+        val attachment = getAttachment(userDetails.get("email"), ".html");
+        Assertions.assertTrue(attachment.startsWith("<html>"));
+        Assertions.assertTrue(attachment.contains(userDetails.get("accountNumber")));
+        Assertions.assertTrue(attachment.contains("CASH_DEPOSIT"));
+    }
+
+    @Test
+    public void test_statement_job_is_visible_from_the_database() throws Exception {
+        val userDetails = createAndLoginUserWithInitialBalance(1000);
+
+        val jobId = submit(userDetails, "csv");
+        awaitCompletion(userDetails, jobId);
+
+        // Another replica serving the poll has nothing but the stored row.
+        val job = statementJobRepository.findByJobId(jobId);
+        Assertions.assertEquals(userDetails.get("accountNumber"), job.getAccountNumber());
+        Assertions.assertEquals(StatementJob.Status.SENT, job.getStatus());
+        Assertions.assertEquals(1, job.getTransactionCount());
+    }
+
+    @Test
+    public void test_statement_job_of_another_account_is_not_found() throws Exception {
+        val owner = createAndLoginUserWithInitialBalance(1000);
+        val other = createAndLoginUser();
+
+        val jobId = submit(owner, "csv");
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/statements/" + jobId)
+                .header("Authorization", "Bearer " + other.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andExpect(MockMvcResultMatchers.content()
+                        .string(String.format(ApiMessages.STATEMENT_JOB_NOT_FOUND.getMessage(), jobId)));
+    }
+
+    @Test
+    public void test_statement_with_invalid_format() throws Exception {
+        val userDetails = createAndLoginUser();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/send-statement")
+                .param("format", "pdf")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content()
+                        .string(String.format(ApiMessages.STATEMENT_FORMAT_INVALID_ERROR.getMessage(), "pdf")));
+    }
+
+    @Test
+    public void test_statement_is_rejected_when_the_executor_is_full() throws Exception {
+        val userDetails = createAndLoginUser();
+
+        // Occupy every statement thread and queue slot.
+        val release = new CountDownLatch(1);
+        try {
+            while (true) {
+                statementExecutor.execute(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        } catch (TaskRejectedException e) {
+            // Full.
+        }
+
+        try {
+            mockMvc.perform(MockMvcRequestBuilders
+                    .get("/api/account/send-statement")
+                    .header("Authorization", "Bearer " + userDetails.get("token")))
+                    .andExpect(MockMvcResultMatchers.status().isServiceUnavailable())
+                    .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            release.countDown();
+        }
+
+        val jobs = statementJobRepository.findAll().stream()
+                .filter(job -> job.getAccountNumber().equals(userDetails.get("accountNumber")))
+                .toList();
+        Assertions.assertEquals(1, jobs.size());
+        Assertions.assertEquals(StatementJob.Status.REJECTED, jobs.get(0).getStatus());
+    }
+
+    private String submit(HashMap<String, String> userDetails, String format) throws Exception {
+        val result = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/account/send-statement")
+                .param("format", format)
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andReturn();
+
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.jobId");
+    }
+
+    private String awaitCompletion(HashMap<String, String> userDetails, String jobId) throws Exception {
+        val deadline = System.currentTimeMillis() + COMPLETION_TIMEOUT_MS;
+        while (true) {
+            val status = mockMvc.perform(MockMvcRequestBuilders
+                    .get("/api/account/statements/" + jobId)
+                    .header("Authorization", "Bearer " + userDetails.get("token")))
+                    .andExpect(MockMvcResultMatchers.status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            if (List.of("SENT", "FAILED").contains(JsonPath.<String>read(status, "$.status"))) {
+                return status;
+            }
+            Assertions.assertTrue(System.currentTimeMillis() < deadline, "Statement job did not complete: " + status);
+            Thread.sleep(50);
+        }
+    }
+
+    private static String getAttachment(String email, String extension) throws MessagingException, IOException {
+        val messages = Arrays.stream(GreenMailJavaMailSender.getReceivedMessages())
+                .filter(message -> isAddressedTo(message, email))
+                .toList();
+        Assertions.assertEquals(1, messages.size());
+
+        val multipart = (MimeMultipart) messages.get(0).getContent();
+        for (int i = 0; i < multipart.getCount(); i++) {
+            val part = multipart.getBodyPart(i);
+            if (Part.ATTACHMENT.equalsIgnoreCase(part.getDisposition())
+                    && part.getFileName().endsWith(extension)) {
+                return new String(part.getInputStream().readAllBytes());
+            }
+        }
+
+        throw new AssertionError("No " + extension + " attachment in statement email");
+    }
+
+    private static boolean isAddressedTo(MimeMessage message, String email) {
+        try {
+            return Arrays.stream(message.getRecipients(Message.RecipientType.TO))
+                    .anyMatch(address -> address.toString().equalsIgnoreCase(email))
+                    && "Your Bank Statement".equals(message.getSubject());
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
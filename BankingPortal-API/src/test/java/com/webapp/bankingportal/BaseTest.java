@@ -26,10 +26,15 @@ import com.jayway.jsonpath.JsonPath;
 import com.webapp.bankingportal.dto.AmountRequest;
 import com.webapp.bankingportal.dto.LoginRequest;
 import com.webapp.bankingportal.dto.PinRequest;
+import com.webapp.bankingportal.entity.Notification;
+import com.webapp.bankingportal.entity.NotificationType;
 import com.webapp.bankingportal.entity.User;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
 import com.webapp.bankingportal.repository.UserRepository;
 import com.webapp.bankingportal.service.AccountService;
 import com.webapp.bankingportal.service.TokenService;
+import com.webapp.bankingportal.service.UnreadCountService;
 import com.webapp.bankingportal.util.ApiMessages;
 import com.webapp.bankingportal.util.JsonUtil;
 
@@ -60,6 +65,15 @@ public abstract class BaseTest {
     @Autowired
     TokenService tokenService;
 
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UnreadCountService unreadCountService;
+
     protected static final int MIN_PASSWORD_LENGTH = 8;
     protected static final int MAX_PASSWORD_LENGTH = 127;
 
@@ -231,6 +245,21 @@ public abstract class BaseTest {
         return accountDetails;
     }
 
+    protected Notification saveNotification(String accountNumber, NotificationType type, double amount,
+            Date createdAt) {
+        val notification = notificationRepository.saveAndFlush(Notification.builder()
+                .account(accountRepository.findByAccountNumber(accountNumber))
+                .title(faker.lorem().sentence())
+                .message(faker.lorem().sentence())
+                .type(type)
+                .amount(amount)
+                .createdAt(createdAt)
+                .build());
+        // Written past NotificationService, so keep the unread counter in step.
+        unreadCountService.add(notification.getAccount().getId(), 1);
+        return notification;
+    }
+
     protected static String getTextFromMimeMultipart(MimeMultipart mimeMultipart)
             throws MessagingException, IOException {
 
@@ -0,0 +1,98 @@
+package com.webapp.bankingportal;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.webapp.bankingportal.exception.ServiceBusyException;
+import com.webapp.bankingportal.security.BoundedPasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import lombok.val;
+
+public class BoundedPasswordEncoderTests {
+
+    @Test
+    public void test_encode_and_matches_delegate() {
+        val meterRegistry = new SimpleMeterRegistry();
+        val encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 4, 1, meterRegistry);
+
+        val hash = encoder.encode("secret");
+        Assertions.assertTrue(encoder.matches("secret", hash));
+        Assertions.assertFalse(encoder.matches("other", hash));
+
+        Assertions.assertEquals(1, meterRegistry.get("password.hash.latency")
+                .tag("operation", "encode").timer().count());
+        Assertions.assertEquals(2, meterRegistry.get("password.hash.latency")
+                .tag("operation", "matches").timer().count());
+        encoder.destroy();
+    }
+
+    @Test
+    public void test_delegate_exceptions_are_rethrown() {
+        val encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, 1, new SimpleMeterRegistry());
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> encoder.encode(null));
+        encoder.destroy();
+    }
+
+    @Test
+    public void test_saturated_encoder_rejects_with_retry_after() throws Exception {
+        val started = new CountDownLatch(1);
+        val release = new CountDownLatch(1);
+        val blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+
+        val meterRegistry = new SimpleMeterRegistry();
+        // One worker and one queue slot.
+        val encoder = new BoundedPasswordEncoder(blocking, 1, 1, 7, meterRegistry);
+        val callers = Executors.newFixedThreadPool(2);
+
+        try {
+            val running = callers.submit(() -> encoder.encode("a"));
+            Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+            val queued = callers.submit(() -> encoder.encode("b"));
+
+            // Wait until the second call occupies the queue slot.
+            val deadline = System.currentTimeMillis() + 5_000;
+            while (meterRegistry.get("password.hash.queue.depth").gauge().value() < 1
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+
+            val ex = Assertions.assertThrows(ServiceBusyException.class, () -> encoder.matches("c", "c"));
+            Assertions.assertEquals(7, ex.getRetryAfterSeconds());
+            Assertions.assertEquals(1, meterRegistry.get("password.hash.rejected").counter().count());
+
+            release.countDown();
+            Assertions.assertEquals("a", running.get(5, TimeUnit.SECONDS));
+            Assertions.assertEquals("b", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            encoder.destroy();
+        }
+    }
+
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import lombok.val;
+
 public class DashboardControllerTests extends BaseTest {
 
     private HashMap<String,String> userDetails = null;
@@ -67,4 +69,19 @@ public class DashboardControllerTests extends BaseTest {
                 .get("/api/dashboard/user"))
                 .andExpect(MockMvcResultMatchers.status().isUnauthorized());
     }
+
+    @Test
+    public void test_get_account_details_after_logout() throws Exception {
+        val token = super.createAndLoginUser().get("token");
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/users/logout")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.status().isFound());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/dashboard/account")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.status().isUnauthorized());
+    }
 }
@@ -0,0 +1,170 @@
+package com.webapp.bankingportal;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.webapp.bankingportal.entity.EmailOutboxStatus;
+import com.webapp.bankingportal.repository.EmailOutboxRepository;
+import com.webapp.bankingportal.service.EmailOutboxService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+// The dispatcher reads and updates rows in its own transactions.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class EmailOutboxTests extends BaseTest {
+
+    private static final long DRAIN_TIMEOUT_MS = 30_000;
+
+    // 200 messages over a local SMTP server take well under a second; the
+    // bound only has to catch a dispatcher that sends one message per poll.
+    private static final int THROUGHPUT_MESSAGES = 200;
+    private static final long THROUGHPUT_TIMEOUT_MS = 10_000;
+
+    @Autowired
+    EmailOutboxService emailOutboxService;
+
+    @Autowired
+    EmailOutboxRepository emailOutboxRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @AfterEach
+    public void restoreSmtp() {
+        GreenMailJavaMailSender.setFailSends(false);
+    }
+
+    @Test
+    public void test_enqueue_deduplicates_by_key() {
+        val key = "test:" + UUID.randomUUID();
+        val deduplicated = meterRegistry.counter("email.outbox.deduplicated");
+        val before = deduplicated.count();
+
+        emailOutboxService.enqueue(key, "dedupe@example.com", "Subject", "Body");
+        emailOutboxService.enqueue(key, "dedupe@example.com", "Subject", "Body");
+
+        Assertions.assertNotNull(emailOutboxRepository.findByMessageKey(key));
+        Assertions.assertEquals(before + 1, deduplicated.count());
+    }
+
+    @Test
+    public void test_enqueue_rolls_back_with_business_transaction() {
+        val key = "test:" + UUID.randomUUID();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            emailOutboxService.enqueue(key, "rollback@example.com", "Subject", "Body");
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertNull(emailOutboxRepository.findByMessageKey(key));
+    }
+
+    @Test
+    public void test_dispatch_delivers_batch() {
+        val domain = domain();
+        val keys = enqueue(3, domain);
+
+        drain(keys);
+
+        for (val key : keys) {
+            val row = emailOutboxRepository.findByMessageKey(key);
+            Assertions.assertEquals(EmailOutboxStatus.SENT, row.getStatus());
+            Assertions.assertNotNull(row.getSentAt());
+        }
+        Assertions.assertEquals(3, GreenMailJavaMailSender.getReceivedMessagesForDomain(domain).length);
+    }
+
+    @Test
+    public void test_failed_send_is_retried_with_backoff() {
+        GreenMailJavaMailSender.setFailSends(true);
+        val key = enqueue(1, domain()).get(0);
+
+        val deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MS;
+        while (emailOutboxRepository.findByMessageKey(key).getAttempts() == 0
+                && System.currentTimeMillis() < deadline) {
+            emailOutboxService.dispatch();
+        }
+
+        val row = emailOutboxRepository.findByMessageKey(key);
+        Assertions.assertEquals(EmailOutboxStatus.PENDING, row.getStatus());
+        Assertions.assertEquals(1, row.getAttempts());
+        Assertions.assertTrue(row.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        Assertions.assertNotNull(row.getLastError());
+    }
+
+    @Test
+    public void test_dispatch_throughput() {
+        val domain = domain();
+        val keys = enqueue(THROUGHPUT_MESSAGES, domain);
+
+        drain(keys, THROUGHPUT_TIMEOUT_MS);
+
+        Assertions.assertEquals(THROUGHPUT_MESSAGES,
+                GreenMailJavaMailSender.getReceivedMessagesForDomain(domain).length);
+    }
+
+    @Test
+    public void test_claimed_rows_are_not_claimed_again() {
+        val keys = enqueue(3, domain());
+        val ids = keys.stream().map(key -> emailOutboxRepository.findByMessageKey(key).getId()).toList();
+        val now = LocalDateTime.now();
+        val claimedUntil = now.plusMinutes(5);
+
+        val first = transactionTemplate.execute(status -> emailOutboxRepository.claim(ids, "first", now, claimedUntil));
+        val second = transactionTemplate.execute(status -> emailOutboxRepository.claim(ids, "second", now, claimedUntil));
+
+        Assertions.assertEquals(3, first);
+        Assertions.assertEquals(0, second);
+        for (val key : keys) {
+            val row = emailOutboxRepository.findByMessageKey(key);
+            Assertions.assertEquals("first", row.getClaimedBy());
+            Assertions.assertEquals(EmailOutboxStatus.PENDING, row.getStatus());
+        }
+    }
+
+    private List<String> enqueue(int count, String domain) {
+        val keys = new ArrayList<String>();
+        for (int i = 0; i < count; i++) {
+            val key = "test:" + UUID.randomUUID();
+            emailOutboxService.enqueue(key, "user" + i + "@" + domain, "Subject " + i, "<p>Body " + i + "</p>");
+            keys.add(key);
+        }
+        return keys;
+    }
+
+    private void drain(List<String> keys) {
+        drain(keys, DRAIN_TIMEOUT_MS);
+    }
+
+    private void drain(List<String> keys, long timeoutMs) {
+        val deadline = System.currentTimeMillis() + timeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            emailOutboxService.dispatch();
+            if (keys.stream().allMatch(key -> emailOutboxRepository.findByMessageKey(key)
+                    .getStatus() == EmailOutboxStatus.SENT)) {
+                return;
+            }
+        }
+        Assertions.fail("Outbox not drained within " + timeoutMs + "ms");
+    }
+
+    private static String domain() {
+        return "outbox-" + UUID.randomUUID().toString().substring(0, 8) + ".example.com";
+    }
+
+}
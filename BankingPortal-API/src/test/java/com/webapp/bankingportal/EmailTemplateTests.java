@@ -0,0 +1,99 @@
+package com.webapp.bankingportal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import com.webapp.bankingportal.benchmark.EmailTemplateBenchmark;
+import com.webapp.bankingportal.benchmark.EmailTemplateBenchmark.LegacyTemplates;
+import com.webapp.bankingportal.service.EmailServiceImpl;
+import com.webapp.bankingportal.template.CompiledTemplate;
+import com.webapp.bankingportal.template.EmailTemplateEngine;
+
+import lombok.val;
+
+public class EmailTemplateTests {
+
+    private static final Locale VIETNAMESE = Locale.forLanguageTag("vi");
+
+    private static EmailTemplateEngine engine;
+    private static EmailServiceImpl emailService;
+
+    @BeforeAll
+    static void setup() {
+        engine = EmailTemplateBenchmark.newTemplateEngine();
+        emailService = new EmailServiceImpl(Mockito.mock(JavaMailSender.class), engine);
+    }
+
+    @Test
+    public void test_templates_match_previous_output_for_plain_values() {
+        assertEquals(LegacyTemplates.login("John Doe", "2024-05-01 09:15:42.123", "Hanoi, Vietnam"),
+                emailService.getLoginEmailTemplate("John Doe", "2024-05-01 09:15:42.123", "Hanoi, Vietnam"));
+        assertEquals(LegacyTemplates.otp("John Doe", "xxx456", "482913"),
+                emailService.getOtpLoginEmailTemplate("John Doe", "xxx456", "482913"));
+        assertEquals(LegacyTemplates.statement("John Doe", "line 1\nline 2"),
+                emailService.getBankStatementEmailTemplate("John Doe", "line 1\nline 2"));
+    }
+
+    @Test
+    public void test_values_are_html_escaped() {
+        val html = emailService.getOtpLoginEmailTemplate("<script>alert('x')</script>", "a&b", "\"1\"");
+
+        assertFalse(html.contains("<script>"));
+        assertTrue(html.contains("Hi, &lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;,"));
+        assertTrue(html.contains(">a&amp;b</strong>"));
+        assertTrue(html.contains(">&quot;1&quot;</h2>"));
+    }
+
+    @Test
+    public void test_triple_braces_insert_raw_value() throws IOException {
+        val template = CompiledTemplate.compile("test", "<p>{{ safe }}</p><div>{{{raw}}}</div>");
+        val writer = new StringWriter();
+
+        template.renderTo(writer, Map.of("safe", "<b>", "raw", "<b>"));
+
+        assertEquals("<p>&lt;b&gt;</p><div><b></div>", writer.toString());
+    }
+
+    @Test
+    public void test_locale_resolution_falls_back_to_default() {
+        val english = emailService.getOtpLoginEmailTemplate("An", "xxx456", "482913", Locale.ENGLISH);
+        val vietnamese = emailService.getOtpLoginEmailTemplate("An", "xxx456", "482913", VIETNAMESE);
+        val vietnamVietnamese = emailService.getOtpLoginEmailTemplate("An", "xxx456", "482913",
+                Locale.forLanguageTag("vi-VN"));
+        val french = emailService.getOtpLoginEmailTemplate("An", "xxx456", "482913", Locale.FRENCH);
+
+        assertTrue(english.contains("Hi, An,"));
+        assertTrue(vietnamese.contains("Xin chào, An,"));
+        assertTrue(vietnamese.contains("Mã OTP có hiệu lực trong 5 phút"));
+        assertEquals(vietnamese, vietnamVietnamese);
+        assertEquals(english, french);
+    }
+
+    @Test
+    public void test_missing_value_is_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> engine.render("otp", Locale.ENGLISH, Map.of("name", "An")));
+    }
+
+    @Test
+    public void test_unknown_template_is_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> engine.render("missing", Locale.ENGLISH, Map.of()));
+    }
+
+    @Test
+    public void test_unclosed_placeholder_is_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("broken", "<p>{{name</p>"));
+    }
+
+}
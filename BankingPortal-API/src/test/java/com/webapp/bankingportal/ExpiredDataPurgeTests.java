@@ -0,0 +1,105 @@
+package com.webapp.bankingportal;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.OtpInfo;
+import com.webapp.bankingportal.entity.PasswordResetToken;
+import com.webapp.bankingportal.entity.SchedulerLock;
+import com.webapp.bankingportal.entity.Token;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.OtpInfoRepository;
+import com.webapp.bankingportal.repository.PasswordResetTokenRepository;
+import com.webapp.bankingportal.repository.SchedulerLockRepository;
+import com.webapp.bankingportal.repository.TokenRepository;
+import com.webapp.bankingportal.service.ExpiredDataPurgeService;
+import com.webapp.bankingportal.service.SchedulerLockService;
+
+import lombok.val;
+
+// The purge and the lease commit in their own transactions.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ExpiredDataPurgeTests extends BaseTest {
+
+    @Autowired
+    ExpiredDataPurgeService expiredDataPurgeService;
+
+    @Autowired
+    SchedulerLockService schedulerLockService;
+
+    @Autowired
+    SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    TokenRepository tokenRepository;
+
+    @Autowired
+    OtpInfoRepository otpInfoRepository;
+
+    @Autowired
+    PasswordResetTokenRepository passwordResetTokenRepository;
+
+    @Test
+    public void test_purge_deletes_only_expired_rows() {
+        val account = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+        val otherAccount = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+        val now = System.currentTimeMillis();
+
+        val expiredToken = tokenRepository.save(new Token(UUID.randomUUID().toString(), new Date(now - 1000), account));
+        val liveToken = tokenRepository.save(new Token(UUID.randomUUID().toString(), new Date(now + 60_000), account));
+
+        val staleOtp = otpInfoRepository.save(new OtpInfo(account.getAccountNumber(), getRandomOtp(),
+                LocalDateTime.now().minusHours(1)));
+        val recentOtp = otpInfoRepository.save(new OtpInfo(otherAccount.getAccountNumber(), getRandomOtp(),
+                LocalDateTime.now()));
+
+        val expiredReset = passwordResetTokenRepository.save(new PasswordResetToken(UUID.randomUUID().toString(),
+                account.getUser(), LocalDateTime.now().minusMinutes(1)));
+        val liveReset = passwordResetTokenRepository.save(new PasswordResetToken(UUID.randomUUID().toString(),
+                otherAccount.getUser(), LocalDateTime.now().plusMinutes(10)));
+
+        expiredDataPurgeService.purgeExpired();
+
+        Assertions.assertFalse(tokenRepository.existsById(expiredToken.getId()));
+        Assertions.assertTrue(tokenRepository.existsById(liveToken.getId()));
+        Assertions.assertFalse(otpInfoRepository.existsById(staleOtp.getId()));
+        Assertions.assertTrue(otpInfoRepository.existsById(recentOtp.getId()));
+        Assertions.assertFalse(passwordResetTokenRepository.existsById(expiredReset.getId()));
+        Assertions.assertTrue(passwordResetTokenRepository.existsById(liveReset.getId()));
+    }
+
+    @Test
+    public void test_lease_held_by_other_instance() {
+        val name = "test-" + UUID.randomUUID();
+        val lease = Duration.ofMinutes(1);
+
+        schedulerLockRepository.save(new SchedulerLock(name,
+                new Date(System.currentTimeMillis() + lease.toMillis()), "other-instance"));
+        Assertions.assertFalse(schedulerLockService.tryAcquire(name, lease));
+
+        // Once the other holder's lease runs out, this instance takes over and keeps it.
+        schedulerLockRepository.save(new SchedulerLock(name,
+                new Date(System.currentTimeMillis() - 1000), "other-instance"));
+        Assertions.assertTrue(schedulerLockService.tryAcquire(name, lease));
+        Assertions.assertTrue(schedulerLockService.tryAcquire(name, lease));
+    }
+
+    @Test
+    public void test_first_acquire_creates_lease() {
+        val name = "test-" + UUID.randomUUID();
+        Assertions.assertTrue(schedulerLockService.tryAcquire(name, Duration.ofMinutes(1)));
+        Assertions.assertTrue(schedulerLockRepository.existsById(name));
+    }
+
+}
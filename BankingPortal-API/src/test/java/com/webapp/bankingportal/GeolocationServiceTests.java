@@ -0,0 +1,172 @@
+package com.webapp.bankingportal;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.webapp.bankingportal.dto.GeolocationResponse;
+import com.webapp.bankingportal.service.GeolocationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+public class GeolocationServiceTests extends BaseTest {
+
+    private static final int BREAKER_THRESHOLD = 3;
+
+    // 198.51.x.x resolves, 203.0.x.x fails with 500, 100.64.x.x is rate
+    // limited with 429 and anything else is 404.
+    private static final HttpServer provider;
+    private static final AtomicInteger requests = new AtomicInteger();
+
+    static {
+        try {
+            provider = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        provider.createContext("/", GeolocationServiceTests::respond);
+        provider.start();
+    }
+
+    @DynamicPropertySource
+    static void providerProperties(DynamicPropertyRegistry registry) {
+        registry.add("geo.api.url", () -> "http://127.0.0.1:" + provider.getAddress().getPort());
+        registry.add("geo.cache.key", () -> "prefix");
+        registry.add("geo.breaker.failure-threshold", () -> BREAKER_THRESHOLD);
+        registry.add("geo.breaker.open-seconds", () -> 1);
+    }
+
+    @AfterAll
+    static void stopProvider() {
+        provider.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        val ip = exchange.getRequestURI().getPath().replace("/", "");
+
+        final int status;
+        final String body;
+        if (ip.startsWith("198.51.")) {
+            status = 200;
+            body = "{\"city\":{\"names\":{\"en\":\"Hanoi\"}},\"country\":{\"names\":{\"en\":\"Vietnam\"}}}";
+        } else if (ip.startsWith("203.0.")) {
+            status = 500;
+            body = "{}";
+        } else if (ip.startsWith("100.64.")) {
+            status = 429;
+            body = "{}";
+        } else {
+            status = 404;
+            body = "{}";
+        }
+
+        val bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    @Autowired
+    private GeolocationService geolocationService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static boolean failed(CompletableFuture<GeolocationResponse> lookup) {
+        try {
+            lookup.join();
+            return false;
+        } catch (CompletionException e) {
+            return true;
+        }
+    }
+
+    @Test
+    public void test_lookup_is_cached_per_prefix() {
+        val before = requests.get();
+
+        val first = geolocationService.getGeolocation("198.51.100.7").join();
+        val second = geolocationService.getGeolocation("198.51.100.99").join();
+
+        Assertions.assertEquals("Hanoi", first.getCity().getNames().get("en"));
+        Assertions.assertEquals("Vietnam", second.getCountry().getNames().get("en"));
+        Assertions.assertEquals(before + 1, requests.get());
+    }
+
+    @Test
+    public void test_failed_lookup_is_cached() {
+        val before = requests.get();
+
+        Assertions.assertTrue(failed(geolocationService.getGeolocation("192.0.2.10")));
+        Assertions.assertTrue(failed(geolocationService.getGeolocation("192.0.2.10")));
+
+        Assertions.assertEquals(before + 1, requests.get());
+    }
+
+    @Test
+    public void test_invalid_address_is_not_looked_up() {
+        val before = requests.get();
+
+        Assertions.assertTrue(failed(geolocationService.getGeolocation("not-an-ip.example.com")));
+        Assertions.assertTrue(failed(geolocationService.getGeolocation("256.1.1.1")));
+        Assertions.assertTrue(failed(geolocationService.getGeolocation(null)));
+
+        Assertions.assertEquals(before, requests.get());
+    }
+
+    @Test
+    public void test_breaker_opens_on_provider_errors_and_recovers() throws InterruptedException {
+        val state = meterRegistry.get("geolocation.breaker.state").gauge();
+
+        var shortCircuitedAt = -1;
+        for (int i = 1; i <= BREAKER_THRESHOLD + 2 && shortCircuitedAt < 0; i++) {
+            val before = requests.get();
+            Assertions.assertTrue(failed(geolocationService.getGeolocation("203.0." + i + ".1")));
+            if (requests.get() == before) {
+                shortCircuitedAt = i;
+            }
+        }
+
+        Assertions.assertEquals(BREAKER_THRESHOLD + 1, shortCircuitedAt);
+        Assertions.assertEquals(1.0, state.value());
+
+        // After the open period a single successful trial closes it again.
+        Thread.sleep(1_100);
+        val recovered = geolocationService.getGeolocation("198.51.200.1").join();
+
+        Assertions.assertEquals("Hanoi", recovered.getCity().getNames().get("en"));
+        Assertions.assertEquals(0.0, state.value());
+    }
+
+    @Test
+    public void test_breaker_opens_on_rate_limiting() throws InterruptedException {
+        val state = meterRegistry.get("geolocation.breaker.state").gauge();
+
+        for (int i = 1; i <= BREAKER_THRESHOLD; i++) {
+            Assertions.assertTrue(failed(geolocationService.getGeolocation("100.64." + i + ".1")));
+        }
+
+        Assertions.assertEquals(1.0, state.value());
+
+        Thread.sleep(1_100);
+        geolocationService.getGeolocation("198.51.201.1").join();
+        Assertions.assertEquals(0.0, state.value());
+    }
+
+}
@@ -5,6 +5,7 @@ import java.util.LinkedHashMap;
 import jakarta.mail.AuthenticationFailedException;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Session;
+import jakarta.mail.Transport;
 import jakarta.mail.internet.MimeMessage;
 
 import lombok.val;
@@ -30,6 +31,12 @@ public class GreenMailJavaMailSender extends JavaMailSenderImpl {
     @NonNull
     private static final Session session;
 
+    // Simulated SMTP round trip, added before every send.
+    private static volatile long sendDelayMs;
+
+    // Simulated outage: every send fails as if the server were unreachable.
+    private static volatile boolean failSends;
+
     static {
         greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
         greenMail.start();
@@ -46,12 +53,16 @@ public class GreenMailJavaMailSender extends JavaMailSenderImpl {
             throws MailException {
 
         val failedMessages = new LinkedHashMap<Object, Exception>();
+        simulateLatency();
+        if (failSends) {
+            throw new MailSendException("Simulated SMTP outage");
+        }
 
         try (val transport = connectTransport()) {
 
             for (int i = 0; i < mimeMessages.length; i++) {
                 val mimeMessage = mimeMessages[i];
-                sendMessage(mimeMessage, originalMessages, i, failedMessages);
+                sendMessage(transport, mimeMessage, originalMessages, i, failedMessages);
             }
 
         } catch (AuthenticationFailedException ex) {
@@ -66,14 +77,15 @@ public class GreenMailJavaMailSender extends JavaMailSenderImpl {
         }
     }
 
+    // Reuses the batch's connection, as JavaMailSenderImpl does.
     private void sendMessage(
-            MimeMessage mimeMessage, Object[] originalMessages,
+            Transport transport, MimeMessage mimeMessage, Object[] originalMessages,
             int index,
             LinkedHashMap<Object, Exception> failedMessages) {
 
         try {
             prepareMimeMessage(mimeMessage);
-            GreenMailUtil.sendMimeMessage(mimeMessage);
+            transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
 
         } catch (MessagingException ex) {
             Object original = mimeMessage;
@@ -113,6 +125,26 @@ public class GreenMailJavaMailSender extends JavaMailSenderImpl {
         throw new MailSendException("Mail server connection failed", ex, failedMessages);
     }
 
+    private static void simulateLatency() {
+        if (sendDelayMs <= 0) {
+            return;
+        }
+
+        try {
+            Thread.sleep(sendDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static void setSendDelayMs(long delayMs) {
+        sendDelayMs = delayMs;
+    }
+
+    public static void setFailSends(boolean fail) {
+        failSends = fail;
+    }
+
     public static MimeMessage[] getReceivedMessages() {
         return greenMail.getReceivedMessages();
     }
@@ -0,0 +1,154 @@
+package com.webapp.bankingportal;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.dto.NotificationBulkAction;
+import com.webapp.bankingportal.dto.NotificationBulkRequest;
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.Notification;
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.service.NotificationService;
+import com.webapp.bankingportal.service.NotificationServiceImpl;
+import com.webapp.bankingportal.service.UnreadCountService;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+public class NotificationBulkTests extends BaseTest {
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Autowired
+    UnreadCountService unreadCountService;
+
+    @Autowired
+    NotificationRepository notificationRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    private List<Long> notify(Account account, int count) {
+        for (int i = 0; i < count; i++) {
+            notificationService.createNotification(account, faker.lorem().sentence(), faker.lorem().sentence(),
+                    NotificationType.DEPOSIT, 100, null);
+        }
+        return notificationRepository.findByAccountOrderByCreatedAtDesc(account).stream()
+                .map(Notification::getId)
+                .toList();
+    }
+
+    private void performBulk(String token, NotificationBulkRequest request, String expectedBody)
+            throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/notifications/bulk")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(request)))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().json(expectedBody));
+    }
+
+    @Test
+    public void test_bulk_mark_read_by_ids_only_touches_own_unread_notifications() throws Exception {
+        val userDetails = createAndLoginUser();
+        val account = accountRepository.findByAccountNumber(userDetails.get("accountNumber"));
+        val ids = notify(account, 3);
+        val otherAccount = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+        val otherIds = notify(otherAccount, 1);
+        notificationService.markAsRead(account.getAccountNumber(), ids.get(0));
+
+        performBulk(userDetails.get("token"),
+                new NotificationBulkRequest(NotificationBulkAction.MARK_READ,
+                        List.of(ids.get(0), ids.get(1), otherIds.get(0)), null, null),
+                "{\"affected\": 1, \"unreadAffected\": 1}");
+
+        Assertions.assertEquals(1, unreadCountService.getUnreadCount(account.getId()));
+        Assertions.assertEquals(1, unreadCountService.getUnreadCount(otherAccount.getId()));
+    }
+
+    @Test
+    public void test_bulk_delete_by_date_range_deletes_read_and_unread() throws Exception {
+        val userDetails = createAndLoginUser();
+        val account = accountRepository.findByAccountNumber(userDetails.get("accountNumber"));
+        val ids = notify(account, 3);
+        notificationService.markAsRead(account.getAccountNumber(), ids.get(0));
+
+        val old = notificationRepository.save(Notification.builder()
+                .account(account)
+                .title(faker.lorem().sentence())
+                .message(faker.lorem().sentence())
+                .type(NotificationType.DEPOSIT)
+                .createdAt(new Date(System.currentTimeMillis() - 86_400_000L))
+                .build());
+        unreadCountService.add(account.getId(), 1);
+
+        performBulk(userDetails.get("token"),
+                new NotificationBulkRequest(NotificationBulkAction.DELETE, null,
+                        new Date(System.currentTimeMillis() - 3_600_000L), null),
+                "{\"affected\": 3, \"unreadAffected\": 2}");
+
+        Assertions.assertEquals(List.of(old.getId()), notificationRepository
+                .findByAccountOrderByCreatedAtDesc(account).stream().map(Notification::getId).toList());
+        Assertions.assertEquals(1, unreadCountService.getUnreadCount(account.getId()));
+    }
+
+    @Test
+    public void test_bulk_delete_by_ids() throws Exception {
+        val userDetails = createAndLoginUser();
+        val account = accountRepository.findByAccountNumber(userDetails.get("accountNumber"));
+        val ids = notify(account, 2);
+
+        val response = notificationService.bulkUpdate(account.getAccountNumber(),
+                new NotificationBulkRequest(NotificationBulkAction.DELETE, ids, null, null));
+
+        Assertions.assertEquals(2, response.affected());
+        Assertions.assertEquals(0, notificationRepository.countByAccountIdAndIsReadFalse(account.getId()));
+        Assertions.assertEquals(0, unreadCountService.getUnreadCount(account.getId()));
+    }
+
+    @Test
+    public void test_bulk_requires_exactly_one_selection() throws Exception {
+        val token = createAndLoginUser().get("token");
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/notifications/bulk")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new NotificationBulkRequest(NotificationBulkAction.DELETE,
+                        List.of(1L), new Date(), null))))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content()
+                        .string(ApiMessages.NOTIFICATION_BULK_SELECTION_ERROR.getMessage()));
+    }
+
+    @Test
+    public void test_bulk_rejects_too_many_ids() throws Exception {
+        val token = createAndLoginUser().get("token");
+        val ids = Collections.nCopies(NotificationServiceImpl.MAX_BULK_IDS + 1, 1L);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/notifications/bulk")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(new NotificationBulkRequest(NotificationBulkAction.MARK_READ,
+                        ids, null, null))))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content().string(String.format(
+                        ApiMessages.NOTIFICATION_BULK_TOO_MANY_IDS_ERROR.getMessage(),
+                        NotificationServiceImpl.MAX_BULK_IDS)));
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import lombok.val;
+
+public class NotificationFeedTests extends BaseTest {
+
+    private JsonNode getPage(String token, String query) throws Exception {
+        val response = mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/notifications/page?" + query)
+                .header("Authorization", "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonUtil.objectMapper.readTree(response);
+    }
+
+    private static List<Long> ids(JsonNode page) {
+        val ids = new ArrayList<Long>();
+        page.get("notifications").forEach(notification -> ids.add(notification.get("id").asLong()));
+        return ids;
+    }
+
+    @Test
+    public void test_feed_pages_newest_first_without_gaps_or_repeats() throws Exception {
+        val userDetails = createAndLoginUser();
+        val now = System.currentTimeMillis();
+        val expected = new ArrayList<Long>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(0, saveNotification(userDetails.get("accountNumber"), NotificationType.DEPOSIT, 100,
+                    new Date(now - 60_000 + i * 1_000)).getId());
+        }
+        // Another account's notifications never show up.
+        saveNotification(createAccount().get("accountNumber"), NotificationType.DEPOSIT, 100, new Date(now));
+
+        val seen = new ArrayList<Long>();
+        var page = getPage(userDetails.get("token"), "size=2");
+        seen.addAll(ids(page));
+        while (page.get("hasMore").asBoolean()) {
+            page = getPage(userDetails.get("token"), "size=2&cursor=" + page.get("nextCursor").asText());
+            seen.addAll(ids(page));
+        }
+
+        Assertions.assertEquals(expected, seen);
+        Assertions.assertTrue(page.get("nextCursor").isNull());
+    }
+
+    @Test
+    public void test_compact_feed_omits_message_bodies() throws Exception {
+        val userDetails = createAndLoginUser();
+        val notification = saveNotification(userDetails.get("accountNumber"), NotificationType.DEPOSIT, 100,
+                new Date());
+
+        val full = getPage(userDetails.get("token"), "size=10").get("notifications").get(0);
+        Assertions.assertEquals(notification.getMessage(), full.get("message").asText());
+
+        val compact = getPage(userDetails.get("token"), "size=10&compact=true").get("notifications").get(0);
+        Assertions.assertFalse(compact.has("message"));
+        Assertions.assertEquals(notification.getTitle(), compact.get("title").asText());
+    }
+
+    @Test
+    public void test_feed_filters_by_type_and_amount() throws Exception {
+        val userDetails = createAndLoginUser();
+        val accountNumber = userDetails.get("accountNumber");
+        val now = System.currentTimeMillis();
+        val smallDeposit = saveNotification(accountNumber, NotificationType.DEPOSIT, 100, new Date(now - 3_000));
+        val largeDeposit = saveNotification(accountNumber, NotificationType.DEPOSIT, 5_000, new Date(now - 2_000));
+        val withdrawal = saveNotification(accountNumber, NotificationType.WITHDRAW, 5_000, new Date(now - 1_000));
+
+        Assertions.assertEquals(List.of(largeDeposit.getId(), smallDeposit.getId()),
+                ids(getPage(userDetails.get("token"), "type=DEPOSIT")));
+        Assertions.assertEquals(List.of(withdrawal.getId(), largeDeposit.getId()),
+                ids(getPage(userDetails.get("token"), "minAmount=1000")));
+        Assertions.assertEquals(List.of(withdrawal.getId()),
+                ids(getPage(userDetails.get("token"), "type=WITHDRAW&type=TRANSFER_SENT&maxAmount=5000")));
+    }
+
+    @Test
+    public void test_feed_rejects_invalid_cursor() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/notifications/page?cursor=not-a-cursor")
+                .header("Authorization", "Bearer " + createAndLoginUser().get("token")))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andExpect(MockMvcResultMatchers.content()
+                        .string(ApiMessages.PAGINATION_CURSOR_INVALID_ERROR.getMessage()));
+    }
+
+}
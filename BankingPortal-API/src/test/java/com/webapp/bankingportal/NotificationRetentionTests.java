@@ -0,0 +1,97 @@
+package com.webapp.bankingportal;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.dto.NotificationDTO;
+import com.webapp.bankingportal.dto.NotificationDigestDTO;
+import com.webapp.bankingportal.entity.Notification;
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.service.NotificationRetentionService;
+import com.webapp.bankingportal.service.UnreadCountService;
+
+import lombok.val;
+
+// The archive and its lease commit in their own transactions.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class NotificationRetentionTests extends BaseTest {
+
+    @Autowired
+    NotificationRetentionService notificationRetentionService;
+
+    @Autowired
+    UnreadCountService unreadCountService;
+
+    @Autowired
+    NotificationRepository notificationRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    private static Date at(String instant) {
+        return Date.from(Instant.parse(instant));
+    }
+
+    @Test
+    public void test_expired_notifications_are_rolled_up_and_archived() {
+        val accountNumber = createAccount().get("accountNumber");
+        val accountId = accountRepository.findIdByAccountNumber(accountNumber).get();
+        saveNotification(accountNumber, NotificationType.DEPOSIT, 100, at("2025-01-10T10:00:00Z"));
+        saveNotification(accountNumber, NotificationType.DEPOSIT, 250, at("2025-01-20T10:00:00Z"));
+        saveNotification(accountNumber, NotificationType.WITHDRAW, 300, at("2025-02-05T10:00:00Z"));
+        val recent = saveNotification(accountNumber, NotificationType.DEPOSIT, 100, new Date());
+
+        Assertions.assertTrue(notificationRetentionService.archiveExpired() >= 3);
+
+        Assertions.assertEquals(List.of(recent.getId()), notificationRepository
+                .findByAccountOrderByCreatedAtDesc(accountRepository.findByAccountNumber(accountNumber)).stream()
+                .map(Notification::getId)
+                .toList());
+        Assertions.assertEquals(1, unreadCountService.getUnreadCount(accountId));
+        Assertions.assertEquals(List.of(
+                new NotificationDigestDTO(YearMonth.of(2025, 2), NotificationType.WITHDRAW, 1, 300),
+                new NotificationDigestDTO(YearMonth.of(2025, 1), NotificationType.DEPOSIT, 2, 350)),
+                notificationRetentionService.getDigests(accountNumber));
+    }
+
+    @Test
+    public void test_history_pages_through_archived_months_newest_first() {
+        val accountNumber = createAccount().get("accountNumber");
+        val january = saveNotification(accountNumber, NotificationType.DEPOSIT, 100, at("2025-01-10T10:00:00Z"));
+        val february = saveNotification(accountNumber, NotificationType.DEPOSIT, 100, at("2025-02-05T10:00:00Z"));
+        notificationRetentionService.archiveExpired();
+
+        // A later run adds a second archive row for January.
+        val lateJanuary = saveNotification(accountNumber, NotificationType.TRANSFER_SENT, 50,
+                at("2025-01-20T10:00:00Z"));
+        notificationRetentionService.archiveExpired();
+
+        val seen = new ArrayList<NotificationDTO>();
+        var page = notificationRetentionService.getHistory(accountNumber, null, 2);
+        seen.addAll(page.getNotifications());
+        Assertions.assertTrue(page.isHasMore());
+        page = notificationRetentionService.getHistory(accountNumber, page.getNextCursor(), 2);
+        seen.addAll(page.getNotifications());
+        Assertions.assertFalse(page.isHasMore());
+
+        Assertions.assertEquals(List.of(february.getId(), lateJanuary.getId(), january.getId()),
+                seen.stream().map(NotificationDTO::getId).toList());
+        Assertions.assertEquals(january.getMessage(), seen.get(2).getMessage());
+        Assertions.assertEquals(january.getCreatedAt().getTime(), seen.get(2).getCreatedAt().getTime());
+        Assertions.assertEquals(2, notificationRetentionService.getDigests(accountNumber).stream()
+                .filter(digest -> digest.month().equals(YearMonth.of(2025, 1)))
+                .count());
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.entity.Notification;
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.event.NotificationCreatedEvent;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.service.NotificationStreamService;
+
+import lombok.val;
+
+public class NotificationStreamTests extends BaseTest {
+
+    private static final long AWAIT_MS = 5_000;
+
+    @Autowired
+    NotificationStreamService notificationStreamService;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    private final List<MvcResult> openStreams = new ArrayList<>();
+
+    @AfterEach
+    public void closeStreams() {
+        openStreams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+    }
+
+    private MvcResult openStream(String token, String lastEventId) throws Exception {
+        val request = MockMvcRequestBuilders
+                .get("/api/notifications/stream")
+                .header("Authorization", "Bearer " + token);
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+
+        val result = mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        openStreams.add(result);
+        return result;
+    }
+
+    private static void awaitContent(MvcResult stream, String expected) throws Exception {
+        val deadline = System.currentTimeMillis() + AWAIT_MS;
+        while (!stream.getResponse().getContentAsString().contains(expected)) {
+            if (System.currentTimeMillis() > deadline) {
+                Assertions.fail("Stream never sent \"" + expected + "\": "
+                        + stream.getResponse().getContentAsString());
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void test_stream_sends_unread_count_then_new_notifications() throws Exception {
+        val userDetails = createAndLoginUser();
+        val accountId = accountRepository.findIdByAccountNumber(userDetails.get("accountNumber")).get();
+        val stream = openStream(userDetails.get("token"), null);
+        awaitContent(stream, "event:unread-count\ndata:0");
+
+        val notification = Notification.builder()
+                .id(Long.MAX_VALUE - System.nanoTime())
+                .title(faker.lorem().sentence())
+                .message(faker.lorem().sentence())
+                .type(NotificationType.TRANSFER_RECEIVED)
+                .createdAt(new Date())
+                .build();
+        notificationStreamService.publish(NotificationCreatedEvent.of(accountId, notification));
+
+        awaitContent(stream, "event:notification");
+        awaitContent(stream, notification.getTitle());
+    }
+
+    @Test
+    public void test_stream_replays_notifications_after_last_event_id() throws Exception {
+        val userDetails = createAndLoginUser();
+        val now = System.currentTimeMillis();
+        val missed = saveNotification(userDetails.get("accountNumber"), NotificationType.DEPOSIT, 100,
+                new Date(now));
+
+        val stream = openStream(userDetails.get("token"), (now - 1_000) + "-0");
+
+        awaitContent(stream, "id:" + now + "-" + missed.getId());
+        awaitContent(stream, missed.getTitle());
+    }
+
+    @Test
+    public void test_poll_delivers_notifications_committed_elsewhere() throws Exception {
+        val userDetails = createAndLoginUser();
+        val stream = openStream(userDetails.get("token"), null);
+
+        // Written straight to the table, as another pod would.
+        val notification = saveNotification(userDetails.get("accountNumber"), NotificationType.DEPOSIT, 100,
+                new Date());
+        notificationStreamService.poll();
+
+        awaitContent(stream, notification.getTitle());
+    }
+
+    @Test
+    public void test_heartbeat_is_sent_to_open_streams() throws Exception {
+        val stream = openStream(createAndLoginUser().get("token"), null);
+
+        notificationStreamService.heartbeat();
+
+        awaitContent(stream, ":heartbeat");
+    }
+
+    @Test
+    public void test_closed_stream_is_released() throws Exception {
+        val before = notificationStreamService.getConnectionCount();
+        val stream = openStream(createAndLoginUser().get("token"), null);
+        Assertions.assertEquals(before + 1, notificationStreamService.getConnectionCount());
+
+        stream.getRequest().getAsyncContext().complete();
+        openStreams.remove(stream);
+
+        Assertions.assertEquals(before, notificationStreamService.getConnectionCount());
+    }
+
+}
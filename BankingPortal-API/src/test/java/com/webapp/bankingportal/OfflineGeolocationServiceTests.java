@@ -0,0 +1,147 @@
+package com.webapp.bankingportal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.webapp.bankingportal.service.GeolocationService;
+import com.webapp.bankingportal.service.OfflineGeolocationService;
+import com.webapp.bankingportal.util.IpRangeTable;
+import com.webapp.bankingportal.util.IpRangeTable.Range;
+
+import lombok.val;
+
+public class OfflineGeolocationServiceTests extends BaseTest {
+
+    private static final List<Range> RANGES = List.of(
+            new Range(ip("14.160.0.0"), ip("14.191.255.255"), "Hanoi", "Vietnam"),
+            new Range(ip("113.160.0.0"), ip("113.191.255.255"), "Ho Chi Minh City", "Vietnam"),
+            new Range(ip("8.8.8.0"), ip("8.8.8.255"), "Mountain View", "United States"),
+            new Range(ip("223.255.255.0"), ip("255.255.255.254"), "Nowhere", "Reserved"));
+
+    private static final Path tableFile;
+
+    static {
+        try {
+            tableFile = Files.createTempFile("geo-", ".bin");
+            IpRangeTable.write(tableFile, RANGES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void offlineProperties(DynamicPropertyRegistry registry) {
+        registry.add("geo.provider", () -> "offline");
+        registry.add("geo.offline.file", tableFile::toString);
+        registry.add("geo.offline.reload-check-ms", () -> 3_600_000);
+    }
+
+    @Autowired
+    private GeolocationService geolocationService;
+
+    private static int ip(String address) {
+        return (int) IpRangeTable.parseIpv4(address);
+    }
+
+    private String city(String ip) {
+        try {
+            return geolocationService.getGeolocation(ip).join().getCity().getNames().get("en");
+        } catch (CompletionException e) {
+            return null;
+        }
+    }
+
+    private void replaceTable(List<Range> ranges) throws IOException {
+        val next = Files.createTempFile(tableFile.getParent(), "geo-", ".tmp");
+        IpRangeTable.write(next, ranges);
+        Files.move(next, tableFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @AfterEach
+    public void restoreTable() throws IOException {
+        replaceTable(RANGES);
+        ((OfflineGeolocationService) geolocationService).reloadIfChanged();
+    }
+
+    @Test
+    public void test_offline_provider_replaces_http_provider() {
+        Assertions.assertInstanceOf(OfflineGeolocationService.class, geolocationService);
+    }
+
+    @Test
+    public void test_lookup_includes_range_bounds() {
+        Assertions.assertEquals("Hanoi", city("14.160.0.0"));
+        Assertions.assertEquals("Hanoi", city("14.175.3.9"));
+        Assertions.assertEquals("Hanoi", city("14.191.255.255"));
+        Assertions.assertEquals("Mountain View", city("8.8.8.8"));
+        Assertions.assertEquals("Ho Chi Minh City", city("113.190.1.1"));
+
+        val response = geolocationService.getGeolocation("8.8.8.8").join();
+        Assertions.assertEquals("United States", response.getCountry().getNames().get("en"));
+    }
+
+    @Test
+    public void test_high_addresses_compare_unsigned() {
+        Assertions.assertEquals("Nowhere", city("240.0.0.1"));
+        Assertions.assertNull(city("255.255.255.255"));
+    }
+
+    @Test
+    public void test_unknown_and_invalid_addresses_fail() {
+        Assertions.assertNull(city("14.159.255.255"));
+        Assertions.assertNull(city("14.192.0.0"));
+        Assertions.assertNull(city("1.1.1.1"));
+        Assertions.assertNull(city("2001:db8::1"));
+        Assertions.assertNull(city("256.1.1.1"));
+        Assertions.assertNull(city("1.2.3"));
+        Assertions.assertNull(city("1.2.3.4.5"));
+        Assertions.assertNull(city("localhost"));
+        Assertions.assertNull(city(null));
+    }
+
+    @Test
+    public void test_changed_file_is_swapped_in() throws IOException {
+        replaceTable(List.of(
+                new Range(ip("1.1.1.0"), ip("1.1.1.255"), "Sydney", "Australia"),
+                new Range(ip("14.160.0.0"), ip("14.191.255.255"), "Hai Phong", "Vietnam")));
+        ((OfflineGeolocationService) geolocationService).reloadIfChanged();
+
+        Assertions.assertEquals("Sydney", city("1.1.1.1"));
+        Assertions.assertEquals("Hai Phong", city("14.175.3.9"));
+        Assertions.assertNull(city("8.8.8.8"));
+    }
+
+    @Test
+    public void test_corrupt_file_keeps_current_table() throws IOException {
+        val next = Files.createTempFile(tableFile.getParent(), "geo-", ".tmp");
+        Files.write(next, new byte[] { 0x47, 0x45, 0x4F, 0x31, 0x7F, 0, 0, 0 });
+        Files.move(next, tableFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        ((OfflineGeolocationService) geolocationService).reloadIfChanged();
+
+        Assertions.assertEquals("Hanoi", city("14.175.3.9"));
+    }
+
+    @Test
+    public void test_overlapping_ranges_are_rejected() throws IOException {
+        val file = Files.createTempFile("geo-", ".bin");
+        IpRangeTable.write(file, List.of(
+                new Range(ip("10.0.0.0"), ip("10.0.0.255"), "A", "X"),
+                new Range(ip("10.0.0.128"), ip("10.0.1.255"), "B", "X")));
+
+        Assertions.assertThrows(IOException.class, () -> IpRangeTable.load(file));
+        Files.delete(file);
+    }
+
+}
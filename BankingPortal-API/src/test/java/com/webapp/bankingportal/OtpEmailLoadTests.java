@@ -0,0 +1,112 @@
+package com.webapp.bankingportal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.dto.OtpRequest;
+import com.webapp.bankingportal.util.ApiMessages;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+
+import lombok.val;
+
+// Requests run on their own threads, so the accounts must be committed.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OtpEmailLoadTests extends BaseTest {
+
+    private static final long SMTP_DELAY_MS = 500;
+    private static final int REQUEST_THREADS = 4;
+    private static final int ACCOUNTS = 24;
+    private static final long DELIVERY_TIMEOUT_MS = 30_000;
+
+    private static final String[] ENDPOINTS = { "/api/users/generate-otp", "/api/auth/password-reset/send-otp" };
+
+    @AfterEach
+    public void resetSmtpDelay() {
+        GreenMailJavaMailSender.setSendDelayMs(0);
+    }
+
+    @Test
+    public void test_slow_smtp_does_not_hold_request_threads() throws Exception {
+        val emails = new HashMap<String, String>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            val user = createAndRegisterUser();
+            emails.put(userRepository.findByEmail(user.getEmail()).get().getAccount().getAccountNumber(),
+                    user.getEmail().toLowerCase());
+        }
+
+        GreenMailJavaMailSender.setSendDelayMs(SMTP_DELAY_MS);
+
+        // Half of the accounts ask for a login OTP, the other half for a
+        // password reset OTP.
+        val tasks = new ArrayList<Callable<Long>>();
+        for (val accountNumber : emails.keySet()) {
+            val endpoint = ENDPOINTS[tasks.size() % ENDPOINTS.length];
+            tasks.add(() -> {
+                val start = System.nanoTime();
+                mockMvc.perform(MockMvcRequestBuilders
+                        .post(endpoint)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonUtil.toJson(new OtpRequest(accountNumber))))
+                        .andExpect(MockMvcResultMatchers.status().isAccepted());
+                return (System.nanoTime() - start) / 1_000_000;
+            });
+        }
+
+        val executor = Executors.newFixedThreadPool(REQUEST_THREADS);
+        try {
+            val start = System.nanoTime();
+            val futures = executor.invokeAll(tasks);
+            val totalMs = (System.nanoTime() - start) / 1_000_000;
+
+            // Each request only queues its email, so none waits for a round
+            // trip, and the threads are not serialized behind SMTP either.
+            for (val future : futures) {
+                val latencyMs = future.get();
+                Assertions.assertTrue(latencyMs < SMTP_DELAY_MS, "A request took " + latencyMs + "ms");
+            }
+            val blockingMs = tasks.size() / REQUEST_THREADS * SMTP_DELAY_MS;
+            Assertions.assertTrue(totalMs < blockingMs / 2, "Requests took " + totalMs + "ms in total");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // The outbox still delivers every email, at SMTP speed.
+        val deadline = System.currentTimeMillis() + DELIVERY_TIMEOUT_MS;
+        while (countReceived(emails.values()) < tasks.size()) {
+            Assertions.assertTrue(System.currentTimeMillis() < deadline,
+                    "Only " + countReceived(emails.values()) + " of " + tasks.size() + " emails were delivered");
+            Thread.sleep(50);
+        }
+    }
+
+    private static long countReceived(Collection<String> emails) {
+        return Arrays.stream(GreenMailJavaMailSender.getReceivedMessages())
+                .filter(message -> {
+                    try {
+                        return ApiMessages.EMAIL_SUBJECT_OTP.getMessage().equals(message.getSubject())
+                                && Arrays.stream(message.getRecipients(Message.RecipientType.TO))
+                                        .anyMatch(address -> emails.contains(address.toString().toLowerCase()));
+                    } catch (MessagingException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .count();
+    }
+
+}
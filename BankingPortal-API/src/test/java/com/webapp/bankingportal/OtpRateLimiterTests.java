@@ -0,0 +1,100 @@
+package com.webapp.bankingportal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.service.InMemoryOtpRateLimiter;
+import com.webapp.bankingportal.service.OtpRateLimiter;
+import com.webapp.bankingportal.service.OtpServiceImpl;
+
+import lombok.val;
+
+// Buckets are committed per call so that concurrent callers contend on the row.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class OtpRateLimiterTests extends BaseTest {
+
+    @Autowired
+    OtpRateLimiter otpRateLimiter;
+
+    @Test
+    public void test_database_limiter_allows_burst_then_limits() {
+        assertBurstThenLimited(otpRateLimiter);
+    }
+
+    @Test
+    public void test_in_memory_limiter_allows_burst_then_limits() {
+        assertBurstThenLimited(new InMemoryOtpRateLimiter());
+    }
+
+    @Test
+    public void test_in_memory_limiter_refills_over_time() throws InterruptedException {
+        val limiter = new InMemoryOtpRateLimiter(1, Duration.ofMillis(200));
+        val accountNumber = getRandomAccountNumber();
+
+        Assertions.assertTrue(limiter.tryAcquire(accountNumber).allowed());
+        Assertions.assertFalse(limiter.tryAcquire(accountNumber).allowed());
+
+        Thread.sleep(250);
+
+        Assertions.assertTrue(limiter.tryAcquire(accountNumber).allowed());
+    }
+
+    @Test
+    public void test_database_limiter_under_concurrency() throws Exception {
+        val accountNumber = getRandomAccountNumber();
+        val threads = 16;
+        val start = new CountDownLatch(1);
+        val executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            val tasks = new ArrayList<Callable<Boolean>>();
+            for (int i = 0; i < threads; i++) {
+                tasks.add(() -> {
+                    start.await();
+                    return otpRateLimiter.tryAcquire(accountNumber).allowed();
+                });
+            }
+
+            val futures = tasks.stream().map(executor::submit).toList();
+            start.countDown();
+
+            var allowed = 0;
+            for (val future : futures) {
+                if (future.get()) {
+                    allowed++;
+                }
+            }
+
+            Assertions.assertEquals(OtpServiceImpl.OTP_ATTEMPTS_LIMIT, allowed);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertBurstThenLimited(OtpRateLimiter limiter) {
+        val accountNumber = getRandomAccountNumber();
+        val otherAccountNumber = getRandomAccountNumber();
+
+        for (int i = 0; i < OtpServiceImpl.OTP_ATTEMPTS_LIMIT; i++) {
+            Assertions.assertTrue(limiter.tryAcquire(accountNumber).allowed());
+        }
+
+        val limited = limiter.tryAcquire(accountNumber);
+        Assertions.assertFalse(limited.allowed());
+        Assertions.assertTrue(limited.retryAfter().compareTo(Duration.ZERO) > 0);
+        Assertions.assertTrue(limited.retryAfter().compareTo(Duration.ofMinutes(
+                OtpServiceImpl.OTP_RETRY_LIMIT_WINDOW_MINUTES / OtpServiceImpl.OTP_ATTEMPTS_LIMIT)) <= 0);
+
+        Assertions.assertTrue(limiter.tryAcquire(otherAccountNumber).allowed());
+    }
+
+}
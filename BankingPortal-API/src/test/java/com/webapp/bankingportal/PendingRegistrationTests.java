@@ -0,0 +1,164 @@
+package com.webapp.bankingportal;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.webapp.bankingportal.dto.RegisterOtpRequest;
+import com.webapp.bankingportal.entity.User;
+import com.webapp.bankingportal.exception.OtpRetryLimitExceededException;
+import com.webapp.bankingportal.repository.PendingRegistrationRepository;
+import com.webapp.bankingportal.service.CaffeinePendingRegistrationStore;
+import com.webapp.bankingportal.service.OtpService;
+import com.webapp.bankingportal.service.OtpServiceImpl;
+import com.webapp.bankingportal.service.PendingRegistrationStore;
+import com.webapp.bankingportal.util.JsonUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import lombok.val;
+
+public class PendingRegistrationTests extends BaseTest {
+
+    @Autowired
+    PendingRegistrationStore pendingRegistrationStore;
+
+    @Autowired
+    PendingRegistrationRepository pendingRegistrationRepository;
+
+    @Autowired
+    OtpService otpService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void test_database_store_round_trip_without_plaintext_password() {
+        val user = createUser();
+        pendingRegistrationStore.save(entry(user.getEmail(), user, LocalDateTime.now().plusMinutes(5)));
+
+        val row = pendingRegistrationRepository.findByEmail(user.getEmail()).orElseThrow();
+        Assertions.assertFalse(new String(row.getPayload(), StandardCharsets.ISO_8859_1).contains(user.getPassword()));
+
+        val found = pendingRegistrationStore.find(user.getEmail()).orElseThrow();
+        Assertions.assertEquals(user.getPassword(), found.user().getPassword());
+        Assertions.assertEquals(user.getPhoneNumber(), found.user().getPhoneNumber());
+
+        Assertions.assertTrue(pendingRegistrationStore.remove(user.getEmail()).isPresent());
+        Assertions.assertTrue(pendingRegistrationStore.remove(user.getEmail()).isEmpty());
+    }
+
+    @Test
+    public void test_database_store_hides_expired_entries() {
+        val user = createUser();
+        pendingRegistrationStore.save(entry(user.getEmail(), user, LocalDateTime.now().minusSeconds(1)));
+
+        Assertions.assertTrue(pendingRegistrationStore.find(user.getEmail()).isEmpty());
+    }
+
+    @Test
+    public void test_database_store_evicts_oldest_when_full() {
+        val evictions = meterRegistry.counter("registration.pending.evictions", "cause", "size");
+        val evictedBefore = evictions.count();
+        val maxEntries = ReflectionTestUtils.getField(pendingRegistrationStore, "maxEntries");
+        ReflectionTestUtils.setField(pendingRegistrationStore, "maxEntries", pendingRegistrationRepository.count() + 2);
+
+        try {
+            val oldest = createUser();
+            pendingRegistrationStore.save(entry(oldest.getEmail(), oldest, LocalDateTime.now().plusMinutes(1)));
+            for (int i = 0; i < 2; i++) {
+                val user = createUser();
+                pendingRegistrationStore.save(entry(user.getEmail(), user, LocalDateTime.now().plusMinutes(5)));
+            }
+
+            Assertions.assertTrue(pendingRegistrationStore.find(oldest.getEmail()).isEmpty());
+            Assertions.assertEquals(evictedBefore + 1, evictions.count());
+        } finally {
+            ReflectionTestUtils.setField(pendingRegistrationStore, "maxEntries", maxEntries);
+        }
+    }
+
+    @Test
+    public void test_in_memory_store_is_bounded() {
+        val registry = new SimpleMeterRegistry();
+        val store = new CaffeinePendingRegistrationStore(registry);
+        ReflectionTestUtils.setField(store, "maxEntries", 5L);
+        ReflectionTestUtils.invokeMethod(store, "init");
+
+        for (int i = 0; i < 20; i++) {
+            val user = createUser();
+            store.save(entry(user.getEmail(), user, LocalDateTime.now().plusMinutes(5)));
+        }
+
+        Assertions.assertTrue(store.size() <= 5);
+        Assertions.assertEquals(store.size(), registry.get("registration.pending.size").gauge().value());
+        Assertions.assertEquals(20 - store.size(),
+                registry.get("registration.pending.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    public void test_registration_otp_limited_per_email() {
+        val user = createUser();
+        val clientIp = faker.internet().ipV4Address();
+
+        for (int i = 0; i < OtpServiceImpl.OTP_ATTEMPTS_LIMIT; i++) {
+            otpService.generateOtpForRegistration(user.getEmail(), user, clientIp);
+        }
+
+        Assertions.assertThrows(OtpRetryLimitExceededException.class,
+                () -> otpService.generateOtpForRegistration(user.getEmail(), user, clientIp));
+    }
+
+    @Test
+    public void test_registration_otp_limited_per_ip() {
+        val clientIp = faker.internet().ipV4Address();
+        val limit = (int) ReflectionTestUtils.getField(otpService, "maxRegistrationsPerIp");
+
+        for (int i = 0; i < limit; i++) {
+            val user = createUser();
+            otpService.generateOtpForRegistration(user.getEmail(), user, clientIp);
+        }
+
+        val user = createUser();
+        Assertions.assertThrows(OtpRetryLimitExceededException.class,
+                () -> otpService.generateOtpForRegistration(user.getEmail(), user, clientIp));
+    }
+
+    @Test
+    public void test_register_with_otp() throws Exception {
+        val user = createUser();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/register/send-otp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(user)))
+                .andExpect(MockMvcResultMatchers.status().isAccepted());
+
+        val request = new RegisterOtpRequest();
+        request.setUser(user);
+        request.setOtp(pendingRegistrationRepository.findByEmail(user.getEmail()).orElseThrow().getOtp());
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .post("/api/users/register/confirm-otp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(JsonUtil.toJson(request)))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        Assertions.assertTrue(userRepository.findByEmail(user.getEmail()).isPresent());
+        Assertions.assertTrue(pendingRegistrationRepository.findByEmail(user.getEmail()).isEmpty());
+    }
+
+    private static PendingRegistrationStore.Entry entry(String email, User user,
+            LocalDateTime expiresAt) {
+        return new PendingRegistrationStore.Entry(email, getRandomOtp(), user, expiresAt);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.webapp.bankingportal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.webapp.bankingportal.exception.InvalidPinException;
+import com.webapp.bankingportal.service.PinVerificationService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+public class PinVerificationTests extends BaseTest {
+
+    @Autowired
+    PinVerificationService pinVerificationService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private double cacheHits() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "pinVerification")
+                .tag("result", "hit")
+                .functionCounter()
+                .count();
+    }
+
+    private static String otherPin(String pin) {
+        String other;
+        do {
+            other = getRandomPin();
+        } while (other.equals(pin));
+        return other;
+    }
+
+    @Test
+    public void test_repeated_verification_is_served_from_cache() {
+        val accountNumber = getRandomAccountNumber();
+        val pin = getRandomPin();
+        val pinHash = new BCryptPasswordEncoder(4).encode(pin);
+
+        val hitsBefore = cacheHits();
+        Assertions.assertTrue(pinVerificationService.matches(accountNumber, pin, pinHash));
+        Assertions.assertEquals(hitsBefore, cacheHits());
+
+        Assertions.assertTrue(pinVerificationService.matches(accountNumber, pin, pinHash));
+        Assertions.assertEquals(hitsBefore + 1, cacheHits());
+    }
+
+    @Test
+    public void test_wrong_pin_is_rejected_after_cached_success() {
+        val accountNumber = getRandomAccountNumber();
+        val pin = getRandomPin();
+        val pinHash = new BCryptPasswordEncoder(4).encode(pin);
+
+        Assertions.assertTrue(pinVerificationService.matches(accountNumber, pin, pinHash));
+        Assertions.assertFalse(pinVerificationService.matches(accountNumber, otherPin(pin), pinHash));
+        Assertions.assertFalse(pinVerificationService.matches(accountNumber, null, pinHash));
+    }
+
+    @Test
+    public void test_cached_success_does_not_survive_hash_change() {
+        val accountNumber = getRandomAccountNumber();
+        val pin = getRandomPin();
+        val encoder = new BCryptPasswordEncoder(4);
+
+        Assertions.assertTrue(pinVerificationService.matches(accountNumber, pin, encoder.encode(pin)));
+
+        // Not evicted: the new hash alone must invalidate the entry.
+        val newHash = encoder.encode(otherPin(pin));
+        Assertions.assertFalse(pinVerificationService.matches(accountNumber, pin, newHash));
+    }
+
+    @Test
+    public void test_cached_success_is_scoped_to_account() {
+        val pin = getRandomPin();
+        val pinHash = new BCryptPasswordEncoder(4).encode(pin);
+
+        Assertions.assertTrue(pinVerificationService.matches(getRandomAccountNumber(), pin, pinHash));
+
+        val hitsBefore = cacheHits();
+        Assertions.assertTrue(pinVerificationService.matches(getRandomAccountNumber(), pin, pinHash));
+        Assertions.assertEquals(hitsBefore, cacheHits());
+    }
+
+    @Test
+    public void test_old_pin_rejected_after_update_pin() {
+        val accountDetails = createAccountWithInitialBalance(1000);
+        val accountNumber = accountDetails.get("accountNumber");
+        val oldPin = accountDetails.get("pin");
+        val newPin = otherPin(oldPin);
+
+        accountService.updatePin(accountNumber, accountDetails.get("password"), newPin);
+
+        Assertions.assertThrows(InvalidPinException.class, () -> {
+            accountService.cashWithdrawal(accountNumber, oldPin, 100);
+        });
+        accountService.cashWithdrawal(accountNumber, newPin, 100);
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.webapp.bankingportal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.webapp.bankingportal.service.RegisteredEmailFilter;
+import com.webapp.bankingportal.service.UserService;
+import com.webapp.bankingportal.util.BloomFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+public class RegisteredEmailFilterTests extends BaseTest {
+
+    @Autowired
+    RegisteredEmailFilter registeredEmailFilter;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private double lookups(String result) {
+        return meterRegistry.counter("registration.email.filter.lookups", "result", result).count();
+    }
+
+    @Test
+    public void test_new_email_skips_database() {
+        val absentBefore = lookups("absent");
+
+        Assertions.assertFalse(registeredEmailFilter.isRegistered(faker.internet().safeEmailAddress()));
+        Assertions.assertEquals(absentBefore + 1, lookups("absent"));
+    }
+
+    @Test
+    public void test_registered_email_is_found() throws Exception {
+        val user = createAndRegisterUser();
+
+        Assertions.assertTrue(registeredEmailFilter.isRegistered(user.getEmail()));
+    }
+
+    @Test
+    public void test_email_registered_by_other_pod_is_found_after_sync() {
+        // Saved directly, as another pod would, so this pod's filter is not told.
+        val user = createUser();
+        userRepository.save(user);
+
+        registeredEmailFilter.sync();
+
+        Assertions.assertTrue(registeredEmailFilter.isRegistered(user.getEmail()));
+    }
+
+    @Test
+    public void test_rebuild_keeps_registered_emails() throws Exception {
+        val user = createAndRegisterUser();
+
+        registeredEmailFilter.rebuild();
+
+        Assertions.assertTrue(registeredEmailFilter.isRegistered(user.getEmail()));
+    }
+
+    @Test
+    public void test_get_user_by_identifier_resolves_email_and_account_number() throws Exception {
+        val accountNumber = createAndLoginUser().get("accountNumber");
+        val user = userService.getUserByAccountNumber(accountNumber);
+
+        Assertions.assertEquals(user.getId(), userService.getUserByIdentifier(user.getEmail()).getId());
+        Assertions.assertEquals(user.getId(), userService.getUserByIdentifier(accountNumber).getId());
+    }
+
+    @Test
+    public void test_bloom_filter_false_positive_rate() {
+        val filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("user" + i + "@example.com");
+        }
+
+        var falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            Assertions.assertTrue(filter.mightContain("user" + i + "@example.com"));
+            if (filter.mightContain("other" + i + "@example.com")) {
+                falsePositives++;
+            }
+        }
+
+        Assertions.assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+
+}
@@ -6,13 +6,14 @@ import org.springframework.context.annotation.Primary;
 
 import com.webapp.bankingportal.service.EmailService;
 import com.webapp.bankingportal.service.EmailServiceImpl;
+import com.webapp.bankingportal.template.EmailTemplateEngine;
 
 @Configuration
 public class TestConfig {
 
     @Bean
     @Primary
-    public EmailService emailService() {
-        return new EmailServiceImpl(new GreenMailJavaMailSender());
+    public EmailService emailService(EmailTemplateEngine templateEngine) {
+        return new EmailServiceImpl(new GreenMailJavaMailSender(), templateEngine);
     }
 }
@@ -7,8 +7,11 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.annotation.Autowired;
 
+import com.webapp.bankingportal.entity.RevokedToken;
 import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.repository.RevokedTokenRepository;
 import com.webapp.bankingportal.repository.TokenRepository;
+import com.webapp.bankingportal.service.TokenRevocationService;
 import com.webapp.bankingportal.util.ApiMessages;
 
 import io.jsonwebtoken.Jwts;
@@ -21,6 +24,12 @@ public class TokenServiceTests extends BaseTest {
     @Autowired
     TokenRepository tokenRepository;
 
+    @Autowired
+    RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    TokenRevocationService tokenRevocationService;
+
     @Test
     public void test_validate_token_with_valid_token() throws Exception {
         val token = createAndLoginUser().get("token");
@@ -52,6 +61,45 @@ public class TokenServiceTests extends BaseTest {
         tokenService.invalidateToken(token);
     }
 
+    @Test
+    public void test_authenticate_token_with_valid_token() throws Exception {
+        val userDetails = createAndLoginUser();
+        Assertions.assertEquals(userDetails.get("accountNumber"),
+                tokenService.authenticateToken(userDetails.get("token")));
+    }
+
+    // Documented behavior: the signature, not the token table, decides.
+    @Test
+    public void test_authenticate_token_never_saved() throws Exception {
+        val accountNumber = createAccount().get("accountNumber");
+        val token = generateToken(accountNumber, getRandomPassword());
+
+        Assertions.assertThrows(InvalidTokenException.class, () -> tokenService.validateToken(token));
+        Assertions.assertEquals(accountNumber, tokenService.authenticateToken(token));
+    }
+
+    @Test
+    public void test_authenticate_token_after_invalidate() throws Exception {
+        val token = createAndLoginUser().get("token");
+        tokenService.invalidateToken(token);
+
+        Assertions.assertThrows(InvalidTokenException.class,
+                () -> tokenService.authenticateToken(token));
+    }
+
+    @Test
+    public void test_authenticate_token_revoked_by_other_pod() throws Exception {
+        val token = createAndLoginUser().get("token");
+        val tokenId = tokenService.getClaimFromToken(token, claims -> claims.getId());
+
+        // Simulate another pod's logout, which only reaches us through the table.
+        revokedTokenRepository.save(new RevokedToken(tokenId, tokenService.getExpirationDateFromToken(token)));
+        tokenRevocationService.sync();
+
+        Assertions.assertThrows(InvalidTokenException.class,
+                () -> tokenService.authenticateToken(token));
+    }
+
     @Test
     public void test_save_token_with_valid_token() throws Exception {
         val accountDetails = createAccount();
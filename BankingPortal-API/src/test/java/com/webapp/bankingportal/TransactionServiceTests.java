@@ -0,0 +1,58 @@
+package com.webapp.bankingportal;
+
+import java.util.HashSet;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.webapp.bankingportal.service.TransactionService;
+
+import lombok.val;
+
+public class TransactionServiceTests extends BaseTest {
+
+    @Autowired
+    TransactionService transactionService;
+
+    @Test
+    public void test_get_transaction_page_walks_full_history_newest_first() {
+        val source = createAccountWithInitialBalance(1000);
+        val target = createAccountWithInitialBalance(1000);
+        val accountNumber = source.get("accountNumber");
+
+        for (int i = 0; i < 3; i++) {
+            accountService.cashDeposit(accountNumber, source.get("pin"), 100);
+            accountService.fundTransfer(accountNumber, target.get("accountNumber"), source.get("pin"), 100);
+        }
+        accountService.fundTransfer(target.get("accountNumber"), accountNumber, target.get("pin"), 200);
+
+        val expected = transactionService.getAllTransactionsByAccountNumber(accountNumber);
+        Assertions.assertEquals(8, expected.size());
+
+        val seen = new HashSet<Long>();
+        String cursor = null;
+        var index = 0;
+        do {
+            val page = transactionService.getTransactionPage(accountNumber, cursor, 3);
+            Assertions.assertTrue(page.getTransactions().size() <= 3);
+            for (val transaction : page.getTransactions()) {
+                Assertions.assertEquals(expected.get(index++).getId(), transaction.getId());
+                Assertions.assertTrue(seen.add(transaction.getId()));
+            }
+            cursor = page.getNextCursor();
+            Assertions.assertEquals(page.isHasMore(), cursor != null);
+        } while (cursor != null);
+
+        Assertions.assertEquals(expected.size(), seen.size());
+    }
+
+    @Test
+    public void test_get_transaction_page_with_invalid_cursor() {
+        val accountNumber = createAccountWithInitialBalance(1000).get("accountNumber");
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionPage(accountNumber, "not-a-cursor", 10));
+    }
+
+}
@@ -0,0 +1,147 @@
+package com.webapp.bankingportal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.Account;
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.repository.NotificationUnreadCounterRepository;
+import com.webapp.bankingportal.service.NotificationService;
+import com.webapp.bankingportal.service.UnreadCountService;
+import com.webapp.bankingportal.util.ApiMessages;
+
+import lombok.val;
+
+public class UnreadCountTests extends BaseTest {
+
+    @Autowired
+    NotificationService notificationService;
+
+    @Autowired
+    UnreadCountService unreadCountService;
+
+    @Autowired
+    NotificationRepository notificationRepository;
+
+    @Autowired
+    NotificationUnreadCounterRepository counterRepository;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    private void notify(Account account, int count) {
+        for (int i = 0; i < count; i++) {
+            notificationService.createNotification(account, faker.lorem().sentence(), faker.lorem().sentence(),
+                    NotificationType.DEPOSIT, 100, null);
+        }
+    }
+
+    private long storedCount(Account account) {
+        return counterRepository.findUnreadCount(account.getId()).orElseThrow();
+    }
+
+    @Test
+    public void test_new_account_starts_with_zero_unread() {
+        val account = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+
+        Assertions.assertEquals(0, storedCount(account));
+        Assertions.assertEquals(0, unreadCountService.getUnreadCount(account.getAccountNumber()));
+    }
+
+    @Test
+    public void test_counter_follows_create_read_and_delete() {
+        val account = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+        notify(account, 4);
+        Assertions.assertEquals(4, storedCount(account));
+
+        val notifications = notificationRepository.findByAccountOrderByCreatedAtDesc(account);
+        notificationService.markAsRead(account.getAccountNumber(), notifications.get(0).getId());
+        // Marking it again must not count twice.
+        notificationService.markAsRead(account.getAccountNumber(), notifications.get(0).getId());
+        Assertions.assertEquals(3, storedCount(account));
+
+        // Deleting a read notification leaves the count alone.
+        notificationService.deleteNotification(account.getAccountNumber(), notifications.get(0).getId());
+        Assertions.assertEquals(3, storedCount(account));
+
+        notificationService.deleteNotification(account.getAccountNumber(), notifications.get(1).getId());
+        Assertions.assertEquals(2, storedCount(account));
+        Assertions.assertEquals(2, unreadCountService.getUnreadCount(account.getAccountNumber()));
+
+        notificationService.markAllAsRead(account.getAccountNumber());
+        Assertions.assertEquals(0, storedCount(account));
+        Assertions.assertEquals(0, notificationRepository.countByAccountIdAndIsReadFalse(account.getId()));
+    }
+
+    @Test
+    public void test_count_endpoint_returns_unread_count() throws Exception {
+        val userDetails = createAndLoginUser();
+        notify(accountRepository.findByAccountNumber(userDetails.get("accountNumber")), 3);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .get("/api/notifications/unread/count")
+                .header("Authorization", "Bearer " + userDetails.get("token")))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string("3"));
+    }
+
+    @Test
+    public void test_notification_of_another_account_is_not_found() throws Exception {
+        val token = createAndLoginUser().get("token");
+        val owner = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+        notify(owner, 1);
+        val id = notificationRepository.findByAccountOrderByCreatedAtDesc(owner).get(0).getId();
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .put("/api/notifications/" + id + "/read")
+                .header("Authorization", "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.status().isNotFound())
+                .andExpect(MockMvcResultMatchers.content()
+                        .string(String.format(ApiMessages.NOTIFICATION_NOT_FOUND.getMessage(), id)));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                .delete("/api/notifications/" + id)
+                .header("Authorization", "Bearer " + token))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        Assertions.assertEquals(1, notificationRepository.countByAccountIdAndIsReadFalse(owner.getId()));
+        Assertions.assertEquals(1, storedCount(owner));
+    }
+
+    @Test
+    public void test_account_without_counter_is_counted_from_notifications() {
+        val account = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+        counterRepository.deleteById(account.getId());
+        counterRepository.flush();
+
+        notify(account, 2);
+
+        Assertions.assertEquals(2, unreadCountService.getUnreadCount(account.getId()));
+    }
+
+    // The repair runs its chunks in their own transactions.
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void test_repair_creates_missing_and_corrects_drifted_counters() {
+        val drifted = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+        val missing = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+        notify(drifted, 2);
+        notify(missing, 3);
+
+        counterRepository.add(drifted.getId(), 5);
+        counterRepository.deleteById(missing.getId());
+
+        Assertions.assertTrue(unreadCountService.repair() >= 2);
+        Assertions.assertEquals(2, storedCount(drifted));
+        Assertions.assertEquals(3, storedCount(missing));
+        Assertions.assertEquals(0, unreadCountService.repair());
+    }
+
+}
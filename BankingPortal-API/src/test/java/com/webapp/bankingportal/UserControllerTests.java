@@ -451,7 +451,7 @@ public class UserControllerTests extends BaseTest {
                 .post("/api/users/generate-otp")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(JsonUtil.toJson(otpRequest)))
-                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
                 .andExpect(MockMvcResultMatchers.content()
                         .string(String.format(ApiMessages.OTP_SENT_SUCCESS.getMessage(), user.getEmail())));
     }
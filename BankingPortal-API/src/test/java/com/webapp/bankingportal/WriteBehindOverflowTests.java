@@ -0,0 +1,65 @@
+package com.webapp.bankingportal;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.event.NotificationEvent;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.service.UnreadCountService;
+import com.webapp.bankingportal.service.WriteBehindService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+// A one-slot queue overflows as soon as the writer is busy with a batch.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "writebehind.queue-capacity=1")
+public class WriteBehindOverflowTests extends BaseTest {
+
+    private static final int EVENTS = 200;
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    NotificationRepository notificationRepository;
+
+    @Autowired
+    UnreadCountService unreadCountService;
+
+    @Autowired
+    WriteBehindService writeBehindService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    public void test_overflow_is_written_by_the_caller_and_never_dropped() {
+        val account = accountRepository.findByAccountNumber(createAccount().get("accountNumber"));
+        val overflow = meterRegistry.counter("writebehind.queue.overflow");
+        val failed = meterRegistry.counter("writebehind.events.failed");
+        val overflowBefore = overflow.count();
+        val failedBefore = failed.count();
+
+        for (int i = 0; i < EVENTS; i++) {
+            writeBehindService.enqueue(new NotificationEvent(account.getId(), faker.lorem().sentence(),
+                    faker.lorem().sentence(), NotificationType.DEPOSIT, 100.0, null, new Date()));
+        }
+        writeBehindService.flush();
+
+        Assertions.assertTrue(overflow.count() > overflowBefore);
+        Assertions.assertEquals(failedBefore, failed.count());
+        Assertions.assertEquals(EVENTS, notificationRepository.findByAccountOrderByCreatedAtDesc(account).size());
+        Assertions.assertEquals(EVENTS, unreadCountService.getUnreadCount(account.getId()));
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.webapp.bankingportal;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.webapp.bankingportal.entity.NotificationType;
+import com.webapp.bankingportal.event.NotificationEvent;
+import com.webapp.bankingportal.exception.InsufficientBalanceException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.NotificationRepository;
+import com.webapp.bankingportal.repository.RecentTransferRepository;
+import com.webapp.bankingportal.service.WriteBehindService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import lombok.val;
+
+// Side effects are only queued once the balance transaction commits.
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class WriteBehindTests extends BaseTest {
+
+    @Autowired
+    AccountRepository accountRepository;
+
+    @Autowired
+    NotificationRepository notificationRepository;
+
+    @Autowired
+    RecentTransferRepository recentTransferRepository;
+
+    @Autowired
+    WriteBehindService writeBehindService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private String createFundedAccount(String pin, double balance) {
+        val accountNumber = createAccount().get("accountNumber");
+        val account = accountRepository.findByAccountNumber(accountNumber);
+        account.setPin(new BCryptPasswordEncoder(4).encode(pin));
+        account.setBalance(balance);
+        accountRepository.save(account);
+        return accountNumber;
+    }
+
+    @Test
+    public void test_transfer_side_effects_are_written_after_commit() {
+        val pin = getRandomPin();
+        val sourceAccountNumber = createFundedAccount(pin, 10_000);
+        val targetAccountNumber = createFundedAccount(getRandomPin(), 0);
+
+        for (int i = 0; i < 3; i++) {
+            accountService.fundTransfer(sourceAccountNumber, targetAccountNumber, pin, 100);
+        }
+        writeBehindService.flush();
+
+        val source = accountRepository.findByAccountNumber(sourceAccountNumber);
+        val target = accountRepository.findByAccountNumber(targetAccountNumber);
+
+        val sent = notificationRepository.findByAccountOrderByCreatedAtDesc(source);
+        Assertions.assertEquals(3, sent.size());
+        sent.forEach(notification -> {
+            Assertions.assertEquals(NotificationType.TRANSFER_SENT, notification.getType());
+            Assertions.assertEquals(targetAccountNumber, notification.getRelatedAccountNumber());
+        });
+
+        val received = notificationRepository.findByAccountOrderByCreatedAtDesc(target);
+        Assertions.assertEquals(3, received.size());
+
+        // Repeated transfers to the same recipient update a single row.
+        val recent = recentTransferRepository
+                .findTop5ByAccount_AccountNumberOrderByLastTransferDateDesc(sourceAccountNumber);
+        Assertions.assertEquals(1, recent.size());
+        Assertions.assertEquals(targetAccountNumber, recent.get(0).getRecipientAccount().getAccountNumber());
+        Assertions.assertEquals(0, writeBehindService.getQueueDepth());
+    }
+
+    @Test
+    public void test_rolled_back_transfer_has_no_side_effects() {
+        val pin = getRandomPin();
+        val sourceAccountNumber = createFundedAccount(pin, 0);
+        val targetAccountNumber = createFundedAccount(getRandomPin(), 0);
+
+        Assertions.assertThrows(InsufficientBalanceException.class, () -> {
+            accountService.fundTransfer(sourceAccountNumber, targetAccountNumber, pin, 100);
+        });
+        writeBehindService.flush();
+
+        val source = accountRepository.findByAccountNumber(sourceAccountNumber);
+        Assertions.assertTrue(notificationRepository.findByAccountOrderByCreatedAtDesc(source).isEmpty());
+        Assertions.assertTrue(recentTransferRepository
+                .findTop5ByAccount_AccountNumberOrderByLastTransferDateDesc(sourceAccountNumber).isEmpty());
+    }
+
+    @Test
+    public void test_failed_batch_is_retried_per_event() {
+        val accountNumber = createFundedAccount(getRandomPin(), 0);
+        val account = accountRepository.findByAccountNumber(accountNumber);
+        val failed = meterRegistry.counter("writebehind.events.failed");
+        val failedBefore = failed.count();
+
+        // The missing account fails its insert; the valid events around it
+        // must still be written.
+        writeBehindService.enqueue(notificationEvent(account.getId()));
+        writeBehindService.enqueue(notificationEvent(Long.MAX_VALUE));
+        writeBehindService.enqueue(notificationEvent(account.getId()));
+        writeBehindService.flush();
+
+        Assertions.assertEquals(2, notificationRepository.findByAccountOrderByCreatedAtDesc(account).size());
+        Assertions.assertEquals(failedBefore + 1, failed.count());
+    }
+
+    private static NotificationEvent notificationEvent(Long accountId) {
+        return new NotificationEvent(accountId, faker.lorem().sentence(), faker.lorem().sentence(),
+                NotificationType.DEPOSIT, 100.0, null, new Date());
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.webapp.bankingportal.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.JavaMailSender;
+
+import com.webapp.bankingportal.service.EmailServiceImpl;
+import com.webapp.bankingportal.service.OtpServiceImpl;
+import com.webapp.bankingportal.template.EmailTemplateEngine;
+
+import lombok.val;
+
+/**
+ * Email body rendering in {@link EmailServiceImpl}.
+ *
+ * <ul>
+ * <li>{@code legacy*}: the string concatenation the templates replaced, kept
+ * here as the baseline.</li>
+ * <li>{@code compiled*}: the precompiled templates, including HTML escaping
+ * of every argument.</li>
+ * </ul>
+ *
+ * Not run by the test suite. From BankingPortal-API:
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.webapp.bankingportal.benchmark.EmailTemplateBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String NAME = "Nguyen Van An";
+    private static final String ACCOUNT_NUMBER = "xxx456";
+    private static final String OTP = "482913";
+    private static final String LOGIN_TIME = "2024-05-01 09:15:42.123";
+    private static final String LOGIN_LOCATION = "Hanoi, Vietnam";
+
+    private EmailServiceImpl emailService;
+
+    @Setup
+    public void setup() {
+        emailService = new EmailServiceImpl(Mockito.mock(JavaMailSender.class), newTemplateEngine());
+    }
+
+    public static EmailTemplateEngine newTemplateEngine() {
+        val engine = new EmailTemplateEngine();
+        engine.init();
+        return engine;
+    }
+
+    @Benchmark
+    public String legacyLogin() {
+        return LegacyTemplates.login(NAME, LOGIN_TIME, LOGIN_LOCATION);
+    }
+
+    @Benchmark
+    public String compiledLogin() {
+        return emailService.getLoginEmailTemplate(NAME, LOGIN_TIME, LOGIN_LOCATION);
+    }
+
+    @Benchmark
+    public String legacyOtp() {
+        return LegacyTemplates.otp(NAME, ACCOUNT_NUMBER, OTP);
+    }
+
+    @Benchmark
+    public String compiledOtp() {
+        return emailService.getOtpLoginEmailTemplate(NAME, ACCOUNT_NUMBER, OTP);
+    }
+
+    @Benchmark
+    public String compiledOtpVietnamese() {
+        return emailService.getOtpLoginEmailTemplate(NAME, ACCOUNT_NUMBER, OTP, Locale.forLanguageTag("vi"));
+    }
+
+    /**
+     * The concatenating template methods as they were before the templates
+     * were compiled. Arguments are not escaped.
+     */
+    public static final class LegacyTemplates {
+
+        private LegacyTemplates() {
+        }
+
+        public static String login(String name, String loginTime, String loginLocation) {
+            return "<div style=\"font-family: Helvetica, Arial, sans-serif; min-width: 320px; max-width: 1000px; margin: 0 auto; overflow: auto; line-height: 2; background-color: #f1f1f1; padding: 20px;\">"
+                    + "<div style=\"margin: 50px auto; width: 100%; max-width: 600px; padding: 20px; background-color: #ffffff; border-radius: 8px; box-shadow: 0 0 20px rgba(0, 0, 0, 0.1);\">"
+                    + "<div style=\"border-bottom: 1px solid #ddd; padding-bottom: 10px; text-align: center;\">"
+                    + "<a href=\"https://onestopbank.netlify.app/\" style=\"text-decoration: none;\">"
+                    + "<img src=\"https://onestopbank.netlify.app/assets/onestoplogo.jpg\" alt=\"OneStopBank\" style=\"height: 50px; margin-bottom: 10px;\">"
+                    + "</a>" + "<h1 style=\"font-size: 1.8em; color: #3f51b5; margin: 10px 0;\">OneStopBank</h1>" + "</div>"
+                    + "<div style=\"padding: 20px;\">" + "<p style=\"font-size: 1.2em; color: #333;\">Hi, " + name + ",</p>"
+                    + "<p style=\"font-size: 1em; color: #333;\">A login attempt was made on your account at:</p>"
+                    + "<p style=\"font-size: 1em; color: #555;\">Time: <strong style=\"color: #3f51b5;\">" + loginTime
+                    + "</strong></p>"
+                    + "<p style=\"font-size: 1em; color: #555;\">Location: <strong style=\"color: #3f51b5;\">"
+                    + loginLocation + "</strong></p>"
+                    + "<p style=\"font-size: 1em; color: #333;\">If this was you, no further action is required. If you suspect any unauthorized access, please change your password immediately and contact our support team.</p>"
+                    + "<p style=\"font-size: 1em; color: #555;\">Regards,<br />The OneStopBank Team</p>" + "</div>"
+                    + "<hr style=\"border: none; border-top: 1px solid #ddd; margin: 20px 0;\" />"
+                    + "<div style=\"text-align: center; font-size: 0.9em; color: #888;\">"
+                    + "<p>Need help? Contact our support team:</p>"
+                    + "<p>Email: <a href=\"mailto:onestopbank@google.com\" style=\"color: #3f51b5; text-decoration: none;\">onestopbank@google.com</a></p>"
+                    + "<div style=\"margin-top: 20px;\">"
+                    + "<p style=\"font-size: 1em; color: #333;\">Show your support here ❤️</p>"
+                    + "<a href=\"https://github.com/abhi9720/BankingPortal-API\" style=\"margin: 0 10px; color: #3f51b5; text-decoration: none;\">GitHub</a>"
+                    + "</div>" + "</div>" + "</div>" + "</div>";
+        }
+
+        public static String otp(String name, String accountNumber, String otp) {
+            return "<div style=\"font-family: Helvetica, Arial, sans-serif; min-width: 320px; max-width: 1000px; margin: 0 auto; overflow: auto; line-height: 2; background-color: #f1f1f1; padding: 20px;\">"
+                    + "<div style=\"margin: 50px auto; width: 100%; max-width: 600px; padding: 20px; background-color: #ffffff; border-radius: 8px; box-shadow: 0 0 20px rgba(0, 0, 0, 0.1);\">"
+                    + "<div style=\"border-bottom: 1px solid #ddd; padding-bottom: 10px; text-align: center;\">"
+                    + "<a href=\"https://onestopbank.netlify.app/\" style=\"text-decoration: none;\">"
+                    + "<img src=\"https://onestopbank.netlify.app/assets/onestoplogo.jpg\" alt=\"OneStopBank\" style=\"height: 50px; margin-bottom: 10px;\">"
+                    + "</a>" + "<h1 style=\"font-size: 1.8em; color: #3f51b5; margin: 10px 0;\">OneStopBank</h1>" + "</div>"
+                    + "<div style=\"padding: 20px;\">" + "<p style=\"font-size: 1.2em; color: #333;\">Hi, " + name + ",</p>"
+                    + "<p style=\"font-size: 1em; color: #555;\">Account Number: <strong style=\"color: #3f51b5;\">"
+                    + accountNumber + "</strong></p>"
+                    + "<p style=\"font-size: 1em; color: #333;\">Thank you for choosing OneStopBank. Use the following OTP to complete your login procedures. The OTP is valid for "
+                    + OtpServiceImpl.OTP_EXPIRY_MINUTES + " minutes:</p>"
+                    + "<h2 style=\"background: #3f51b5; margin: 20px 0; width: max-content; padding: 10px 20px; color: #fff; border-radius: 4px;\">"
+                    + otp + "</h2>" + "<p style=\"font-size: 1em; color: #555;\">Regards,<br />The OneStopBank Team</p>"
+                    + "</div>" + "<hr style=\"border: none; border-top: 1px solid #ddd; margin: 20px 0;\" />"
+                    + "<div style=\"text-align: center; font-size: 0.9em; color: #888;\">"
+                    + "<p>Need help? Contact our support team:</p>"
+                    + "<p>Email: <a href=\"mailto:onestopbank@google.com\" style=\"color: #3f51b5; text-decoration: none;\">onestopbank@google.com</a></p>"
+                    + "<div style=\"margin-top: 20px;\">"
+                    + "<p style=\"font-size: 1em; color: #333;\">Show your support here ❤️</p>"
+                    + "<a href=\"https://github.com/abhi9720/BankingPortal-API\" style=\"margin: 0 10px; color: #3f51b5; text-decoration: none;\">GitHub</a>"
+                    + "</div>" + "</div>" + "</div>" + "</div>";
+        }
+
+        public static String statement(String name, String statementText) {
+            return "<div style=\"font-family: Arial, sans-serif; padding: 20px;\">" +
+                    "<h2>Bank Statement</h2>" +
+                    "<p>Dear " + name + ",</p>" +
+                    "<p>Here is your latest bank statement:</p>" +
+                    "<pre style=\"background: #f4f4f4; padding: 10px; border-radius: 5px;\">" +
+                    statementText +
+                    "</pre>" +
+                    "<p>Regards,<br/>OneStopBank Team</p>" +
+                    "</div>";
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
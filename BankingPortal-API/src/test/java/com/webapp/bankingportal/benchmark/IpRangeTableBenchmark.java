@@ -0,0 +1,111 @@
+package com.webapp.bankingportal.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.webapp.bankingportal.util.IpRangeTable;
+
+import lombok.val;
+
+/**
+ * Offline lookup cost in {@link IpRangeTable}, over a table of
+ * {@code ranges} random disjoint ranges and 50 city names.
+ *
+ * <ul>
+ * <li>{@code lookup}: binary search of the mapped ranges.</li>
+ * <li>{@code parseAndLookup}: what each login pays, parsing included.</li>
+ * </ul>
+ *
+ * Not run by the test suite. From BankingPortal-API:
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.webapp.bankingportal.benchmark.IpRangeTableBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IpRangeTableBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({ "10000", "1000000" })
+    private int ranges;
+
+    private Path file;
+    private IpRangeTable table;
+    private int[] addresses;
+    private String[] literals;
+    private int next;
+
+    @Setup
+    public void setup() throws IOException {
+        val random = new Random(42);
+        val step = (int) (0x1_0000_0000L / ranges);
+
+        val list = new ArrayList<IpRangeTable.Range>(ranges);
+        for (int i = 0; i < ranges; i++) {
+            val start = i * step;
+            list.add(new IpRangeTable.Range(start, start + step / 2, "City " + random.nextInt(50), "Country"));
+        }
+
+        file = Files.createTempFile("geo-bench-", ".bin");
+        IpRangeTable.write(file, list);
+        table = IpRangeTable.load(file);
+
+        addresses = new int[PROBES];
+        literals = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            addresses[i] = random.nextInt();
+            literals[i] = String.format("%d.%d.%d.%d", addresses[i] >>> 24, (addresses[i] >>> 16) & 0xFF,
+                    (addresses[i] >>> 8) & 0xFF, addresses[i] & 0xFF);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public IpRangeTable.Location lookup() {
+        return table.lookup(addresses[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public IpRangeTable.Location parseAndLookup() {
+        return table.lookup((int) IpRangeTable.parseIpv4(literals[next++ & (PROBES - 1)]));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(IpRangeTableBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.webapp.bankingportal.benchmark;
+
+import static org.springframework.security.core.userdetails.User.withUsername;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.webapp.bankingportal.exception.InvalidTokenException;
+import com.webapp.bankingportal.repository.AccountRepository;
+import com.webapp.bankingportal.repository.TokenRepository;
+import com.webapp.bankingportal.service.AccountProfileService;
+import com.webapp.bankingportal.service.TokenRevocationService;
+import com.webapp.bankingportal.service.TokenServiceImpl;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Token generation and validation costs in {@link TokenServiceImpl}.
+ *
+ * <ul>
+ * <li>{@code parseWithNewKeyAndParser}: what every validation used to cost,
+ * decoding the key and building a parser per call.</li>
+ * <li>{@code parseWithSharedParser}: a claims-cache miss today.</li>
+ * <li>{@code authenticateToken}: the filter's per-request path on a cache hit.</li>
+ * </ul>
+ *
+ * Not run by the test suite. From BankingPortal-API:
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     com.webapp.bankingportal.benchmark.TokenServiceBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "Z1lWc2R6b1pEblpYbVdUZ2V1U1VxRmZzZld0U2RkaXU=";
+
+    private TokenServiceImpl tokenService;
+    private UserDetails userDetails;
+    private JwtParser sharedParser;
+    private String token;
+
+    @Setup
+    public void setup() {
+        tokenService = new TokenServiceImpl(
+                Mockito.mock(AccountProfileService.class),
+                Mockito.mock(TokenRepository.class),
+                Mockito.mock(AccountRepository.class),
+                new NothingRevoked());
+        ReflectionTestUtils.setField(tokenService, "secret", SECRET);
+        ReflectionTestUtils.setField(tokenService, "expiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.invokeMethod(tokenService, "init");
+
+        userDetails = withUsername("123456").password("unused").build();
+        sharedParser = Jwts.parserBuilder().setSigningKey(key()).build();
+        token = tokenService.generateToken(userDetails);
+    }
+
+    private static Key key() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Claims parseWithNewKeyAndParser() {
+        return Jwts.parserBuilder().setSigningKey(key()).build().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims parseWithSharedParser() {
+        return sharedParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public String authenticateToken() throws InvalidTokenException {
+        return tokenService.authenticateToken(token);
+    }
+
+    private static class NothingRevoked implements TokenRevocationService {
+        @Override
+        public void revoke(String tokenId, Date expiry) {
+        }
+
+        @Override
+        public boolean isRevoked(String tokenId) {
+            return false;
+        }
+
+        @Override
+        public void sync() {
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+}